@@ -1,10 +1,7 @@
 package com.example.springbootposbackend;
 
-import org.modelmapper.ModelMapper;
-import org.modelmapper.convention.MatchingStrategies;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
 
 @SpringBootApplication
 public class SpringbootPosBackendApplication {
@@ -13,12 +10,4 @@ public class SpringbootPosBackendApplication {
         SpringApplication.run(SpringbootPosBackendApplication.class, args);
     }
 
-    @Bean
-    public ModelMapper getModelMapper() {
-        ModelMapper modelMapper = new ModelMapper();
-        // Matching strategy eka STRICT karanna
-        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
-        return modelMapper;
-    }
-
 }
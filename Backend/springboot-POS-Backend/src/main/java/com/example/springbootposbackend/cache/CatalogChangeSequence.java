@@ -0,0 +1,67 @@
+package com.example.springbootposbackend.cache;
+
+import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.repository.ItemTombstoneRepo;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.TreeSet;
+
+/**
+ * Monotonic change sequence stamped on every catalog write (item CRUD and
+ * checkout stock decrements), so tills can ask for "everything after N".
+ * Numbers are handed out before commit, so a lower number can become visible
+ * after a higher one. {@link #watermark()} is therefore the highest number
+ * below which every write has already committed or rolled back; tills sync
+ * up to that and never skip a late commit. Like the catalog snapshot this is
+ * per application instance, seeded from the database on startup.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogChangeSequence {
+
+    private final ItemRepo itemRepo;
+    private final ItemTombstoneRepo itemTombstoneRepo;
+
+    // Okkoma "this" lock eka yata: number eka dena eka saha in-flight ekata danna eka ekama step ekak wenna ona
+    private long last;
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+
+    @PostConstruct
+    void init() {
+        long max = Math.max(itemRepo.findMaxChangeSeq(), itemTombstoneRepo.findMaxChangeSeq());
+        synchronized (this) {
+            last = Math.max(last, max);
+        }
+    }
+
+    /**
+     * Next number for the current transaction; released once the transaction
+     * commits or rolls back. Must be called inside a transaction.
+     */
+    public long next() {
+        long seq;
+        synchronized (this) {
+            seq = ++last;
+            inFlight.add(seq);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release(seq);
+            }
+        });
+        return seq;
+    }
+
+    public synchronized long watermark() {
+        return inFlight.isEmpty() ? last : inFlight.first() - 1;
+    }
+
+    private synchronized void release(long seq) {
+        inFlight.remove(seq);
+    }
+}
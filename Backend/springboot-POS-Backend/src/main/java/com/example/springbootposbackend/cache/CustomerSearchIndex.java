@@ -0,0 +1,598 @@
+package com.example.springbootposbackend.cache;
+
+import com.example.springbootposbackend.config.CustomerSearchProperties;
+import com.example.springbootposbackend.dto.CustomerDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory search over customer name and address for the checkout screen.
+ * Every word is indexed by its trigrams and by its first one, two and three
+ * characters, separately for name and address. A posting list holds slot
+ * numbers in increasing order. A query walks the lists from the newest slot
+ * down, leapfrogging between them, and checks each candidate against the
+ * real text. Equal scores go to the most recently written customer, so the
+ * walk stops as soon as K hits have the best score the query can reach;
+ * most searches touch only a few hundred candidates. When that score is out
+ * of reach the walk is capped at pos.customer-search.max-candidates.
+ *
+ * <p>Memory: about 390 bytes per customer with 15-20 character names and
+ * 25-30 character addresses, so 1M customers take about 380 MB of heap.
+ * Roughly 200 bytes are postings (one int per distinct gram and field) and
+ * the rest is the name/address strings, the slot arrays and the id to slot
+ * map that writes use to find a customer's current slot.
+ * CustomerSearchBenchmark in the benchmarks module prints the measured figure;
+ * top-20 searches over 1M customers run in 10-100 us there.
+ *
+ * <p>Deletes and updates leave the old slot behind as a tombstone. The
+ * postings are compacted once a quarter of the slots are dead.
+ */
+@Component
+public class CustomerSearchIndex {
+
+    private static final long DELETED = -1;
+    // Key eka: field bit eka | word-start length (0 = trigram) | akuru 3 x 16 bits
+    private static final long NAME = 0;
+    private static final long ADDRESS = 1L << 52;
+
+    private final CustomerSearchProperties properties;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Pahala okkoma lock eka yata
+    private long[] ids = new long[1024];
+    private String[] names = new String[1024];
+    private String[] addresses = new String[1024];
+    private int slots;
+    private int deleted;
+    private SlotMap slotById = new SlotMap();
+    private Map<Long, Postings> postings = new HashMap<>();
+
+    public CustomerSearchIndex(CustomerSearchProperties properties) {
+        this.properties = properties;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots - deleted;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index, e.g. at startup. Customers must come in one
+     * pass; a repeated id keeps its last name and address.
+     */
+    public void rebuild(Iterable<CustomerDTO> customers) {
+        lock.writeLock().lock();
+        try {
+            ids = new long[1024];
+            names = new String[1024];
+            addresses = new String[1024];
+            slots = 0;
+            deleted = 0;
+            slotById = new SlotMap();
+            postings = new HashMap<>();
+            for (CustomerDTO customer : customers) {
+                removeSlot(customer.getId());
+                add(customer.getId(), customer.getName(), customer.getAddress());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Aluth customer kenek hari update ekak: parana slot eka tombstone karala aluth ekak
+    public void put(long id, String name, String address) {
+        lock.writeLock().lock();
+        try {
+            removeSlot(id);
+            add(id, name, address);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Import chunk ekak: write lock eka ekaparai, searches chunk eke row ekakata ekaparak wait karanne na
+    public void putAll(List<CustomerDTO> customers) {
+        lock.writeLock().lock();
+        try {
+            for (CustomerDTO customer : customers) {
+                removeSlot(customer.getId());
+                add(customer.getId(), customer.getName(), customer.getAddress());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeSlot(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<CustomerDTO> search(String query, int limit) {
+        String[] terms = tokens(query);
+        if (terms.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Cursor> perTerm = new ArrayList<>(terms.length);
+            int ceiling = 0;
+            for (String term : terms) {
+                Cursor cursor = termCursor(term);
+                if (cursor == null) {
+                    return List.of();
+                }
+                perTerm.add(cursor);
+                ceiling += bestPossible(term);
+            }
+            Cursor candidates = perTerm.size() == 1 ? perTerm.get(0) : new AndCursor(perTerm);
+
+            // Aluth slots issella enne; heap eka piruna saha podima score eka ceiling ekata awa nam
+            // pahala slots walata eka pannanna ba, e nisa nawaththanawa
+            PriorityQueue<Hit> best = new PriorityQueue<>(Hit.WORST_FIRST);
+            int checked = 0;
+            for (int slot = candidates.current(); slot >= 0 && checked < properties.getMaxCandidates();
+                 candidates.next(), slot = candidates.current()) {
+                if (ids[slot] == DELETED) {
+                    continue;
+                }
+                checked++;
+                int score = score(slot, terms);
+                if (score > 0) {
+                    best.add(new Hit(slot, score));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                    if (best.size() == limit && best.peek().score() >= ceiling) {
+                        break;
+                    }
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(Hit.WORST_FIRST.reversed());
+            List<CustomerDTO> results = new ArrayList<>(hits.size());
+            for (Hit hit : hits) {
+                results.add(new CustomerDTO(ids[hit.slot()], names[hit.slot()], addresses[hit.slot()]));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(long id, String name, String address) {
+        if (slots == ids.length) {
+            int capacity = slots * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            addresses = Arrays.copyOf(addresses, capacity);
+        }
+        int slot = slots++;
+        ids[slot] = id;
+        names[slot] = name == null ? "" : name;
+        addresses[slot] = address == null ? "" : address;
+        slotById.put(id, slot);
+        index(slot);
+    }
+
+    private void index(int slot) {
+        // Ekama gram eka field ekaka kipa parak thibbath posting eka ekaparai (list eka sorted saha unique)
+        long[] keys = keys(names[slot], addresses[slot]);
+        Arrays.sort(keys);
+        for (int k = 0; k < keys.length; k++) {
+            if (k == 0 || keys[k] != keys[k - 1]) {
+                postings.computeIfAbsent(keys[k], key -> new Postings()).add(slot);
+            }
+        }
+    }
+
+    // id eke live slot eka map eken; write lock eka yata array eka scan karanne na
+    private void removeSlot(long id) {
+        int slot = slotById.remove(id);
+        if (slot < 0) {
+            return;
+        }
+        ids[slot] = DELETED;
+        names[slot] = null;
+        addresses[slot] = null;
+        deleted++;
+        if (deleted > 1024 && deleted > slots / 4) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        int live = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            if (ids[slot] != DELETED) {
+                ids[live] = ids[slot];
+                names[live] = names[slot];
+                addresses[live] = addresses[slot];
+                live++;
+            }
+        }
+        Arrays.fill(names, live, slots, null);
+        Arrays.fill(addresses, live, slots, null);
+        slots = live;
+        deleted = 0;
+        slotById = new SlotMap();
+        postings = new HashMap<>();
+        for (int slot = 0; slot < slots; slot++) {
+            slotById.put(ids[slot], slot);
+            index(slot);
+        }
+    }
+
+    // Term eka name eke hari address eke: kota terms word mula keys walin, anith ewa trigrams okkoma ekama field eke
+    private Cursor termCursor(String term) {
+        List<Cursor> fields = new ArrayList<>(2);
+        for (long field : new long[]{NAME, ADDRESS}) {
+            if (term.length() < 3) {
+                Postings list = postings.get(startKey(field, term, term.length()));
+                if (list != null) {
+                    fields.add(new ListCursor(list));
+                }
+                continue;
+            }
+            List<Cursor> grams = new ArrayList<>(term.length() - 2);
+            for (int i = 0; i + 3 <= term.length(); i++) {
+                Postings list = postings.get(field | trigramKey(term, i));
+                if (list == null) {
+                    grams = null;
+                    break;
+                }
+                grams.add(new ListCursor(list));
+            }
+            if (grams != null) {
+                fields.add(grams.size() == 1 ? grams.get(0) : new AndCursor(grams));
+            }
+        }
+        if (fields.isEmpty()) {
+            return null;
+        }
+        return fields.size() == 1 ? fields.get(0) : new OrCursor(fields);
+    }
+
+    // Term ekakata labenna puluwan wadima score eka (score() eke tiers); ekkasu karama search eke ceiling eka.
+    // Name eke trigrams okkoma nathnam name tiers ganan ganne na (e.g. "kandy" eke "kan" Ekanayake eke thibbata)
+    private int bestPossible(String term) {
+        if (term.length() < 3) {
+            return postings.containsKey(startKey(NAME, term, term.length())) ? 6 : 3;
+        }
+        boolean inNames = true;
+        for (int i = 0; i + 3 <= term.length() && inNames; i++) {
+            inNames = postings.containsKey(NAME | trigramKey(term, i));
+        }
+        if (inNames) {
+            return postings.containsKey(startKey(NAME, term, 3)) ? 6 : 4;
+        }
+        return postings.containsKey(startKey(ADDRESS, term, 3)) ? 3 : 2;
+    }
+
+    // Name eke word ekaka mula 6, name eke athule 4, address eke word mula 3, address eke athule 2; term ekak nathnam 0
+    private int score(int slot, String[] terms) {
+        int total = 0;
+        for (String term : terms) {
+            int name = match(names[slot], term);
+            int address = match(addresses[slot], term);
+            if (term.length() < 3) {
+                // Kota terms word mula witharai match wenne (prefix index eka wage)
+                name = name == 3 ? name : 0;
+                address = address == 3 ? address : 0;
+            }
+            int best = Math.max(name * 2, address);
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    // 3 = word ekaka mula, 2 = word eka athule, 0 = nathi
+    private static int match(String text, String term) {
+        int result = 0;
+        for (int i = 0; i + term.length() <= text.length(); i++) {
+            if (text.regionMatches(true, i, term, 0, term.length())) {
+                if (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1))) {
+                    return 3;
+                }
+                result = 2;
+            }
+        }
+        return result;
+    }
+
+    private static long[] keys(String name, String address) {
+        long[] keys = new long[64];
+        int count = 0;
+        for (long field : new long[]{NAME, ADDRESS}) {
+            for (String word : tokens(field == NAME ? name : address)) {
+                int needed = count + 3 + Math.max(0, word.length() - 2);
+                if (needed > keys.length) {
+                    keys = Arrays.copyOf(keys, Math.max(needed, keys.length * 2));
+                }
+                for (int length = 1; length <= Math.min(word.length(), 3); length++) {
+                    keys[count++] = startKey(field, word, length);
+                }
+                for (int i = 0; i + 3 <= word.length(); i++) {
+                    keys[count++] = field | trigramKey(word, i);
+                }
+            }
+        }
+        return Arrays.copyOf(keys, count);
+    }
+
+    // Akuru/numbers witharai words, lowercase
+    private static String[] tokens(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (!word.isEmpty()) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        return words.toArray(new String[0]);
+    }
+
+    private static long trigramKey(String word, int start) {
+        return ((long) word.charAt(start) << 32) | ((long) word.charAt(start + 1) << 16) | word.charAt(start + 2);
+    }
+
+    // Word eke mul akuru 1-3; trigram keys walin wenas karanna length eka bit 48-49 walata
+    private static long startKey(long field, String word, int length) {
+        long key = field | ((long) length << 48);
+        for (int i = 0; i < length; i++) {
+            key |= (long) word.charAt(i) << (32 - 16 * i);
+        }
+        return key;
+    }
+
+    private record Hit(int slot, int score) {
+        // Wadi score hondai; score eka samana nam aluthin liyapu (uda slot) customer hondai
+        static final Comparator<Hit> WORST_FIRST = Comparator.comparingInt(Hit::score).thenComparingInt(Hit::slot);
+    }
+
+    // Customer id -> live slot, boxing nathuwa (open addressing, linear probing)
+    private static final class SlotMap {
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys = emptyKeys(1024);
+        private int[] values = new int[1024];
+        private int size;
+
+        void put(long id, int slot) {
+            if (2 * (size + 1) > keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            int i = hash(id) & mask;
+            while (keys[i] != EMPTY && keys[i] != id) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == EMPTY) {
+                keys[i] = id;
+                size++;
+            }
+            values[i] = slot;
+        }
+
+        int remove(long id) {
+            int mask = keys.length - 1;
+            int i = hash(id) & mask;
+            while (keys[i] != id) {
+                if (keys[i] == EMPTY) {
+                    return -1;
+                }
+                i = (i + 1) & mask;
+            }
+            int slot = values[i];
+            size--;
+            // Tombstones nathuwa: passe thiyena entries hisa thanata pahalata shift karanawa
+            for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+                int home = hash(keys[j]) & mask;
+                if (((j - home) & mask) >= ((j - i) & mask)) {
+                    keys[i] = keys[j];
+                    values[i] = values[j];
+                    i = j;
+                }
+            }
+            keys[i] = EMPTY;
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = emptyKeys(oldKeys.length * 2);
+            values = new int[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static long[] emptyKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size + (size >> 1) + 1);
+            }
+            slots[size++] = slot;
+        }
+    }
+
+    // Candidate slots uda idan pahalata; current() -1 nam iwarai
+    private interface Cursor {
+        int current();
+
+        void next();
+
+        // target ekata samana hari podi lokuma slot ekata yanawa
+        void seek(int target);
+    }
+
+    private static final class ListCursor implements Cursor {
+        private final int[] slots;
+        private int pos;
+
+        ListCursor(Postings list) {
+            slots = list.slots;
+            pos = list.size - 1;
+        }
+
+        @Override
+        public int current() {
+            return pos < 0 ? -1 : slots[pos];
+        }
+
+        @Override
+        public void next() {
+            pos--;
+        }
+
+        @Override
+        public void seek(int target) {
+            if (pos < 0 || slots[pos] <= target) {
+                return;
+            }
+            // Galloping: pahalata 1, 2, 4.. paninawa, passe e range eke binary search
+            int high = pos;
+            int step = 1;
+            int low = pos - step;
+            while (low >= 0 && slots[low] > target) {
+                high = low;
+                step <<= 1;
+                low = high - step;
+            }
+            int found = Arrays.binarySearch(slots, Math.max(low, 0), high, target);
+            pos = found >= 0 ? found : -found - 2;
+        }
+    }
+
+    // Okkoma cursors walata podu slots (leapfrog)
+    private static final class AndCursor implements Cursor {
+        private final List<Cursor> children;
+        private int current;
+
+        AndCursor(List<Cursor> children) {
+            this.children = children;
+            align(children.get(0).current());
+        }
+
+        private void align(int target) {
+            while (target >= 0) {
+                boolean agreed = true;
+                for (Cursor child : children) {
+                    child.seek(target);
+                    int value = child.current();
+                    if (value < target) {
+                        target = value;
+                        agreed = false;
+                        if (value < 0) {
+                            break;
+                        }
+                    }
+                }
+                if (agreed) {
+                    break;
+                }
+            }
+            current = target;
+        }
+
+        @Override
+        public int current() {
+            return current;
+        }
+
+        @Override
+        public void next() {
+            if (current >= 0) {
+                align(current - 1);
+            }
+        }
+
+        @Override
+        public void seek(int target) {
+            if (current > target) {
+                align(target);
+            }
+        }
+    }
+
+    // Ona ekaka thiyena slots (name hari address)
+    private static final class OrCursor implements Cursor {
+        private final List<Cursor> children;
+
+        OrCursor(List<Cursor> children) {
+            this.children = children;
+        }
+
+        @Override
+        public int current() {
+            int max = -1;
+            for (Cursor child : children) {
+                max = Math.max(max, child.current());
+            }
+            return max;
+        }
+
+        @Override
+        public void next() {
+            int current = current();
+            for (Cursor child : children) {
+                if (child.current() == current) {
+                    child.next();
+                }
+            }
+        }
+
+        @Override
+        public void seek(int target) {
+            for (Cursor child : children) {
+                child.seek(target);
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.springbootposbackend.cache;
+
+import com.example.springbootposbackend.config.IdempotencyProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key -> order id for recently placed orders. Completed keys sit
+ * in a bounded LRU with a TTL; keys whose order is still being placed sit in
+ * an in-flight map so concurrent retries wait for the first request instead
+ * of placing the order again. Failures are not cached, a retry after a failed
+ * order runs again.
+ */
+@Component
+public class IdempotencyCache {
+
+    // String (header ~40 bytes + chars), Entry record, LinkedHashMap.Entry saha table slot eka walata aasanna agaya
+    private static final int ENTRY_OVERHEAD_BYTES = 136;
+
+    private record Entry(long orderId, long storedAtNanos) {
+    }
+
+    private final IdempotencyProperties properties;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter collapsed;
+
+    // Pahala fields "this" lock eka yata witharai (memory witharai, IO nathi nisa virtual threads pin wenne na)
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long estimatedBytes;
+
+    private final Map<String, CompletableFuture<Long>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyCache(IdempotencyProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.hits = Counter.builder("pos.idempotency.requests").tag("result", "hit")
+                .description("Keyed order requests answered from memory").register(registry);
+        this.misses = Counter.builder("pos.idempotency.requests").tag("result", "miss")
+                .description("Keyed order requests that went to the database").register(registry);
+        this.collapsed = Counter.builder("pos.idempotency.requests").tag("result", "collapsed")
+                .description("Keyed order requests that waited for a concurrent request with the same key").register(registry);
+        Gauge.builder("pos.idempotency.cache.size", this, IdempotencyCache::size)
+                .description("Keys held in the idempotency cache").register(registry);
+        Gauge.builder("pos.idempotency.cache.bytes", this, IdempotencyCache::estimatedBytes)
+                .description("Estimated heap used by the idempotency cache").baseUnit("bytes").register(registry);
+    }
+
+    /**
+     * Returns the order id stored for the key, or runs placeOrder once for all
+     * concurrent callers with that key and remembers its result.
+     */
+    public Long computeIfAbsent(String key, Supplier<Long> placeOrder) {
+        Long cached = get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        CompletableFuture<Long> mine = new CompletableFuture<>();
+        CompletableFuture<Long> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            collapsed.increment();
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        misses.increment();
+        try {
+            Long orderId = placeOrder.get();
+            put(key, orderId);
+            mine.complete(orderId);
+            return orderId;
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private synchronized Long get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry)) {
+            remove(key);
+            return null;
+        }
+        return entry.orderId();
+    }
+
+    private synchronized void put(String key, long orderId) {
+        if (entries.put(key, new Entry(orderId, System.nanoTime())) == null) {
+            estimatedBytes += ENTRY_OVERHEAD_BYTES + key.length();
+        }
+        // Access order nisa palaweni entries tika thamai wadiyenma parana
+        Iterator<Map.Entry<String, Entry>> oldest = entries.entrySet().iterator();
+        while (oldest.hasNext()) {
+            Map.Entry<String, Entry> candidate = oldest.next();
+            if (entries.size() <= properties.getMaxEntries() && !isExpired(candidate.getValue())) {
+                break;
+            }
+            estimatedBytes -= ENTRY_OVERHEAD_BYTES + candidate.getKey().length();
+            oldest.remove();
+        }
+    }
+
+    private void remove(String key) {
+        if (entries.remove(key) != null) {
+            estimatedBytes -= ENTRY_OVERHEAD_BYTES + key.length();
+        }
+    }
+
+    private boolean isExpired(Entry entry) {
+        return System.nanoTime() - entry.storedAtNanos() > properties.getTtlMs() * 1_000_000L;
+    }
+
+    private synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized long estimatedBytes() {
+        return estimatedBytes;
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.springbootposbackend.cache;
+
+import com.example.springbootposbackend.config.CatalogProperties;
+import com.example.springbootposbackend.dto.ItemDTO;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.mapper.ItemMapper;
+import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.routing.ReplicaRouting;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Immutable snapshot of the item catalog so that getAllItems does not hit the
+ * database on every till poll. Item CRUD invalidates the snapshot; checkout
+ * stock decrements are patched in after commit, keyed by item version so an
+ * out-of-order or already-loaded patch can never move a quantity backwards.
+ * A catalog larger than pos.catalog.max-items is not cached: once a load
+ * finds that, reads skip the snapshot and the load lock and go straight to
+ * the database as plain DTO queries, until one comes back under the limit.
+ */
+@Component
+public class ItemCatalogCache {
+
+    private record Entry(ItemDTO item, long version) {
+    }
+
+    private record Snapshot(Map<Long, Entry> byId, List<ItemDTO> items, long loadedAtNanos) {
+    }
+
+    // Commit una stock change ekak: aluth qty eka saha eeta passe thiyena version eka
+    public record StockChange(long itemId, int qtyOnHand, long version) {
+    }
+
+    private final ItemRepo itemRepo;
+    private final ItemMapper itemMapper;
+    private final CatalogProperties properties;
+    private final Counter hits;
+    private final Counter misses;
+
+    private volatile Snapshot snapshot;
+    // Catalog eka maxItems wada loku nam true: reads lock eka nathuwa kelinma DB eken
+    private volatile boolean oversized;
+    // DB load eka ekama thread ekak witharai karanne; synchronized nemei, load eka athara virtual thread ekak carrier eka pin karanna epa
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    // Pahala fields okkoma "this" lock eka yata witharak wenas karanne
+    private long invalidations;
+    private boolean loading;
+    private final Map<Long, StockChange> changesDuringLoad = new HashMap<>();
+
+    public ItemCatalogCache(ItemRepo itemRepo, ItemMapper itemMapper, CatalogProperties properties,
+                            MeterRegistry registry) {
+        this.itemRepo = itemRepo;
+        this.itemMapper = itemMapper;
+        this.properties = properties;
+        this.hits = Counter.builder("pos.catalog.hits").description("Catalog reads served from memory").register(registry);
+        this.misses = Counter.builder("pos.catalog.misses").description("Catalog reads that went to the database").register(registry);
+        Gauge.builder("pos.catalog.size", this, cache -> {
+            Snapshot current = cache.snapshot;
+            return current == null ? 0 : current.items().size();
+        }).description("Items held in the catalog snapshot").register(registry);
+    }
+
+    public List<ItemDTO> getAll() {
+        if (oversized) {
+            misses.increment();
+            return readUncached();
+        }
+        Snapshot current = snapshot;
+        if (current != null && !isStale(current)) {
+            hits.increment();
+            return current.items();
+        }
+        misses.increment();
+        // Ekama welawe misses godak awoth ekkenek witharak DB eken load karanawa
+        loadLock.lock();
+        try {
+            current = snapshot;
+            if (current != null && !isStale(current)) {
+                return current.items();
+            }
+            return load().items();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    public void invalidate() {
+        synchronized (this) {
+            invalidations++;
+            snapshot = null;
+            changesDuringLoad.clear();
+        }
+    }
+
+    // OrderServiceIMPL eken commit ekata passe call karanne
+    public void applyStockChanges(List<StockChange> changes) {
+        synchronized (this) {
+            if (loading) {
+                for (StockChange change : changes) {
+                    changesDuringLoad.merge(change.itemId(), change,
+                            (a, b) -> a.version() >= b.version() ? a : b);
+                }
+            }
+            Snapshot current = snapshot;
+            if (current != null) {
+                snapshot = patch(current, changes);
+            }
+        }
+    }
+
+    // Limit ekata yatin nam eelaga read eka aye snapshot ekak load karanawa
+    private List<ItemDTO> readUncached() {
+        // Response eke ETag eka primary eke watermark eka, e nisa body ekath primary eken
+        List<ItemDTO> items = ReplicaRouting.onPrimary(itemRepo::findAllAsDTOs);
+        if (items.size() <= properties.getMaxItems()) {
+            oversized = false;
+        }
+        return items;
+    }
+
+    private boolean isStale(Snapshot current) {
+        return System.nanoTime() - current.loadedAtNanos() > properties.getMaxStalenessMs() * 1_000_000L;
+    }
+
+    private Snapshot load() {
+        long invalidationsAtStart;
+        synchronized (this) {
+            invalidationsAtStart = invalidations;
+            loading = true;
+            changesDuringLoad.clear();
+        }
+
+        long loadedAt = System.nanoTime();
+        Map<Long, Entry> byId = new LinkedHashMap<>();
+        try {
+            // Snapshot eka catalog watermark (ETag) ekka ekata yanna ona, lag wela thiyena replica ekakin ganne na
+            for (Item item : ReplicaRouting.onPrimary(itemRepo::findAll)) {
+                byId.put(item.getId(), new Entry(itemMapper.toDTO(item), item.getVersion()));
+            }
+        } finally {
+            synchronized (this) {
+                loading = false;
+            }
+        }
+
+        synchronized (this) {
+            Snapshot loaded = patch(new Snapshot(byId, toItems(byId), loadedAt),
+                    new ArrayList<>(changesDuringLoad.values()));
+            changesDuringLoad.clear();
+            // Load eka athara CRUD ekak una nam me data parana wenna puluwan, e nisa cache karanne na
+            if (byId.size() > properties.getMaxItems()) {
+                oversized = true;
+            } else if (invalidations == invalidationsAtStart) {
+                snapshot = loaded;
+            }
+            return loaded;
+        }
+    }
+
+    private Snapshot patch(Snapshot current, List<StockChange> changes) {
+        Map<Long, Entry> byId = null;
+        for (StockChange change : changes) {
+            Entry entry = current.byId().get(change.itemId());
+            if (entry == null || entry.version() >= change.version()) {
+                continue;
+            }
+            if (byId == null) {
+                byId = new LinkedHashMap<>(current.byId());
+            }
+            ItemDTO old = entry.item();
+            ItemDTO updated = new ItemDTO(old.getId(), old.getDescription(), old.getUnitPrice(), change.qtyOnHand());
+            byId.put(change.itemId(), new Entry(updated, change.version()));
+        }
+        if (byId == null) {
+            return current;
+        }
+        return new Snapshot(byId, toItems(byId), current.loadedAtNanos());
+    }
+
+    private static List<ItemDTO> toItems(Map<Long, Entry> byId) {
+        List<ItemDTO> items = new ArrayList<>(byId.size());
+        for (Entry entry : byId.values()) {
+            items.add(entry.item());
+        }
+        return List.copyOf(items);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.springbootposbackend.cache;
+
+import com.example.springbootposbackend.config.OrderProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Customer ids that checkout validation has already seen in the database, so
+ * a known customer is checked without a query. Item ids need no set of their
+ * own: the pricing engine's price table holds every item it has priced. Only
+ * positive answers are cached: a new row is never rejected because of a
+ * stale entry, and a row deleted behind the cache's back is still caught by
+ * the order transaction. The set stops growing at
+ * pos.order.known-id-cache-size; ids past that are simply looked up again.
+ */
+@Component
+public class KnownIdCache {
+
+    private final int maxEntries;
+    private final Set<Long> customers = ConcurrentHashMap.newKeySet();
+
+    public KnownIdCache(OrderProperties properties) {
+        this.maxEntries = properties.getKnownIdCacheSize();
+    }
+
+    public boolean isKnownCustomer(long id) {
+        return customers.contains(id);
+    }
+
+    // size() eka exact nemei (threads kihipayak ekama welawe), limit eka tikak udin yanna puluwan
+    public void addCustomers(Collection<Long> ids) {
+        for (Long id : ids) {
+            if (customers.size() >= maxEntries) {
+                return;
+            }
+            customers.add(id);
+        }
+    }
+
+    public void removeCustomer(long id) {
+        customers.remove(id);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.springbootposbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "pos.catalog")
+public class CatalogProperties {
+
+    // Catalog eka meeta wada loku nam cache karanne na, kelinma DB eken denawa
+    private int maxItems = 50_000;
+
+    // Snapshot eka meeta wada parana nam DB eken aluthin load karanawa (wena node walin wena changes allaganna)
+    private long maxStalenessMs = 30_000;
+}
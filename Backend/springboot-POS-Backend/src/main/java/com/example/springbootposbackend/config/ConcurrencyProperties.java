@@ -0,0 +1,17 @@
+package com.example.springbootposbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "pos.concurrency")
+public class ConcurrencyProperties {
+
+    // Ekama welawe DB ekata yana /api requests gana; Hikari pool eke connections walata wada tikak wadi
+    private int maxInFlight = 40;
+
+    // Permit ekak nathnam meeta wada wait karanne na, 503 yawanawa
+    private long queueTimeoutMs = 1000;
+}
@@ -0,0 +1,20 @@
+package com.example.springbootposbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "pos.customer-search")
+public class CustomerSearchProperties {
+
+    // limit parameter eka nathnam denna ona results gana
+    private int defaultLimit = 20;
+
+    // Client kiyana limit eka meeta wada nam meeta adu karanawa
+    private int maxLimit = 100;
+
+    // "a" wage kota query ekakata candidates lakshayak enna puluwan; meeta wada score karanne na (cashier thawa type karanawa)
+    private int maxCandidates = 20_000;
+}
@@ -0,0 +1,20 @@
+package com.example.springbootposbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "pos.idempotency")
+public class IdempotencyProperties {
+
+    // Memory eke thiyagannna max keys gana; piruna gaman parana ma (LRU) ain wenawa
+    private int maxEntries = 100_000;
+
+    // Meeta wada parana key ekak cache eken ain wenawa, idempotency_key table eken purge eka ain karanawa
+    private long ttlMs = 24 * 60 * 60 * 1000L;
+
+    // Parana idempotency_key rows delete karana purge eka run wena interval eka
+    private long purgeIntervalMs = 60 * 60 * 1000L;
+}
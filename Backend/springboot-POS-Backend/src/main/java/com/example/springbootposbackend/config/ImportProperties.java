@@ -0,0 +1,17 @@
+package com.example.springbootposbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "pos.import")
+public class ImportProperties {
+
+    // CSV rows per transaction/JDBC batch; podi nam checkouts item row locks walata balan inna kalaya adui
+    private int chunkSize = 500;
+
+    // Response eke error rows meeta wada danne na (file eka loku unath response eka loku wenne na)
+    private int maxErrors = 1000;
+}
@@ -0,0 +1,43 @@
+package com.example.springbootposbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "pos.order")
+public class OrderProperties {
+
+    public enum StockStrategy {
+        PESSIMISTIC,
+        OPTIMISTIC,
+        LEDGER
+    }
+
+    private StockStrategy stockStrategy = StockStrategy.PESSIMISTIC;
+
+    // Optimistic mode eke conflict ekakata passe keeparak try karanawada
+    private int maxRetries = 5;
+
+    // Palaweni retry ekata base backoff eka, eeta passe dekuna wenawa (jitter ekka)
+    private long retryBackoffMs = 5;
+
+    // Bulk ingest eke ekama transaction ekakata yana orders gana
+    private int bulkChunkSize = 500;
+
+    // true nam placeOrder calls queue karala ekama transaction ekakata ekathu karanawa (group commit)
+    private boolean groupCommit = false;
+
+    // Palaweni order eka awa passe batch eka commit karanna kalin wait karana max kalaya
+    private long groupCommitWindowMs = 2;
+
+    // Ekama group commit transaction ekaka max orders gana
+    private int groupCommitMaxOrders = 100;
+
+    // Ekama order ekaka max lines gana; wadi nam transaction ekata kalin reject
+    private int maxLines = 500;
+
+    // Thiyena bawa dannawa kiyala mathaka thiyaganna customer ids gana
+    private int knownIdCacheSize = 200_000;
+}
@@ -0,0 +1,28 @@
+package com.example.springbootposbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "pos.outbox")
+public class OutboxProperties {
+
+    // Dispatcher eka run wenna ona ekama instance ekaka witharai (customer order eka thiyaganna); anith ewa false
+    private boolean dispatcherEnabled = true;
+
+    // Events nathi welawata table eka aye balana kalaya
+    private long pollIntervalMs = 200;
+
+    // Ekama poll ekakata ganna parana events gana
+    private int batchSize = 500;
+
+    // Ekama welawe handlers run karana threads (customer kenekuge events ekama thread ekaka piliwelata)
+    private int parallelism = 4;
+
+    // Handler eka fail unoth palaweni retry ekata kalin wait karana kalaya, eeta passe dekuna wenawa
+    private long retryBackoffMs = 1000;
+
+    private long maxRetryBackoffMs = 60_000;
+}
@@ -0,0 +1,17 @@
+package com.example.springbootposbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "pos.paging")
+public class PagingProperties {
+
+    // size parameter eka nathnam denna ona rows gana
+    private int defaultPageSize = 100;
+
+    // Client kiyana size eka meeta wada nam meeta adu karanawa
+    private int maxPageSize = 1000;
+}
@@ -0,0 +1,18 @@
+package com.example.springbootposbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "pos.pricing")
+public class PricingProperties {
+
+    // changeSeq eken passe wenas una item prices saha delete karapu items table ekata ganna kalaya
+    private long refreshIntervalMs = 1000;
+
+    // Price table eka meeta wada parana nam mulu table ekama aluthin load karanawa (promotions, DB eke kelinma karapu
+    // edits saha wena node walin aawa changeSeq eka pitipassen thiyena changes allaganna)
+    private long maxStalenessMs = 60_000;
+}
@@ -0,0 +1,44 @@
+package com.example.springbootposbackend.config;
+
+import com.example.springbootposbackend.routing.ReplicaRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces the auto-configured DataSource when pos.replica.enabled=true.
+ * The primary pool is still built from spring.datasource.*; the DataSource
+ * that JPA and JDBC see is a LazyConnectionDataSourceProxy over it, which
+ * takes a real connection only at the first statement and, for read-only
+ * transactions, takes it from {@link ReplicaRouter}. The pools are not beans
+ * themselves, so there is still exactly one DataSource bean to wrap and
+ * monitor.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "pos.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public ReplicaRouter replicaRouter(DataSourceProperties dataSourceProperties, Environment environment,
+                                       ReplicaProperties properties, MeterRegistry registry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        return new ReplicaRouter(primary, properties, registry);
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaRouter replicaRouter) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(replicaRouter.primary());
+        dataSource.setReadOnlyDataSource(replicaRouter.readOnlyDataSource());
+        return dataSource;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.springbootposbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "pos.replica")
+public class ReplicaProperties {
+
+    // true nam GET requests wala read-only transactions replicas walata yawanawa
+    private boolean enabled = false;
+
+    private List<Replica> datasources = new ArrayList<>();
+
+    // Heartbeat eka meeta wada parana nam replica eka lag wela, reads primary ekata
+    private long maxLagMs = 2000;
+
+    // Primary eke heartbeat row eka update karala replicas wala kiyawana kalaya
+    private long heartbeatIntervalMs = 500;
+
+    // Write ekak kala client eka mathaka thiyaganna max kalaya (read-your-writes); maxLagMs walata wada adu wenna ba
+    private long stickyMs = 10_000;
+
+    // Mathaka thiyaganna clients gana; piruna nam aluth write ekak hama client kenektama primary eken kiyawanawa
+    private int maxTrackedClients = 100_000;
+
+    // Client eka hadunaganna header eka; nathnam remote address eka
+    private String clientHeader = "X-Client-Id";
+
+    // Write response eke floor eka (millis) yawana header eka; till eka eeta passe reads walata eka aye yawanawa,
+    // e nisa wena instance ekakata giyath eyage write eka nathi replica ekakin kiyawanne na
+    private String floorHeader = "X-Read-After";
+
+    // Instances wala clocks athara wenasa: heartbeat eka floor eka + meeta wada aluth wenna ona
+    private long clockSkewMs = 250;
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+
+        // Replica eka down nam reads primary ekata ikmanata yanna (Hikari eke minimum eka 250)
+        private long connectionTimeoutMs = 250;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.springbootposbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "pos.rollup")
+public class RollupProperties {
+
+    // Rebuild eke ekama welawe recompute karana dawas gana (dawasakata ekama transaction ekak)
+    private int rebuildThreads = 4;
+
+    // true nam checkout eka rollup rows lock karanne na, order.placed outbox event eken passe add karanawa
+    private boolean async = false;
+}
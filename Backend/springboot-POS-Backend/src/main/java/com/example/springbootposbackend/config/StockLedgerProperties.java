@@ -0,0 +1,23 @@
+package com.example.springbootposbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "pos.stock-ledger")
+public class StockLedgerProperties {
+
+    // Write-ahead log segments thiyena folder eka; restart ekedi recovery eka meka kiyawanawa, e nisa temp folder ekak epa
+    private String walDir = "stock-wal";
+
+    // Segment eka meeta loku unoth aluth ekak patan gannawa; checkpoint eken passe parana ewa delete wenawa
+    private long segmentBytes = 64L * 1024 * 1024;
+
+    // Memory eke reservations MySQL item table ekata flush karana kalaya
+    private long flushIntervalMs = 50;
+
+    // Ekama flush transaction ekakata ganna max WAL records
+    private int flushMaxRecords = 10_000;
+}
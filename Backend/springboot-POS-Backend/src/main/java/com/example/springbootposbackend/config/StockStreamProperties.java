@@ -0,0 +1,29 @@
+package com.example.springbootposbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "pos.stock-stream")
+public class StockStreamProperties {
+
+    // Me kalaya athara ekama item ekata awa changes ekakata ekathu karala ekama event ekak yawanawa
+    private long coalesceWindowMs = 250;
+
+    // Meeta wada tills connect unoth 503, eka node ekaka memory eka seemawa thiyaganna
+    private int maxSubscribers = 5000;
+
+    // Till ekakata yawanna thiyena events; piruna nam till eka disconnect karanawa (eya resync karanawa)
+    private int subscriberQueueSize = 32;
+
+    // SSE writes karana threads; slow client ekak ekak thread ekak witharak block karanawa
+    private int senderThreads = 4;
+
+    // Meeta wada welawak ekama write ekaka hira una till eka disconnect karala sender thread eka wenuwata aluth ekak
+    private long sendTimeoutMs = 2_000;
+
+    // Changes nathi welawata comment ekak yawanawa, proxies connection eka close nokaranna saha dead clients hoyaganna
+    private long heartbeatMs = 15_000;
+}
@@ -0,0 +1,45 @@
+package com.example.springbootposbackend.config;
+
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+// JSON walata amatharawa CBOR saha Smile: client eka Accept / Content-Type eken thoragannawa
+@Configuration
+public class WireFormatConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    // Beans widiyata danne na: ObjectMapper inject karana thanwalata candidates kihipayak hambawenawa
+    private static final CBORMapper CBOR_MAPPER = CBORMapper.builder().build();
+    private static final SmileMapper SMILE_MAPPER = SmileMapper.builder().build();
+
+    @Bean
+    public ServerHttpMessageConvertersCustomizer binaryMessageConverters() {
+        return builder -> builder
+                .withCborConverter(new JacksonCborHttpMessageConverter(CBOR_MAPPER))
+                .withSmileConverter(new JacksonSmileHttpMessageConverter(SMILE_MAPPER));
+    }
+
+    // Body eka stream karala read karana endpoints walata (e.g. bulk orders), converter eka pass wena nisa
+    public static ObjectMapper mapperFor(String contentType, ObjectMapper jsonMapper) {
+        if (contentType == null) {
+            return jsonMapper;
+        }
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        if (MediaType.APPLICATION_CBOR.isCompatibleWith(mediaType)) {
+            return CBOR_MAPPER;
+        }
+        if (APPLICATION_SMILE.isCompatibleWith(mediaType)) {
+            return SMILE_MAPPER;
+        }
+        return jsonMapper;
+    }
+}
@@ -1,16 +1,24 @@
 package com.example.springbootposbackend.controller;
 
+import com.example.springbootposbackend.dto.CursorPageDTO;
 import com.example.springbootposbackend.dto.CustomerDTO;
+import com.example.springbootposbackend.dto.ImportResultDTO;
 import com.example.springbootposbackend.service.CustomerService;
+import com.example.springbootposbackend.service.ExportService;
+import com.example.springbootposbackend.service.ImportService;
 import com.example.springbootposbackend.service.impl.CustomerServiceIMPL;
 import com.example.springbootposbackend.util.APIResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 
 @RequestMapping("/api/v1/customers")
@@ -21,6 +29,8 @@ import java.util.List;
 
 public class CustomerController {
     private final CustomerServiceIMPL customerServiceIMPL;
+    private final ExportService exportService;
+    private final ImportService importService;
 
     @PostMapping
     public ResponseEntity <APIResponse<String>> saveCustomer(@RequestBody CustomerDTO customerDTO) {
@@ -46,4 +56,38 @@ public class CustomerController {
         return new ResponseEntity<>(new APIResponse<>(200, "Customers retrieved successfully", customers), HttpStatus.OK);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity <APIResponse<CursorPageDTO<CustomerDTO>>> getCustomerPage(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String name) {
+        CursorPageDTO<CustomerDTO> page = customerServiceIMPL.getCustomerPage(after, size, name);
+        return new ResponseEntity<>(new APIResponse<>(200, "Customers retrieved successfully", page), HttpStatus.OK);
+    }
+
+    // Checkout eke cashier type karana gaman: name/address kotasak, memory index eken (DB ekata yanne na)
+    @GetMapping("/search")
+    public ResponseEntity <APIResponse<List<CustomerDTO>>> searchCustomers(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        List<CustomerDTO> customers = customerServiceIMPL.searchCustomers(q, limit);
+        return new ResponseEntity<>(new APIResponse<>(200, "Customers retrieved successfully", customers), HttpStatus.OK);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCustomers(@RequestParam(defaultValue = "jsonl") String format) {
+        ExportService.Format exportFormat = ExportService.Format.from(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=customers." + exportFormat.getExtension())
+                .body(out -> exportService.exportCustomers(exportFormat, out));
+    }
+
+    // Loyalty CSV eka (id,name,address) chunks walin upsert karanawa; search index ekath update wenawa
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<APIResponse<ImportResultDTO>> importCustomers(HttpServletRequest request) throws IOException {
+        ImportResultDTO result = importService.importCustomers(request.getInputStream());
+        return new ResponseEntity<>(new APIResponse<>(200,
+                result.getApplied() + " customers imported, " + result.getFailed() + " failed", result), HttpStatus.OK);
+    }
 }
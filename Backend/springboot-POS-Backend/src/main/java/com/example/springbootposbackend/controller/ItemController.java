@@ -1,15 +1,28 @@
 package com.example.springbootposbackend.controller;
 
-import com.example.springbootposbackend.dto.CustomerDTO;
+import com.example.springbootposbackend.dto.CatalogDeltaDTO;
+import com.example.springbootposbackend.dto.CursorPageDTO;
+import com.example.springbootposbackend.dto.ImportResultDTO;
 import com.example.springbootposbackend.dto.ItemDTO;
+import com.example.springbootposbackend.service.ExportService;
+import com.example.springbootposbackend.service.ImportService;
 import com.example.springbootposbackend.service.ItemService;
 import com.example.springbootposbackend.service.impl.ItemServiceIMPL;
+import com.example.springbootposbackend.stream.StockStream;
 import com.example.springbootposbackend.util.APIResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
 
 @RequestMapping("/api/v1/items")
 @RestController
@@ -18,6 +31,9 @@ import org.springframework.web.bind.annotation.*;
 @Validated
 public class ItemController {
     private final ItemServiceIMPL itemServiceIMPL;
+    private final ExportService exportService;
+    private final ImportService importService;
+    private final StockStream stockStream;
 
     @PostMapping
     public ResponseEntity <APIResponse<String>> saveItem(@RequestBody ItemDTO itemDTO) {
@@ -37,12 +53,57 @@ public class ItemController {
         return new ResponseEntity<>(new APIResponse<>(200, "Item deleted successfully", null), HttpStatus.OK);
     }
 
+    // Catalog eka wenas wela nathnam (If-None-Match == ETag) 304, body ekak na
     @GetMapping
-    public ResponseEntity <APIResponse<Iterable<ItemDTO>>> getAllItems() {
+    public ResponseEntity <APIResponse<Iterable<ItemDTO>>> getAllItems(WebRequest request) {
+        String etag = itemServiceIMPL.getCatalogETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         Iterable<ItemDTO> itemDTOs = itemServiceIMPL.getAllItems();
-        return new ResponseEntity<>(new APIResponse<>(200, "Items retrieved successfully", itemDTOs), HttpStatus.OK);
+        return ResponseEntity.ok().eTag(etag).body(new APIResponse<>(200, "Items retrieved successfully", itemDTOs));
+    }
+
+    // Tills poll karanne meka: since eken passe wenas una items saha delete una ids witharai
+    @GetMapping("/changes")
+    public ResponseEntity <APIResponse<CatalogDeltaDTO>> getItemChanges(@RequestParam(defaultValue = "0") long since) {
+        CatalogDeltaDTO delta = itemServiceIMPL.getChangesSince(since);
+        return new ResponseEntity<>(new APIResponse<>(200, "Item changes retrieved successfully", delta), HttpStatus.OK);
+    }
+
+    // Stock levels push karanawa (SSE); connect una gaman "sync" event eka, eeta passe "stock" events
+    @GetMapping(value = "/stock-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamStock() {
+        SseEmitter emitter = stockStream.subscribe();
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+        }
+        return ResponseEntity.ok(emitter);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity <APIResponse<CursorPageDTO<ItemDTO>>> getItemPage(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String description) {
+        CursorPageDTO<ItemDTO> page = itemServiceIMPL.getItemPage(after, size, description);
+        return new ResponseEntity<>(new APIResponse<>(200, "Items retrieved successfully", page), HttpStatus.OK);
+    }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportItems(@RequestParam(defaultValue = "jsonl") String format) {
+        ExportService.Format exportFormat = ExportService.Format.from(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=items." + exportFormat.getExtension())
+                .body(out -> exportService.exportItems(exportFormat, out));
+    }
 
+    // Catalog CSV eka (export eke format ekama) body eken stream karala chunks walin upsert karanawa
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<APIResponse<ImportResultDTO>> importItems(HttpServletRequest request) throws IOException {
+        ImportResultDTO result = importService.importItems(request.getInputStream());
+        return new ResponseEntity<>(new APIResponse<>(200,
+                result.getApplied() + " items imported, " + result.getFailed() + " failed", result), HttpStatus.OK);
+    }
 }
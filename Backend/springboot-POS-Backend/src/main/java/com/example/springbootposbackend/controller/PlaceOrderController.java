@@ -1,11 +1,28 @@
 package com.example.springbootposbackend.controller;
 
-
+import com.example.springbootposbackend.config.WireFormatConfig;
+import com.example.springbootposbackend.dto.BulkOrderResultDTO;
 import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderReceiptDTO;
+import com.example.springbootposbackend.service.ExportService;
+import com.example.springbootposbackend.service.IdempotencyService;
 import com.example.springbootposbackend.service.impl.OrderServiceIMPL;
+import com.example.springbootposbackend.util.APIResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/orders")
@@ -14,10 +31,57 @@ import org.springframework.web.bind.annotation.*;
 
 public class PlaceOrderController {
     private  final OrderServiceIMPL orderService;
+    private final ObjectMapper objectMapper;
+    private final ExportService exportService;
+    private final IdempotencyService idempotencyService;
 
+    // Till eka timeout ekakata passe retry karaddi ekama Idempotency-Key eka yawanawa, order eka dekaparak hadenne na
     @PostMapping
-    public ResponseEntity<String> placeOrder(@RequestBody OrderDTO orderDTO){
-        orderService.placeOrder(orderDTO);
+    public ResponseEntity<String> placeOrder(@RequestBody OrderDTO orderDTO,
+                                             @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey){
+        idempotencyService.placeOrder(idempotencyKey, orderDTO);
         return ResponseEntity.ok("Order placed successfully");
     }
+
+    // Offline tills replay karana orders: JSON array ekak, NDJSON, nathnam CBOR/Smile values pela ekak; body eka stream karala read karanawa
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, WireFormatConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<APIResponse<List<BulkOrderResultDTO>>> placeOrders(HttpServletRequest request) throws IOException {
+        ObjectMapper mapper = WireFormatConfig.mapperFor(request.getContentType(), objectMapper);
+        try (MappingIterator<OrderDTO> orders = mapper.readerFor(OrderDTO.class).readValues(request.getInputStream())) {
+            List<BulkOrderResultDTO> results = orderService.placeOrders(orders);
+            long failed = results.stream().filter(result -> !result.isSuccess()).count();
+            return new ResponseEntity<>(new APIResponse<>(200,
+                    (results.size() - failed) + " orders placed, " + failed + " failed", results), HttpStatus.OK);
+        }
+    }
+
+    @GetMapping("/{orderId}")
+    public ResponseEntity<APIResponse<OrderReceiptDTO>> getOrder(@PathVariable long orderId) {
+        OrderReceiptDTO receipt = orderService.getOrder(orderId);
+        return new ResponseEntity<>(new APIResponse<>(200, "Order retrieved successfully", receipt), HttpStatus.OK);
+    }
+
+    @GetMapping("/customer/{customerId}")
+    public ResponseEntity<APIResponse<List<OrderReceiptDTO>>> getOrdersByCustomer(@PathVariable long customerId) {
+        List<OrderReceiptDTO> receipts = orderService.getOrdersByCustomer(customerId);
+        return new ResponseEntity<>(new APIResponse<>(200, "Orders retrieved successfully", receipts), HttpStatus.OK);
+    }
+
+    @GetMapping(params = {"from", "to"})
+    public ResponseEntity<APIResponse<List<OrderReceiptDTO>>> getOrdersByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<OrderReceiptDTO> receipts = orderService.getOrdersByDateRange(from, to);
+        return new ResponseEntity<>(new APIResponse<>(200, "Orders retrieved successfully", receipts), HttpStatus.OK);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(defaultValue = "jsonl") String format) {
+        ExportService.Format exportFormat = ExportService.Format.from(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=orders." + exportFormat.getExtension())
+                .body(out -> exportService.exportOrders(exportFormat, out));
+    }
 }
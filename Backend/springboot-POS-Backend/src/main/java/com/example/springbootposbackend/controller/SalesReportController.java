@@ -0,0 +1,47 @@
+package com.example.springbootposbackend.controller;
+
+import com.example.springbootposbackend.dto.DailyCustomerSalesDTO;
+import com.example.springbootposbackend.dto.DailyItemSalesDTO;
+import com.example.springbootposbackend.service.SalesRollupService;
+import com.example.springbootposbackend.util.APIResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/reports/sales")
+@RequiredArgsConstructor
+@CrossOrigin
+
+public class SalesReportController {
+    private final SalesRollupService salesRollupService;
+
+    // date nathnam ada dawasa
+    @GetMapping("/items")
+    public ResponseEntity<APIResponse<List<DailyItemSalesDTO>>> getItemSales(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        List<DailyItemSalesDTO> sales = salesRollupService.getItemSales(date != null ? date : LocalDate.now());
+        return new ResponseEntity<>(new APIResponse<>(200, "Item sales retrieved successfully", sales), HttpStatus.OK);
+    }
+
+    @GetMapping("/customers")
+    public ResponseEntity<APIResponse<List<DailyCustomerSalesDTO>>> getCustomerSales(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        List<DailyCustomerSalesDTO> sales = salesRollupService.getCustomerSales(date != null ? date : LocalDate.now());
+        return new ResponseEntity<>(new APIResponse<>(200, "Customer sales retrieved successfully", sales), HttpStatus.OK);
+    }
+
+    // from/to nathnam palaweni order eke sita anthima order eka dakwa okkoma dawas
+    @PostMapping("/rebuild")
+    public ResponseEntity<APIResponse<Integer>> rebuildRollups(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        int days = salesRollupService.rebuildRollups(from, to);
+        return new ResponseEntity<>(new APIResponse<>(200, days + " days rebuilt", days), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.springbootposbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class BulkOrderResultDTO {
+    private int index; // Request eke order eke position eka
+    private Long orderId;
+    private boolean success;
+    private String error;
+    private String errorCode; // INSUFFICIENT_STOCK, ITEM_NOT_FOUND, ... (OrderRejectedException.getCode)
+}
@@ -0,0 +1,22 @@
+package com.example.springbootposbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CatalogDeltaDTO {
+    // Next sync eke "since" widihata yawanna ona number eka
+    private long sequence;
+
+    // true nam till eke catalog eka items walin replace karanna ona (since eka server eke nathi number ekak)
+    private boolean reset;
+
+    private List<ItemDTO> items;
+
+    private List<Long> deletedIds;
+}
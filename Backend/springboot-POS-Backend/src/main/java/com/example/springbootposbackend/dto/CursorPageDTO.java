@@ -0,0 +1,17 @@
+package com.example.springbootposbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CursorPageDTO<T> {
+    private List<T> content;
+
+    // Next page eka ganna "after" widihata yawanna ona id eka, thawa rows nathnam null
+    private Long nextCursor;
+}
@@ -0,0 +1,18 @@
+package com.example.springbootposbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class DailyCustomerSalesDTO {
+    private LocalDate date;
+    private Long customerId;
+    private long qty;
+    private double revenue;
+    private long orderCount;
+}
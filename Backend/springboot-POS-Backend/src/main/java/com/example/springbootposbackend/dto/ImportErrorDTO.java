@@ -0,0 +1,13 @@
+package com.example.springbootposbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ImportErrorDTO {
+    private long line; // CSV file eke line eka (header eka line 1)
+    private String error;
+}
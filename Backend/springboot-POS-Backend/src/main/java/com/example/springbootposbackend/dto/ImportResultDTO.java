@@ -0,0 +1,18 @@
+package com.example.springbootposbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ImportResultDTO {
+    private long rows; // Header eka nathuwa data rows
+    private long applied;
+    private long failed;
+    private List<ImportErrorDTO> errors; // pos.import.max-errors gana witharai, failed eka hama welema hari gana
+    private boolean errorsTruncated;
+}
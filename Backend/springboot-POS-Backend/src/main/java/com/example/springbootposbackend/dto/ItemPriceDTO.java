@@ -0,0 +1,16 @@
+package com.example.springbootposbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Item eke price eka saha eka promotion tier ekak (tier nathnam minQty, percentOffBp null)
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ItemPriceDTO {
+    private Long itemId;
+    private double unitPrice;
+    private Integer minQty;
+    private Integer percentOffBp;
+}
@@ -1,6 +1,8 @@
 package com.example.springbootposbackend.dto;
 
-import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,14 +13,16 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
-
+// Constraints API docs walata; checkout eke enforce karanne OrderValidator eken (bulk saha group commit paths walath)
 public class OrderDTO {
     private Long orderId;
 
-    @Pattern(regexp = "^\\d{4}-\\d{2}-\\d{2}$" , message = "Date must be in the format YYYY-MM-DD") /*YYYY-MM-DD*/
+    @NotNull(message = "Order date is required") /*YYYY-MM-DD, Jackson eken parse wenawa*/
     private LocalDate date;
 
+    @NotBlank(message = "Customer id is required")
     private String customerId;
 
+    @NotEmpty(message = "Order has no items")
     private List<OrderDetailDTO> orderDetails;
 }
@@ -1,6 +1,8 @@
 package com.example.springbootposbackend.dto;
 
-import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,11 +11,12 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Data
 public class OrderDetailDTO {
+    @NotNull(message = "Item id is required")
     private Long itemId;
 
-    @Pattern(regexp = "\\d+" , message = "Quantity must be a valid integer")
+    @Positive(message = "Quantity must be positive")
     private int qty;
 
-    @Pattern(regexp = "^[-+]?[0-9]*\\.?[0-9]+$ " , message = "Quantity must be a positive number")
+    @PositiveOrZero(message = "Unit price must be zero or more")
     private double unitPrice;
 }
@@ -0,0 +1,20 @@
+package com.example.springbootposbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Order detail line ekak, order eke date/customer ekka (export saha reporting walata flat row ekak)
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class OrderLineDTO {
+    private Long orderId;
+    private LocalDate date;
+    private Long customerId;
+    private Long itemId;
+    private int qty;
+    private double unitPrice;
+}
@@ -0,0 +1,19 @@
+package com.example.springbootposbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class OrderReceiptDTO {
+    private Long orderId;
+    private LocalDate date;
+    private Long customerId;
+    private List<ReceiptLineDTO> lines;
+    private double total;
+}
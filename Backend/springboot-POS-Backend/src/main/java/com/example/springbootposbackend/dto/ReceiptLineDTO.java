@@ -0,0 +1,15 @@
+package com.example.springbootposbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ReceiptLineDTO {
+    private Long itemId;
+    private int qty;
+    private double unitPrice;
+    private double lineTotal;
+}
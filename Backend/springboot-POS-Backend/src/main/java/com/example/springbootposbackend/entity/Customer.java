@@ -5,11 +5,16 @@ import jakarta.persistence.*;
 import java.util.List;
 
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.Hibernate;
 
 @Entity
-@Data
+@Getter
+@Setter
+@ToString(exclude = "orders") // Associations print karanna giyoth lazy load wenawa
 @NoArgsConstructor
 @AllArgsConstructor
 public class Customer {
@@ -21,4 +26,21 @@ public class Customer {
 
     @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL)
     private List<Order> orders; // Variable name eka plural (bahuwachana) kirima hodayi
-}
\ No newline at end of file
+
+    // Id eka witharak compare karanawa, collections walk karanne na (Hibernate proxy ekak unath hari)
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) {
+            return false;
+        }
+        return id != null && id.equals(((Customer) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Hibernate.getClass(this).hashCode();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.springbootposbackend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// Dawasakata customer kenek ganna items gana, revenue eka saha orders gana. Rows liyanne DailySalesRollupRepo eken witharai
+@Entity
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(DailyCustomerSales.Key.class)
+@Table(name = "daily_customer_sales")
+public class DailyCustomerSales {
+    @Id
+    private LocalDate salesDate;
+
+    @Id
+    private Long customerId;
+
+    private long qty;
+    private double revenue;
+    private long orderCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate salesDate;
+        private Long customerId;
+    }
+}
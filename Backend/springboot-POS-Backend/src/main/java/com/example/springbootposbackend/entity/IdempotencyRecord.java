@@ -0,0 +1,29 @@
+package com.example.springbootposbackend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+// Till eka yawapu Idempotency-Key eka saha eken hadapu order eka. Order ekath ekkama ekama transaction eke liyanne
+@Entity
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "idempotency_key",
+        indexes = @Index(name = "idx_idempotency_key_created", columnList = "created_at")) // ttl purge eka
+public class IdempotencyRecord {
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    private Long orderId;
+
+    private Instant createdAt;
+}
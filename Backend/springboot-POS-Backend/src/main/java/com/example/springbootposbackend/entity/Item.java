@@ -5,13 +5,19 @@ import jakarta.persistence.*;
 import java.util.List;
 
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.Hibernate;
 
 @Entity
-@Data
+@Getter
+@Setter
+@ToString(exclude = "orderDetails")
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = @Index(name = "idx_item_change_seq", columnList = "change_seq")) // tills delta sync eka range scan ekakin
 public class Item {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -20,6 +26,27 @@ public class Item {
     private double unitPrice;
     private int qtyOnHand;
 
+    @Version
+    private long version; // Optimistic stock mode eke concurrent update allaganna
+
+    private long changeSeq; // Catalog eka wenas karana hama write ekakma CatalogChangeSequence eken aluth number ekak
+
     @OneToMany(mappedBy = "item", cascade = CascadeType.ALL)
     private List<OrderDetail> orderDetails;
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) {
+            return false;
+        }
+        return id != null && id.equals(((Item) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Hibernate.getClass(this).hashCode();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.springbootposbackend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+// Delete karapu item eka: delta sync karana tills walata eka ain karanna kiyanna (item row eka nathi nisa)
+@Entity
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "item_tombstone", indexes = @Index(name = "idx_item_tombstone_change_seq", columnList = "change_seq"))
+public class ItemTombstone {
+    @Id
+    private Long itemId;
+
+    private long changeSeq;
+}
@@ -6,27 +6,53 @@ import java.time.LocalDate;
 import java.util.List;
 
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.Hibernate;
 
 @Entity
-@Data
+@Getter
+@Setter
+@ToString(exclude = {"customer", "orderDetails"})
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "orders") // 'Order' kiyanne SQL keyword ekak, e nisa table name eka change kirima nethnam errors enna puluwan
+@Table(name = "orders", // 'Order' kiyanne SQL keyword ekak, e nisa table name eka change kirima nethnam errors enna puluwan
+        indexes = {
+                @Index(name = "idx_orders_customer_date", columnList = "customer_id, date"), // customer order history
+                @Index(name = "idx_orders_date", columnList = "date") // date range reports
+        })
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // IDENTITY nisa Hibernate ta insert batch karanna bari, e nisa pooled sequence ekak
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+    @SequenceGenerator(name = "order_seq", sequenceName = "orders_seq", allocationSize = 100)
     private Long id;
 
     private LocalDate date;
 
-    @ManyToOne
+    // LAZY: order ekak load karaddi customer eka ona nam witharak fetch join karanawa
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id") // Foreign key eka hariyata map karanna
     private Customer customer;
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
     private List<OrderDetail> orderDetails;
 
-
-}
\ No newline at end of file
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) {
+            return false;
+        }
+        return id != null && id.equals(((Order) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Hibernate.getClass(this).hashCode();
+    }
+}
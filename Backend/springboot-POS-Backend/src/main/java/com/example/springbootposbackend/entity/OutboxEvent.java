@@ -0,0 +1,51 @@
+package com.example.springbootposbackend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+// Checkout transaction ekema liyana post-checkout event ekak; handlers okkoma iwara unama dispatcher eka delete karanawa
+@Entity
+@Getter
+@Setter
+@ToString(exclude = "payload")
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "outbox_event",
+        indexes = {
+                @Index(name = "idx_outbox_event_partition", columnList = "partition_key, id"), // key eke backoff check eka
+                @Index(name = "idx_outbox_event_aggregate", columnList = "aggregate_id") // rollup rebuild eke pending orders
+        })
+public class OutboxEvent {
+    public static final String ORDER_PLACED = "order.placed";
+
+    @Id
+    // Order eka wage pooled sequence ekak: checkout eke insert eka order insert ekka batch wenawa.
+    // Instance ekakata 100 block ekak, e nisa key ekaka events ekama instance eken liyuwoth witharai id order = liyapu order
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+    @SequenceGenerator(name = "outbox_seq", sequenceName = "outbox_event_seq", allocationSize = 100)
+    private Long id;
+
+    private String eventType;
+
+    private String partitionKey; // ekama key eke events id order eken, ekin eka (customer:<id>)
+
+    private Long aggregateId; // event eka gana entity eka (order.placed nam order id)
+
+    @Lob
+    private String payload; // JSON
+
+    private Instant createdAt;
+
+    private int attempts;
+
+    private Instant nextAttemptAt; // fail una event ekak aye try karanna kalin (null = dan)
+
+    @Column(length = 1000)
+    private String lastError;
+}
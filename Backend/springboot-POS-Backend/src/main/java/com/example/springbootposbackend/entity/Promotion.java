@@ -0,0 +1,29 @@
+package com.example.springbootposbackend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+// Quantity tier ekak: basket eke item eke mulu qty eka minQty hari eeta wadi nam unit price eken percentOffBp adu wenawa
+@Entity
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = @Index(name = "idx_promotion_item", columnList = "item_id"))
+public class Promotion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "item_id")
+    private long itemId; // Item eka load karanna ona na, price table eka id eken witharai
+
+    private int minQty;
+
+    private int percentOffBp; // basis points: 1000 = 10%
+}
@@ -0,0 +1,25 @@
+package com.example.springbootposbackend.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+// Primary eke ReplicaRoutingDataSource eka liyana ekama row eka; replica eke thiyena value eken replica eke lag eka
+@Entity
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "replica_heartbeat")
+public class ReplicaHeartbeat {
+    @Id
+    private int id;
+
+    private long beatAtMs;
+}
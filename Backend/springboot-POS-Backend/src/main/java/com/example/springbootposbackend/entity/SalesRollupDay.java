@@ -0,0 +1,23 @@
+package com.example.springbootposbackend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+// Dawasakata ekama row ekak: eka dawasata orders / rollups add karana transactions shared lock eka, rebuild eka exclusive
+@Entity
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "sales_rollup_day")
+public class SalesRollupDay {
+    @Id
+    private LocalDate salesDate;
+}
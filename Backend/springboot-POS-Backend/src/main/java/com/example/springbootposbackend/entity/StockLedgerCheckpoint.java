@@ -0,0 +1,27 @@
+package com.example.springbootposbackend.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+// Stock ledger eke item table ekata apply karapu anthima WAL seq eka; stock deltas ekka ekama transaction eke update wenawa
+@Entity
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "stock_ledger_checkpoint")
+public class StockLedgerCheckpoint {
+    public static final int ID = 1; // ekama row eka
+
+    @Id
+    private Integer id;
+
+    private long walSeq;
+}
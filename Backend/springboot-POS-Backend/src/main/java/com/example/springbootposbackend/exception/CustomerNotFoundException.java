@@ -0,0 +1,15 @@
+package com.example.springbootposbackend.exception;
+
+public class CustomerNotFoundException extends OrderRejectedException {
+
+    public static final String CODE = "CUSTOMER_NOT_FOUND";
+
+    public CustomerNotFoundException(String message) {
+        super(message);
+    }
+
+    @Override
+    public String getCode() {
+        return CODE;
+    }
+}
@@ -41,6 +41,40 @@ public class GlobalExceptionHandler {
         ),HttpStatus.NOT_FOUND);
     }
 
+    // Till eka yawapu basket eke waradi: 500 nemei, till ekata penwanna puluwan 4xx ekak
+    @ExceptionHandler(OrderRejectedException.class)
+    public ResponseEntity<APIResponse<String>> handleOrderRejectedException(OrderRejectedException ex) {
+        HttpStatus status = switch (ex.getCode()) {
+            case InsufficientStockException.CODE -> HttpStatus.CONFLICT;
+            case CustomerNotFoundException.CODE, ItemNotFoundException.CODE -> HttpStatus.UNPROCESSABLE_CONTENT;
+            default -> HttpStatus.BAD_REQUEST;
+        };
+        return new ResponseEntity<>(new APIResponse<>(
+                status.value(),
+                ex.getCode(),
+                ex.getMessage()
+        ), status);
+    }
+
+    @ExceptionHandler(OrderNotFoundException.class)
+    public ResponseEntity<APIResponse<String>> handleOrderNotFoundException(OrderNotFoundException ex) {
+        return new ResponseEntity<>(new APIResponse<>(
+                HttpStatus.NOT_FOUND.value(),
+                OrderNotFoundException.CODE,
+                ex.getMessage()
+        ), HttpStatus.NOT_FOUND);
+    }
+
+    // Optimistic retries okkoma iwara una: till eka tikakata passe aye try karanna puluwan
+    @ExceptionHandler(StockConflictException.class)
+    public ResponseEntity<APIResponse<String>> handleStockConflictException(StockConflictException ex) {
+        return new ResponseEntity<>(new APIResponse<>(
+                HttpStatus.CONFLICT.value(),
+                "Stock Conflict",
+                ex.getMessage()
+        ), HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<APIResponse<Object>> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex) {
         Map<String , String> errors = new HashMap<>();
@@ -0,0 +1,15 @@
+package com.example.springbootposbackend.exception;
+
+public class InsufficientStockException extends OrderRejectedException {
+
+    public static final String CODE = "INSUFFICIENT_STOCK";
+
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+
+    @Override
+    public String getCode() {
+        return CODE;
+    }
+}
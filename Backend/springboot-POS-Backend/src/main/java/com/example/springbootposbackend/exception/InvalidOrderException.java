@@ -0,0 +1,16 @@
+package com.example.springbootposbackend.exception;
+
+// Basket eke hadaya waradi (lines nathi, qty <= 0, date nathi, ...)
+public class InvalidOrderException extends OrderRejectedException {
+
+    public static final String CODE = "INVALID_ORDER";
+
+    public InvalidOrderException(String message) {
+        super(message);
+    }
+
+    @Override
+    public String getCode() {
+        return CODE;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.springbootposbackend.exception;
+
+public class ItemNotFoundException extends OrderRejectedException {
+
+    public static final String CODE = "ITEM_NOT_FOUND";
+
+    public ItemNotFoundException(String message) {
+        super(message);
+    }
+
+    @Override
+    public String getCode() {
+        return CODE;
+    }
+}
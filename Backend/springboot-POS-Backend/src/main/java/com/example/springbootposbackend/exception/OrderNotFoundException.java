@@ -0,0 +1,11 @@
+package com.example.springbootposbackend.exception;
+
+// Receipt eka illapu order eka na: checkout rejection ekak nemei, e nisa OrderRejectedException eke kotasak nemei
+public class OrderNotFoundException extends RuntimeException {
+
+    public static final String CODE = "ORDER_NOT_FOUND";
+
+    public OrderNotFoundException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.springbootposbackend.exception;
+
+/**
+ * A checkout refused because of what the till sent (bad basket, unknown
+ * customer or item, not enough stock). These are expected outcomes rather
+ * than bugs, so they are created without a stack trace: under a flash sale
+ * most requests for a sold-out item end here, and filling in a trace for
+ * each one costs more than the rejection itself.
+ */
+public abstract class OrderRejectedException extends RuntimeException {
+
+    protected OrderRejectedException(String message) {
+        super(message, null, false, false);
+    }
+
+    // Bulk results eke errorCode eka
+    public abstract String getCode();
+
+    // Bulk/group commit result ekaka code eken aye exception eka hadanawa
+    public static OrderRejectedException of(String code, String message) {
+        return switch (code) {
+            case CustomerNotFoundException.CODE -> new CustomerNotFoundException(message);
+            case ItemNotFoundException.CODE -> new ItemNotFoundException(message);
+            case InsufficientStockException.CODE -> new InsufficientStockException(message);
+            default -> new InvalidOrderException(message);
+        };
+    }
+}
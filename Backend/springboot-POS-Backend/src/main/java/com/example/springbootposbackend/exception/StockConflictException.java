@@ -0,0 +1,8 @@
+package com.example.springbootposbackend.exception;
+
+// Optimistic retry loop eke control flow ekak, e nisa stack trace ekak hadanne na
+public class StockConflictException extends RuntimeException {
+    public StockConflictException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.springbootposbackend.filter;
+
+import com.example.springbootposbackend.config.ConcurrencyProperties;
+import com.example.springbootposbackend.util.APIResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds how many /api requests run at once, so that a burst of tills
+ * queues here instead of inside Hikari. With virtual threads (the jdk21
+ * build) Tomcat no longer caps concurrency at all, so this is the only
+ * limit in front of the pool. Requests wait here up to
+ * pos.concurrency.queue-timeout-ms and are then rejected with 503.
+ * Streaming exports release their permit when the servlet thread hands the
+ * body over to the async executor.
+ */
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long queueTimeoutMs;
+    private final ObjectMapper objectMapper;
+    private final Counter rejected;
+
+    public ConcurrencyLimitFilter(ConcurrencyProperties properties, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.permits = new Semaphore(properties.getMaxInFlight(), true);
+        this.queueTimeoutMs = properties.getQueueTimeoutMs();
+        this.objectMapper = objectMapper;
+        this.rejected = Counter.builder("pos.http.rejected")
+                .description("Requests rejected because the concurrency limit was reached")
+                .register(registry);
+        int maxInFlight = properties.getMaxInFlight();
+        Gauge.builder("pos.http.in_flight", permits, p -> maxInFlight - p.availablePermits())
+                .description("Requests currently holding a concurrency permit")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Actuator health checks load eka athara reject wenna epa. Stock stream eka DB ekata yanne na,
+        // eekata StockStream eke max-subscribers limit eka thiyenawa (reconnect storm ekakadi tills 503 wenna epa)
+        String uri = request.getRequestURI();
+        return !uri.startsWith("/api/") || uri.equals("/api/v1/items/stock-stream");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    new APIResponse<>(503, "Server busy, please retry", null));
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.springbootposbackend.filter;
+
+import com.example.springbootposbackend.config.ReplicaProperties;
+import com.example.springbootposbackend.routing.ReplicaRouting;
+import com.example.springbootposbackend.routing.ReplicaRouter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Lets GET /api requests read from a replica, and remembers which clients
+ * have just written. A client is the pos.replica.client-header value (the
+ * till id) or, without it, the remote address. After any other request the
+ * client's reads stay on the primary until a replica has caught up with it.
+ * The write is recorded before the first byte of the response goes out, so
+ * a till that reads as soon as it has its answer is already sticky. The
+ * same floor goes back in the pos.replica.floor-header response header; a
+ * till that echoes it on its reads stays on the primary on every instance,
+ * not only the one that took the write. Streaming exports run on the async
+ * executor and so read the primary.
+ */
+@Component
+@ConditionalOnProperty(prefix = "pos.replica", name = "enabled", havingValue = "true")
+public class ReadRoutingFilter extends OncePerRequestFilter {
+
+    private final ReplicaRouter replicas;
+    private final String clientHeader;
+    private final String floorHeader;
+
+    public ReadRoutingFilter(ReplicaRouter replicas, ReplicaProperties properties) {
+        this.replicas = replicas;
+        this.clientHeader = properties.getClientHeader();
+        this.floorHeader = properties.getFloorHeader();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = request.getHeader(clientHeader);
+        if (client == null || client.isBlank()) {
+            client = request.getRemoteAddr();
+        }
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            ReplicaRouting.allowReplica(Math.max(replicas.readFloor(client), echoedFloor(request)));
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                ReplicaRouting.clear();
+            }
+            return;
+        }
+        WriteResponse writeResponse = new WriteResponse(response, client);
+        try {
+            chain.doFilter(request, writeResponse);
+        } finally {
+            // Fail una request ekakuth kotasak commit karanna puluwan (bulk chunks), e nisa hama welema;
+            // body ekak nathi responses (204) commit wenne filter eken passe
+            writeResponse.recordWrite();
+        }
+    }
+
+    // Till eka yawapu floor eka; header eka nathnam hari kiyawanna bari nam 0
+    private long echoedFloor(HttpServletRequest request) {
+        String floor = request.getHeader(floorHeader);
+        if (floor == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(floor.trim());
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    // Response eke palaweni byte eka yanna kalin write eka record karala floor header eka danawa
+    private final class WriteResponse extends HttpServletResponseWrapper {
+        private final String client;
+        private boolean recorded;
+
+        private WriteResponse(HttpServletResponse response, String client) {
+            super(response);
+            this.client = client;
+        }
+
+        private void recordWrite() {
+            if (recorded) {
+                return;
+            }
+            recorded = true;
+            long floor = replicas.recordWrite(client);
+            if (!isCommitted()) {
+                setHeader(floorHeader, String.valueOf(floor));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            recordWrite();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            recordWrite();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            recordWrite();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            recordWrite();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            recordWrite();
+            super.sendError(sc);
+        }
+    }
+}
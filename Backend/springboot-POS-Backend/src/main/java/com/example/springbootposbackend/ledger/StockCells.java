@@ -0,0 +1,166 @@
+package com.example.springbootposbackend.ledger;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Item id to stock cell, without boxing the key. The map is split into 64
+ * stripes, each an open-addressing table of long keys. A cell is an AtomicLong
+ * holding qty in the low 32 bits and a per-item version in the high 32 bits,
+ * so one compareAndSet moves both and a published StockChange can be ordered
+ * by version. Lookups and CAS updates take no lock. Inserts and removes take
+ * the stripe lock; a resize copies cell references rather than values, so a
+ * CAS racing with the copy still lands in the live cell.
+ */
+final class StockCells {
+
+    private static final int STRIPES = 64;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final class Table {
+        final long[] keys; // 0 = his slot eka (item ids 1 idan)
+        final AtomicReferenceArray<AtomicLong> cells;
+        int size; // stripe lock eka yata witharai wenas wenne
+
+        Table(int capacity) {
+            keys = new long[capacity];
+            cells = new AtomicReferenceArray<>(capacity);
+        }
+    }
+
+    private final AtomicReferenceArray<Table> tables = new AtomicReferenceArray<>(STRIPES);
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    StockCells() {
+        for (int i = 0; i < STRIPES; i++) {
+            tables.set(i, new Table(INITIAL_CAPACITY));
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    static long pack(int qty, long version) {
+        return (version << 32) | (qty & 0xFFFFFFFFL);
+    }
+
+    static int qty(long state) {
+        return (int) state;
+    }
+
+    // 32 bits witharai; item ekakata changes 4 billion walata passe wrap wenawa
+    static long version(long state) {
+        return state >>> 32;
+    }
+
+    AtomicLong get(long itemId) {
+        long hash = hash(itemId);
+        int stripe = stripe(hash);
+        AtomicLong cell = find(tables.get(stripe), itemId, hash);
+        if (cell != null) {
+            return cell;
+        }
+        // Lock nathuwa kiyawaddi dan insert wena key ekak penenna nathi wenna puluwan, e nisa lock eka yata aye balanawa
+        ReentrantLock lock = locks[stripe];
+        lock.lock();
+        try {
+            return find(tables.get(stripe), itemId, hash);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Key eka dan thiyenawa nam e cell eka (state eka ignore), nathnam aluth cell eka
+    AtomicLong putIfAbsent(long itemId, long state) {
+        long hash = hash(itemId);
+        int stripe = stripe(hash);
+        ReentrantLock lock = locks[stripe];
+        lock.lock();
+        try {
+            Table table = tables.get(stripe);
+            AtomicLong existing = find(table, itemId, hash);
+            if (existing != null) {
+                return existing;
+            }
+            if ((table.size + 1) * 2 > table.keys.length) {
+                table = copy(table, table.keys.length * 2, 0);
+                tables.set(stripe, table);
+            }
+            AtomicLong cell = new AtomicLong(state);
+            insert(table, itemId, hash, cell);
+            return cell;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void remove(long itemId) {
+        long hash = hash(itemId);
+        int stripe = stripe(hash);
+        ReentrantLock lock = locks[stripe];
+        lock.lock();
+        try {
+            Table table = tables.get(stripe);
+            if (find(table, itemId, hash) != null) {
+                // Open addressing eken key ekak ain karanna probe chain eka kadenna denna ba, e nisa key eka nathuwa copy ekak
+                tables.set(stripe, copy(table, table.keys.length, itemId));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            size += tables.get(i).size;
+        }
+        return size;
+    }
+
+    private static AtomicLong find(Table table, long key, long hash) {
+        long[] keys = table.keys;
+        int mask = keys.length - 1;
+        for (int i = (int) hash & mask; ; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == key) {
+                // Key eka liyala cell eka thama set karala nathi nam null, caller lock eka yata aye balanawa
+                return table.cells.get(i);
+            }
+            if (k == 0) {
+                return null;
+            }
+        }
+    }
+
+    // Key eka kalin, cell eka passe (volatile set): cell eka penuna nam eka sampurnayen hadala
+    private static void insert(Table table, long key, long hash, AtomicLong cell) {
+        int mask = table.keys.length - 1;
+        int i = (int) hash & mask;
+        while (table.keys[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table.keys[i] = key;
+        table.cells.set(i, cell);
+        table.size++;
+    }
+
+    private static Table copy(Table table, int capacity, long skipKey) {
+        Table copy = new Table(capacity);
+        for (int i = 0; i < table.keys.length; i++) {
+            long key = table.keys[i];
+            if (key != 0 && key != skipKey) {
+                insert(copy, key, hash(key), table.cells.get(i));
+            }
+        }
+        return copy;
+    }
+
+    private static long hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    private static int stripe(long hash) {
+        return (int) (hash >>> 58);
+    }
+}
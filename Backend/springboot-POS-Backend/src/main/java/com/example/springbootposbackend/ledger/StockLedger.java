@@ -0,0 +1,483 @@
+package com.example.springbootposbackend.ledger;
+
+import com.example.springbootposbackend.cache.CatalogChangeSequence;
+import com.example.springbootposbackend.cache.ItemCatalogCache;
+import com.example.springbootposbackend.cache.ItemCatalogCache.StockChange;
+import com.example.springbootposbackend.config.OrderProperties;
+import com.example.springbootposbackend.config.OrderProperties.StockStrategy;
+import com.example.springbootposbackend.config.StockLedgerProperties;
+import com.example.springbootposbackend.entity.StockLedgerCheckpoint;
+import com.example.springbootposbackend.exception.ItemNotFoundException;
+import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.repository.OrderRepo;
+import com.example.springbootposbackend.repository.StockLedgerCheckpointRepo;
+import com.example.springbootposbackend.stream.StockStream;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory stock for pos.order.stock-strategy=ledger. Checkout reserves
+ * with a CAS on each item's cell instead of locking item rows, so hot items
+ * no longer serialise checkouts on a database row lock.
+ * <p>
+ * Durability: a reservation is appended to the write-ahead log and fsynced
+ * inside the order transaction, before it commits, so every committed order's
+ * decrement is on disk. A flusher thread adds the decrements of resolved
+ * orders to item.qty_on_hand in batches and stores the last applied log seq in
+ * stock_ledger_checkpoint in the same transaction. On startup, log records
+ * after the checkpoint are applied for orders that exist in the orders table
+ * (a record whose transaction never committed has no order row), and the
+ * cells are then loaded from the item table.
+ * <p>
+ * While the ledger is on it is the only writer of qty_on_hand, and its state
+ * lives in one JVM: run a single checkout instance in this mode. The item
+ * table trails memory by up to pos.stock-ledger.flush-interval-ms.
+ */
+@Component
+public class StockLedger {
+
+    private static final int PENDING = 0;
+    private static final int COMMITTED = 1;
+    private static final int ABORTED = 2;
+    private static final int UNKNOWN = 3;
+
+    private static final int RESERVED = 0;
+    private static final int LOGGED = 1;
+    private static final int RELEASED = 2;
+
+    private static final int EXISTS_QUERY_SIZE = 1000;
+
+    /**
+     * Stock held for one basket. Either it is logged inside the order
+     * transaction, or {@link #release(Reservation)} gives it back.
+     */
+    public static final class Reservation {
+        private final long[] itemIds;
+        private final int[] qtys;
+        private final AtomicLong[] cells;
+        private final long[] states;
+        private final Long shortItemId;
+        private final AtomicInteger state = new AtomicInteger(RESERVED);
+
+        private Reservation(long[] itemIds, int[] qtys, AtomicLong[] cells, long[] states, Long shortItemId) {
+            this.itemIds = itemIds;
+            this.qtys = qtys;
+            this.cells = cells;
+            this.states = states;
+            this.shortItemId = shortItemId;
+        }
+
+        public boolean isReserved() {
+            return shortItemId == null;
+        }
+
+        // Stock madi una item eka (reserve wela nathi nam)
+        public Long getShortItemId() {
+            return shortItemId;
+        }
+    }
+
+    // Flush wenna thiyena WAL record ekak; queue eke seq order eken
+    private static final class Entry {
+        final long seq;
+        final long orderId;
+        final long[] itemIds;
+        final int[] deltas;
+        final Reservation reservation;
+        volatile int status;
+
+        Entry(long seq, long orderId, long[] itemIds, int[] deltas, Reservation reservation, int status) {
+            this.seq = seq;
+            this.orderId = orderId;
+            this.itemIds = itemIds;
+            this.deltas = deltas;
+            this.reservation = reservation;
+            this.status = status;
+        }
+    }
+
+    private final StockLedgerProperties properties;
+    private final boolean enabled;
+    private final ItemRepo itemRepo;
+    private final OrderRepo orderRepo;
+    private final StockLedgerCheckpointRepo checkpointRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogChangeSequence catalogChangeSequence;
+    private final ItemCatalogCache itemCatalogCache;
+    private final StockStream stockStream;
+    private final Counter flushFailures;
+
+    private final StockCells cells = new StockCells();
+    private final ConcurrentLinkedQueue<Entry> unflushed = new ConcurrentLinkedQueue<>();
+    // WAL append saha queue ekata danna eka ekama step ekak: queue eka seq order eken thiyenna ona (checkpoint eka nisa)
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private StockWal wal;
+    private ScheduledExecutorService flusher;
+
+    public StockLedger(StockLedgerProperties properties, OrderProperties orderProperties, ItemRepo itemRepo,
+                       OrderRepo orderRepo, StockLedgerCheckpointRepo checkpointRepo,
+                       TransactionTemplate transactionTemplate, CatalogChangeSequence catalogChangeSequence,
+                       ItemCatalogCache itemCatalogCache, StockStream stockStream, MeterRegistry registry) {
+        this.properties = properties;
+        this.enabled = orderProperties.getStockStrategy() == StockStrategy.LEDGER;
+        this.itemRepo = itemRepo;
+        this.orderRepo = orderRepo;
+        this.checkpointRepo = checkpointRepo;
+        this.transactionTemplate = transactionTemplate;
+        this.catalogChangeSequence = catalogChangeSequence;
+        this.itemCatalogCache = itemCatalogCache;
+        this.stockStream = stockStream;
+        this.flushFailures = Counter.builder("pos.stock.ledger.flush.failures")
+                .description("Stock ledger flushes rolled back; the records stay queued for the next flush")
+                .register(registry);
+        Gauge.builder("pos.stock.ledger.unflushed", unflushed, ConcurrentLinkedQueue::size)
+                .description("Stock ledger log records not yet applied to the item table")
+                .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Path dir = Path.of(properties.getWalDir());
+        long lastSeq = recover(dir);
+        wal = StockWal.open(dir, lastSeq, properties.getSegmentBytes());
+        itemRepo.forEachStock(stock -> cells.putIfAbsent(stock.itemId(), StockCells.pack(stock.qtyOnHand(), stock.version())));
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-ledger-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getFlushIntervalMs();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        if (flusher == null || flusher.isShutdown()) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Clean shutdown ekedi queue eka his karanawa; fail unoth WAL eken next startup eke recover wenawa
+        flushQuietly();
+        wal.close();
+    }
+
+    /**
+     * Takes qty for every item with one CAS per item, in id order. If one
+     * item is short the items already taken are given back and the returned
+     * reservation is not reserved. Items are loaded from the database the
+     * first time they are seen.
+     */
+    public Reservation reserve(SortedMap<Long, Integer> qtyByItemId) {
+        int n = qtyByItemId.size();
+        long[] itemIds = new long[n];
+        int[] qtys = new int[n];
+        AtomicLong[] reserved = new AtomicLong[n];
+        long[] states = new long[n];
+        int i = 0;
+        for (Map.Entry<Long, Integer> entry : qtyByItemId.entrySet()) {
+            itemIds[i] = entry.getKey();
+            qtys[i] = entry.getValue();
+            AtomicLong cell;
+            try {
+                cell = cell(itemIds[i]);
+            } catch (RuntimeException ex) {
+                giveBack(reserved, qtys, i);
+                throw ex;
+            }
+            while (true) {
+                long state = cell.get();
+                if (StockCells.qty(state) < qtys[i]) {
+                    giveBack(reserved, qtys, i);
+                    return new Reservation(itemIds, qtys, reserved, states, itemIds[i]);
+                }
+                long next = StockCells.pack(StockCells.qty(state) - qtys[i], StockCells.version(state) + 1);
+                if (cell.compareAndSet(state, next)) {
+                    reserved[i] = cell;
+                    states[i] = next;
+                    break;
+                }
+            }
+            i++;
+        }
+        return new Reservation(itemIds, qtys, reserved, states, null);
+    }
+
+    /**
+     * Makes the reservation durable for orderId: appends it to the log and
+     * waits for the fsync. Must be called inside the order transaction after
+     * the order rows are flushed; from here on the transaction outcome decides
+     * whether the stock stays taken.
+     */
+    public void logInTransaction(Reservation reservation, long orderId) {
+        if (!reservation.state.compareAndSet(RESERVED, LOGGED)) {
+            throw new IllegalStateException("Reservation already logged or released");
+        }
+        Entry[] logged = new Entry[1];
+        // Append eka fail unath rollback eke stock eka aye denna kalin register karanawa
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                resolve(reservation, logged[0], status);
+            }
+        });
+        int[] deltas = new int[reservation.qtys.length];
+        for (int i = 0; i < deltas.length; i++) {
+            deltas[i] = -reservation.qtys[i];
+        }
+        logged[0] = append(orderId, reservation.itemIds, deltas, reservation, PENDING);
+        wal.sync(logged[0].seq);
+    }
+
+    // Log wenna kalin order eka fail unoth stock eka aye denawa; log wela nam meka kisima deyak karanne na
+    public void release(Reservation reservation) {
+        if (reservation.isReserved() && reservation.state.compareAndSet(RESERVED, RELEASED)) {
+            giveBack(reservation.cells, reservation.qtys, reservation.cells.length);
+        }
+    }
+
+    /**
+     * Item edit or import: sets the available qty and logs the difference as
+     * an adjustment, so pending checkout decrements still apply on top of it
+     * in the item table.
+     */
+    public void setAvailable(long itemId, int qty) {
+        AtomicLong cell = cell(itemId);
+        long state;
+        long next;
+        do {
+            state = cell.get();
+            if (StockCells.qty(state) == qty) {
+                return;
+            }
+            next = StockCells.pack(qty, StockCells.version(state) + 1);
+        } while (!cell.compareAndSet(state, next));
+        Entry entry = append(0, new long[]{itemId}, new int[]{qty - StockCells.qty(state)}, null, COMMITTED);
+        wal.sync(entry.seq);
+        publish(List.of(new StockChange(itemId, qty, StockCells.version(next))));
+    }
+
+    // Item eka delete una passe; flush wenna thiyena deltas update karanne rows 0 yi
+    public void forget(long itemId) {
+        cells.remove(itemId);
+    }
+
+    public int available(long itemId) {
+        return StockCells.qty(cell(itemId).get());
+    }
+
+    /**
+     * Applies resolved log records to the item table, oldest first, stopping
+     * at the first order whose transaction is still open. The checkpoint is
+     * written in the same transaction, so a record is applied exactly once.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            while (flushBatch()) {
+                // Queue eke resolve wela thiyena tika iwara wenakan
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    long recover(Path dir) throws IOException {
+        long checkpoint = checkpointRepo.findWalSeq();
+        List<StockWal.Record> records = new ArrayList<>();
+        long last = StockWal.replay(dir, checkpoint, records::add);
+        if (records.isEmpty()) {
+            return checkpoint;
+        }
+
+        Set<Long> orderIds = new HashSet<>();
+        for (StockWal.Record record : records) {
+            if (record.orderId() != 0) {
+                orderIds.add(record.orderId());
+            }
+        }
+        Set<Long> committed = new HashSet<>();
+        List<Long> ids = new ArrayList<>(orderIds);
+        for (int from = 0; from < ids.size(); from += EXISTS_QUERY_SIZE) {
+            committed.addAll(orderRepo.findExistingIds(ids.subList(from, Math.min(ids.size(), from + EXISTS_QUERY_SIZE))));
+        }
+
+        SortedMap<Long, Integer> deltas = new TreeMap<>();
+        for (StockWal.Record record : records) {
+            if (record.orderId() == 0 || committed.contains(record.orderId())) {
+                for (int i = 0; i < record.itemIds().length; i++) {
+                    deltas.merge(record.itemIds()[i], record.deltas()[i], Integer::sum);
+                }
+            }
+        }
+        applyAndCheckpoint(deltas, last);
+        return last;
+    }
+
+    // Test walata: process eka crash una wage, item table ekata flush nokara WAL eka witharak close karanawa
+    void halt() throws IOException {
+        flusher.shutdownNow();
+        wal.close();
+    }
+
+    int walSegments() {
+        return wal.segmentCount();
+    }
+
+    private AtomicLong cell(long itemId) {
+        AtomicLong cell = cells.get(itemId);
+        if (cell != null) {
+            return cell;
+        }
+        // Me item eka ledger eka dakina palaweni para: ledger eka haraha wenasak wela na, e nisa DB value eka hariyatama hari
+        StockChange stock = itemRepo.findStock(itemId)
+                .orElseThrow(() -> new ItemNotFoundException("Item not found: " + itemId));
+        return cells.putIfAbsent(itemId, StockCells.pack(stock.qtyOnHand(), stock.version()));
+    }
+
+    private static void giveBack(AtomicLong[] cells, int[] qtys, int count) {
+        for (int i = 0; i < count; i++) {
+            AtomicLong cell = cells[i];
+            long state;
+            long next;
+            do {
+                state = cell.get();
+                next = StockCells.pack(StockCells.qty(state) + qtys[i], StockCells.version(state) + 1);
+            } while (!cell.compareAndSet(state, next));
+        }
+    }
+
+    private Entry append(long orderId, long[] itemIds, int[] deltas, Reservation reservation, int status) {
+        appendLock.lock();
+        try {
+            long seq = wal.append(orderId, itemIds, deltas);
+            Entry entry = new Entry(seq, orderId, itemIds, deltas, reservation, status);
+            unflushed.add(entry);
+            return entry;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void resolve(Reservation reservation, Entry entry, int status) {
+        if (entry == null || status == TransactionSynchronization.STATUS_ROLLED_BACK) {
+            // Entry null nam WAL append eka fail una, stock eka log wela na
+            if (entry != null) {
+                entry.status = ABORTED;
+            }
+            reservation.state.set(RELEASED);
+            giveBack(reservation.cells, reservation.qtys, reservation.cells.length);
+        } else if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            entry.status = COMMITTED;
+            List<StockChange> changes = new ArrayList<>(reservation.itemIds.length);
+            for (int i = 0; i < reservation.itemIds.length; i++) {
+                changes.add(new StockChange(reservation.itemIds[i], StockCells.qty(reservation.states[i]),
+                        StockCells.version(reservation.states[i])));
+            }
+            publish(changes);
+        } else {
+            // Commit eka DB ekata giyada danne na: stock eka thiyagena flusher eka orders table eken balanawa
+            entry.status = UNKNOWN;
+        }
+    }
+
+    private void publish(List<StockChange> changes) {
+        itemCatalogCache.applyStockChanges(changes);
+        stockStream.publish(changes);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            // DB eka nathi welawata: records queue eke thiyenawa, next tick eke aye try karanawa
+            flushFailures.increment();
+        }
+    }
+
+    private boolean flushBatch() {
+        List<Entry> batch = new ArrayList<>();
+        for (Entry entry : unflushed) {
+            if (entry.status == PENDING || batch.size() == properties.getFlushMaxRecords()) {
+                break;
+            }
+            if (entry.status == UNKNOWN) {
+                boolean exists = orderRepo.existsById(entry.orderId);
+                if (!exists) {
+                    entry.reservation.state.set(RELEASED);
+                    giveBack(entry.reservation.cells, entry.reservation.qtys, entry.reservation.cells.length);
+                }
+                entry.status = exists ? COMMITTED : ABORTED;
+            }
+            batch.add(entry);
+        }
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        SortedMap<Long, Integer> deltas = new TreeMap<>();
+        for (Entry entry : batch) {
+            if (entry.status == COMMITTED) {
+                for (int i = 0; i < entry.itemIds.length; i++) {
+                    deltas.merge(entry.itemIds[i], entry.deltas[i], Integer::sum);
+                }
+            }
+        }
+        long lastSeq = batch.get(batch.size() - 1).seq;
+        applyAndCheckpoint(deltas, lastSeq);
+        // Commit unata passe witharak queue eken ain karanawa; fail unoth ee tika ayeth flush wenawa
+        for (int i = 0; i < batch.size(); i++) {
+            unflushed.poll();
+        }
+        wal.truncateThrough(lastSeq);
+        return true;
+    }
+
+    private void applyAndCheckpoint(SortedMap<Long, Integer> deltas, long walSeq) {
+        transactionTemplate.executeWithoutResult(status -> {
+            deltas.values().removeIf(delta -> delta == 0);
+            if (!deltas.isEmpty()) {
+                itemRepo.applyStockDeltas(deltas, catalogChangeSequence.next());
+            }
+            checkpointRepo.save(new StockLedgerCheckpoint(StockLedgerCheckpoint.ID, walSeq));
+        });
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.springbootposbackend.ledger;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of stock deltas, split into segment files named after the
+ * first sequence number they hold. A record is [length][crc32c] followed by
+ * seq, orderId (0 for a stock adjustment), a count and that many
+ * (itemId, delta) pairs. {@link #sync(long)} makes every record up to seq
+ * durable; threads that arrive while an fsync is running share the next one,
+ * so a burst of checkouts pays for a few disk flushes rather than one each.
+ * A record torn by a crash fails its length or CRC check and ends the replay.
+ * After any write or fsync error the log refuses further appends, because a
+ * record written after a torn one would never be replayed.
+ */
+final class StockWal implements Closeable {
+
+    private static final String SUFFIX = ".wal";
+    private static final int HEADER_BYTES = 8;
+    private static final int FIXED_PAYLOAD_BYTES = 8 + 8 + 4;
+    private static final int ENTRY_BYTES = 8 + 4;
+    private static final int MAX_ENTRIES = 100_000;
+
+    record Record(long seq, long orderId, long[] itemIds, int[] deltas) {
+    }
+
+    private static final Record TORN = new Record(-1, 0, new long[0], new int[0]);
+
+    private final Path dir;
+    private final long segmentBytes;
+    // append, rotate saha truncate okkoma lock eka yata; fsync eka syncLock eka yata witharai
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+
+    private volatile FileChannel channel;
+    private long segmentSize;
+    private long lastSeq;
+    private volatile long writtenSeq;
+    private volatile long syncedSeq;
+    private volatile boolean failed;
+
+    private StockWal(Path dir, long segmentBytes, long lastSeq) {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.lastSeq = lastSeq;
+        this.writtenSeq = lastSeq;
+        this.syncedSeq = lastSeq;
+    }
+
+    /**
+     * Starts an empty log whose first record is lastSeq + 1. Segments left in
+     * the folder are deleted, so they must already be replayed and applied.
+     */
+    static StockWal open(Path dir, long lastSeq, long segmentBytes) throws IOException {
+        Files.createDirectories(dir);
+        for (Path segment : list(dir).values()) {
+            Files.delete(segment);
+        }
+        StockWal wal = new StockWal(dir, segmentBytes, lastSeq);
+        wal.startSegment(lastSeq + 1);
+        return wal;
+    }
+
+    /**
+     * Feeds every intact record with seq greater than afterSeq to the action,
+     * oldest first, and returns the highest seq read (afterSeq if none).
+     */
+    static long replay(Path dir, long afterSeq, Consumer<Record> action) throws IOException {
+        long last = afterSeq;
+        if (!Files.isDirectory(dir)) {
+            return last;
+        }
+        for (Path segment : list(dir).values()) {
+            try (InputStream file = Files.newInputStream(segment);
+                 DataInputStream in = new DataInputStream(new BufferedInputStream(file, 64 * 1024))) {
+                Record record;
+                while ((record = read(in)) != null) {
+                    if (record == TORN) {
+                        // Crash eken kadunu record ekak: rotate eka parana segment eka fsync karana nisa meka anthima ekai
+                        return last;
+                    }
+                    if (record.seq() > afterSeq) {
+                        action.accept(record);
+                        last = record.seq();
+                    }
+                }
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Writes one record and returns its seq. Not durable until
+     * {@link #sync(long)} returns for that seq.
+     */
+    long append(long orderId, long[] itemIds, int[] deltas) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + FIXED_PAYLOAD_BYTES + itemIds.length * ENTRY_BYTES);
+        lock.lock();
+        try {
+            checkUsable();
+            long seq = lastSeq + 1;
+            buffer.position(HEADER_BYTES);
+            buffer.putLong(seq).putLong(orderId).putInt(itemIds.length);
+            for (int i = 0; i < itemIds.length; i++) {
+                buffer.putLong(itemIds[i]).putInt(deltas[i]);
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.array(), HEADER_BYTES, buffer.position() - HEADER_BYTES);
+            buffer.putInt(0, buffer.position() - HEADER_BYTES).putInt(4, (int) crc.getValue());
+            buffer.flip();
+            try {
+                if (segmentSize >= segmentBytes) {
+                    rotate(seq);
+                }
+                while (buffer.hasRemaining()) {
+                    segmentSize += channel.write(buffer);
+                }
+            } catch (IOException ex) {
+                failed = true;
+                throw new UncheckedIOException("Stock WAL write failed", ex);
+            }
+            lastSeq = seq;
+            writtenSeq = seq;
+            return seq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void sync(long seq) {
+        if (syncedSeq >= seq) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            // Lock eka ena kota kalin kenek dan fsync karala nam ayeth karanna ona na
+            if (syncedSeq >= seq) {
+                return;
+            }
+            checkUsable();
+            long upTo = writtenSeq;
+            channel.force(false);
+            syncedSeq = upTo;
+        } catch (IOException ex) {
+            failed = true;
+            throw new UncheckedIOException("Stock WAL fsync failed", ex);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    // Checkpoint ekata kalin records witharak thiyena segments delete karanawa (anthima segment eka nemei)
+    void truncateThrough(long checkpointSeq) {
+        lock.lock();
+        try {
+            Long[] firstSeqs = segments.keySet().toArray(new Long[0]);
+            for (int i = 0; i + 1 < firstSeqs.length && firstSeqs[i + 1] - 1 <= checkpointSeq; i++) {
+                Files.deleteIfExists(segments.remove(firstSeqs[i]));
+            }
+        } catch (IOException ex) {
+            // Delete karanna bari una nam next checkpoint eke aye try karanawa; replay eka checkpoint eken pahala ewa skip karanawa
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int segmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        syncLock.lock();
+        try {
+            if (!failed) {
+                channel.force(false);
+            }
+            channel.close();
+        } finally {
+            syncLock.unlock();
+            lock.unlock();
+        }
+    }
+
+    private void checkUsable() {
+        if (failed) {
+            throw new IllegalStateException("Stock WAL is unusable after an I/O error, restart to recover");
+        }
+    }
+
+    // lock eka yata: parana segment eka fsync karala close karanawa, sync() eka ee athara channel eka use karanne na
+    private void rotate(long firstSeq) throws IOException {
+        syncLock.lock();
+        try {
+            channel.force(false);
+            syncedSeq = writtenSeq;
+            channel.close();
+            startSegment(firstSeq);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void startSegment(long firstSeq) throws IOException {
+        Path path = dir.resolve(String.format("%020d%s", firstSeq, SUFFIX));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segments.put(firstSeq, path);
+        segmentSize = 0;
+        // Aluth file eka folder eke entry ekak widihata durable wenna folder eka fsync karanawa (Linux)
+        try (FileChannel directory = FileChannel.open(dir, StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException ignored) {
+            // Samahara OS wala folder ekak open karanna ba
+        }
+    }
+
+    private static TreeMap<Long, Path> list(Path dir) throws IOException {
+        TreeMap<Long, Path> found = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    found.put(Long.parseLong(name.substring(0, name.length() - SUFFIX.length())), file);
+                } catch (NumberFormatException ignored) {
+                    // Ape segment ekak nemei
+                }
+            }
+        }
+        return found;
+    }
+
+    // Segment eka hariyata iwara nam null, kadunu/narak record ekak nam TORN
+    private static Record read(DataInputStream in) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException ex) {
+            return null;
+        }
+        try {
+            int expectedCrc = in.readInt();
+            if (length < FIXED_PAYLOAD_BYTES || length > FIXED_PAYLOAD_BYTES + MAX_ENTRIES * ENTRY_BYTES
+                    || (length - FIXED_PAYLOAD_BYTES) % ENTRY_BYTES != 0) {
+                return TORN;
+            }
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            if ((int) crc.getValue() != expectedCrc) {
+                return TORN;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(payload);
+            long seq = buffer.getLong();
+            long orderId = buffer.getLong();
+            int count = buffer.getInt();
+            if (count != (length - FIXED_PAYLOAD_BYTES) / ENTRY_BYTES) {
+                return TORN;
+            }
+            long[] itemIds = new long[count];
+            int[] deltas = new int[count];
+            for (int i = 0; i < count; i++) {
+                itemIds[i] = buffer.getLong();
+                deltas[i] = buffer.getInt();
+            }
+            return new Record(seq, orderId, itemIds, deltas);
+        } catch (EOFException ex) {
+            return TORN;
+        }
+    }
+}
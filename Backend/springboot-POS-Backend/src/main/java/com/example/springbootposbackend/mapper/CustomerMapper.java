@@ -0,0 +1,21 @@
+package com.example.springbootposbackend.mapper;
+
+import com.example.springbootposbackend.dto.CustomerDTO;
+import com.example.springbootposbackend.entity.Customer;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.List;
+
+// ModelMapper STRICT wage field ekak match nowunoth compile error ekak enawa
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface CustomerMapper {
+
+    CustomerDTO toDTO(Customer customer);
+
+    List<CustomerDTO> toDTOs(List<Customer> customers);
+
+    @Mapping(target = "orders", ignore = true)
+    Customer toEntity(CustomerDTO customerDTO);
+}
@@ -0,0 +1,22 @@
+package com.example.springbootposbackend.mapper;
+
+import com.example.springbootposbackend.dto.ItemDTO;
+import com.example.springbootposbackend.entity.Item;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface ItemMapper {
+
+    ItemDTO toDTO(Item item);
+
+    List<ItemDTO> toDTOs(List<Item> items);
+
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "changeSeq", ignore = true)
+    @Mapping(target = "orderDetails", ignore = true)
+    Item toEntity(ItemDTO itemDTO);
+}
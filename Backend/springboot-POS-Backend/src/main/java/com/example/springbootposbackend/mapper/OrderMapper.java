@@ -0,0 +1,25 @@
+package com.example.springbootposbackend.mapper;
+
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.entity.Order;
+import com.example.springbootposbackend.entity.OrderDetail;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.List;
+
+// Order entity eka hadanne OrderServiceIMPL eke (customer/items lookup karala), e nisa methana entity -> DTO witharai
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface OrderMapper {
+
+    @Mapping(target = "orderId", source = "id")
+    @Mapping(target = "customerId", source = "customer.id")
+    OrderDTO toDTO(Order order);
+
+    List<OrderDTO> toDTOs(List<Order> orders);
+
+    @Mapping(target = "itemId", source = "item.id")
+    OrderDetailDTO toDTO(OrderDetail orderDetail);
+}
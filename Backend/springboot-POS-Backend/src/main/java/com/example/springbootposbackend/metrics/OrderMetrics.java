@@ -0,0 +1,147 @@
+package com.example.springbootposbackend.metrics;
+
+import com.example.springbootposbackend.config.OrderProperties.StockStrategy;
+import com.example.springbootposbackend.exception.CustomerNotFoundException;
+import com.example.springbootposbackend.exception.InsufficientStockException;
+import com.example.springbootposbackend.exception.InvalidOrderException;
+import com.example.springbootposbackend.exception.ItemNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class OrderMetrics {
+
+    // Checkout eke kotas, placeOrderInTransaction eke piliwelata
+    public enum Phase {
+        CUSTOMER_LOOKUP,
+        ITEM_LOAD,
+        STOCK_CHECK,
+        DETAIL_BUILD,
+        PERSIST,
+        COMMIT
+    }
+
+    private final Map<StockStrategy, Timer> latency = new EnumMap<>(StockStrategy.class);
+    private final Map<StockStrategy, Counter> attempts = new EnumMap<>(StockStrategy.class);
+    private final Map<StockStrategy, Counter> conflicts = new EnumMap<>(StockStrategy.class);
+    private final Map<StockStrategy, Counter> retries = new EnumMap<>(StockStrategy.class);
+    private final Map<Phase, Timer> phases = new EnumMap<>(Phase.class);
+    private final DistributionSummary basketLines;
+    private final DistributionSummary sqlStatements;
+    private final Counter stockRejections;
+    private final Counter priceOverrides;
+    private final Map<String, Counter> rejections = new HashMap<>();
+
+    public OrderMetrics(MeterRegistry registry) {
+        for (StockStrategy strategy : StockStrategy.values()) {
+            String tag = strategy.name().toLowerCase();
+            latency.put(strategy, Timer.builder("pos.order.latency")
+                    .description("placeOrder latency including retries")
+                    .tag("strategy", tag)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(registry));
+            attempts.put(strategy, Counter.builder("pos.order.attempts")
+                    .description("Transactions started by placeOrder")
+                    .tag("strategy", tag)
+                    .register(registry));
+            conflicts.put(strategy, Counter.builder("pos.order.conflicts")
+                    .description("Attempts rolled back because stock changed concurrently")
+                    .tag("strategy", tag)
+                    .register(registry));
+            retries.put(strategy, Counter.builder("pos.order.retries")
+                    .description("Attempts retried after a conflict")
+                    .tag("strategy", tag)
+                    .register(registry));
+        }
+        // Phase timers walata client side percentiles naha (record eka lasui), histogram eken Prometheus eke gananaya karanawa
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, Timer.builder("pos.order.phase")
+                    .description("Time spent in one phase of a checkout")
+                    .tag("phase", phase.name().toLowerCase())
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        basketLines = DistributionSummary.builder("pos.order.basket.lines")
+                .description("Order lines per checkout")
+                .publishPercentileHistogram()
+                .register(registry);
+        sqlStatements = DistributionSummary.builder("pos.order.sql.statements")
+                .description("SQL statements prepared by one checkout, including retries")
+                .publishPercentileHistogram()
+                .register(registry);
+        stockRejections = Counter.builder("pos.order.stock.rejections")
+                .description("Checkouts rejected for insufficient stock")
+                .register(registry);
+        priceOverrides = Counter.builder("pos.order.price.overrides")
+                .description("Order lines whose till price differed from the server price")
+                .register(registry);
+        for (String code : new String[]{InvalidOrderException.CODE, CustomerNotFoundException.CODE,
+                ItemNotFoundException.CODE, InsufficientStockException.CODE}) {
+            rejections.put(code, Counter.builder("pos.order.rejections")
+                    .description("Single checkouts rejected, by reason")
+                    .tag("reason", code.toLowerCase())
+                    .register(registry));
+        }
+    }
+
+    /**
+     * Records the time since startNanos against the phase and returns the
+     * current time, so the next phase can start from it.
+     */
+    public long phase(Phase phase, long startNanos) {
+        long now = System.nanoTime();
+        phases.get(phase).record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    public void basket(int lines) {
+        basketLines.record(lines);
+    }
+
+    public void sqlStatements(int count) {
+        sqlStatements.record(count);
+    }
+
+    public void stockRejected() {
+        stockRejections.increment();
+    }
+
+    public void stockRejected(int count) {
+        stockRejections.increment(count);
+    }
+
+    public void priceOverridden(int lines) {
+        priceOverrides.increment(lines);
+    }
+
+    public void rejected(String code) {
+        Counter counter = rejections.get(code);
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    public Timer latency(StockStrategy strategy) {
+        return latency.get(strategy);
+    }
+
+    public void attempt(StockStrategy strategy) {
+        attempts.get(strategy).increment();
+    }
+
+    public void conflict(StockStrategy strategy) {
+        conflicts.get(strategy).increment();
+    }
+
+    public void retry(StockStrategy strategy) {
+        retries.get(strategy).increment();
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.springbootposbackend.outbox;
+
+import com.example.springbootposbackend.config.OutboxProperties;
+import com.example.springbootposbackend.entity.OutboxEvent;
+import com.example.springbootposbackend.repository.OutboxEventRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Delivers outbox events to the {@link OutboxHandler} beans for their type.
+ * A poller reads the oldest events in id order, groups them by partition key
+ * and hands each group to a worker pool of pos.outbox.parallelism threads, so
+ * different customers are processed side by side while one customer's events
+ * run one after another in the order they were written. Each event is deleted
+ * and then handled in one transaction; a failure rolls the delete back and
+ * leaves the event in place with a capped exponential backoff, and the poll
+ * query skips every later event with the same key until it goes through
+ * (at-least-once, in order per key). Deleting first means a second
+ * dispatcher that picked up the same row waits on its lock and then finds
+ * it gone, so handlers never run twice for one committed delivery.
+ * <p>
+ * Order within a key is id order. Ids come from a pooled sequence that hands
+ * each instance its own block of 100, so id order is write order only while
+ * one instance writes a key's events (a till talks to one node) and one
+ * instance dispatches: on a multi-node deployment set
+ * pos.outbox.dispatcher-enabled=false on all but one.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private final OutboxProperties properties;
+    private final OutboxEventRepo outboxEventRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry registry;
+    private final Map<String, List<OutboxHandler>> handlersByType = new HashMap<>();
+    private final Map<String, Timer> handleTimers = new HashMap<>();
+    private final Map<String, Counter> failureCounters = new HashMap<>();
+    // Anthima poll eke parana event eka hadapu welawa (millis), 0 = table eka his
+    private final AtomicLong oldestPendingAt = new AtomicLong();
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+
+    private ScheduledExecutorService poller;
+    private ExecutorService workers;
+
+    public OutboxDispatcher(OutboxProperties properties, OutboxEventRepo outboxEventRepo,
+                            TransactionTemplate transactionTemplate, ObjectProvider<OutboxHandler> handlers,
+                            MeterRegistry registry) {
+        this.properties = properties;
+        this.outboxEventRepo = outboxEventRepo;
+        this.transactionTemplate = transactionTemplate;
+        this.registry = registry;
+        handlers.orderedStream().forEach(handler ->
+                handlersByType.computeIfAbsent(handler.eventType(), type -> new ArrayList<>()).add(handler));
+        Gauge.builder("pos.outbox.lag", oldestPendingAt, OutboxDispatcher::lagSeconds)
+                .description("Age in seconds of the oldest outbox event seen by the last poll")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    public boolean handles(String eventType) {
+        return handlersByType.containsKey(eventType);
+    }
+
+    @PostConstruct
+    void start() {
+        if (handlersByType.isEmpty()) {
+            return;
+        }
+        for (String type : handlersByType.keySet()) {
+            handleTimers.put(type, Timer.builder("pos.outbox.handle")
+                    .description("Outbox events handled and deleted")
+                    .tag("type", type)
+                    .publishPercentileHistogram()
+                    .register(registry));
+            failureCounters.put(type, Counter.builder("pos.outbox.handle.failures")
+                    .description("Outbox handler runs rolled back; the event is retried after a backoff")
+                    .tag("type", type)
+                    .register(registry));
+        }
+        workers = Executors.newFixedThreadPool(properties.getParallelism(), daemon("outbox-worker"));
+        if (properties.isDispatcherEnabled()) {
+            poller = Executors.newSingleThreadScheduledExecutor(daemon("outbox-poll"));
+            long interval = properties.getPollIntervalMs();
+            poller.scheduleWithFixedDelay(this::pollQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Polls one batch and waits until every group in it is handled or has
+     * stopped on a failure. Returns the number of events delivered.
+     */
+    public int dispatchOnce() {
+        if (handlersByType.isEmpty()) {
+            return 0;
+        }
+        dispatchLock.lock();
+        try {
+            Instant now = Instant.now();
+            List<OutboxEvent> batch = outboxEventRepo.findReady(handlersByType.keySet(), now,
+                    Limit.of(properties.getBatchSize()));
+            oldestPendingAt.set(batch.isEmpty() ? 0 : batch.get(0).getCreatedAt().toEpochMilli());
+
+            Map<String, List<OutboxEvent>> byKey = new LinkedHashMap<>();
+            for (OutboxEvent event : batch) {
+                byKey.computeIfAbsent(event.getPartitionKey(), key -> new ArrayList<>()).add(event);
+            }
+            List<Future<Integer>> groups = new ArrayList<>(byKey.size());
+            for (List<OutboxEvent> events : byKey.values()) {
+                groups.add(workers.submit(() -> deliverInOrder(events)));
+            }
+            int delivered = 0;
+            for (Future<Integer> group : groups) {
+                delivered += group.get();
+            }
+            return delivered;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Outbox dispatch failed", e.getCause());
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    // Ekama key eke events piliwelata; ekak fail unoth ithuru tika next poll ekata (backoff eka iwara weddi)
+    private int deliverInOrder(List<OutboxEvent> events) {
+        int delivered = 0;
+        for (OutboxEvent event : events) {
+            if (!deliver(event)) {
+                break;
+            }
+            delivered++;
+        }
+        return delivered;
+    }
+
+    private boolean deliver(OutboxEvent event) {
+        long start = System.nanoTime();
+        try {
+            boolean claimed = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                // Handlers walata kalin delete: 0 nam wena dispatcher kenek kalin iwara karala, aye run karanne na
+                if (outboxEventRepo.deleteEvent(event.getId()) == 0) {
+                    return false;
+                }
+                for (OutboxHandler handler : handlersByType.get(event.getEventType())) {
+                    handler.handle(event);
+                }
+                return true;
+            }));
+            if (!claimed) {
+                return true;
+            }
+            handleTimers.get(event.getEventType()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (RuntimeException ex) {
+            failureCounters.get(event.getEventType()).increment();
+            markFailed(event, ex);
+            return false;
+        }
+    }
+
+    private void markFailed(OutboxEvent event, RuntimeException ex) {
+        long backoff = Math.min(properties.getMaxRetryBackoffMs(),
+                properties.getRetryBackoffMs() << Math.min(event.getAttempts(), 20));
+        String error = String.valueOf(ex.getMessage());
+        try {
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepo.markFailed(event.getId(),
+                    Instant.now().plusMillis(backoff), error.length() > 1000 ? error.substring(0, 1000) : error));
+        } catch (RuntimeException ignored) {
+            // Backoff eka liyanna bari una nam next poll eke kelinma aye try wenawa
+        }
+    }
+
+    private void pollQuietly() {
+        try {
+            // Batch eka piruna nam thawa thiyenna puluwan, interval eka balan inne na
+            while (dispatchOnce() >= properties.getBatchSize()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            }
+        } catch (RuntimeException ignored) {
+            // DB eka nathi welawaka; next interval eke aye poll karanawa
+        }
+    }
+
+    private static double lagSeconds(AtomicLong oldestPendingAt) {
+        long oldest = oldestPendingAt.get();
+        return oldest == 0 ? 0 : Math.max(0, System.currentTimeMillis() - oldest) / 1000.0;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
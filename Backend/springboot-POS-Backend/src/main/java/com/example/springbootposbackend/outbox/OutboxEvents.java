@@ -0,0 +1,39 @@
+package com.example.springbootposbackend.outbox;
+
+import com.example.springbootposbackend.entity.Order;
+import com.example.springbootposbackend.entity.OutboxEvent;
+import com.example.springbootposbackend.mapper.OrderMapper;
+import com.example.springbootposbackend.repository.OutboxEventRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Checkout transaction eka athule call karanna: events commit wenne order ekka ekatama
+@Component
+@RequiredArgsConstructor
+public class OutboxEvents {
+
+    private final OutboxEventRepo outboxEventRepo;
+    private final OutboxDispatcher outboxDispatcher;
+    private final OrderMapper orderMapper;
+    private final ObjectMapper objectMapper;
+
+    // Orders save karala ids thiyena welawata passe
+    public void orderPlaced(List<Order> orders) {
+        // Handler ekak nathi nam table ekata liyanne na, nathnam kawadawath delete nowena rows
+        if (orders.isEmpty() || !outboxDispatcher.handles(OutboxEvent.ORDER_PLACED)) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<OutboxEvent> events = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            events.add(new OutboxEvent(null, OutboxEvent.ORDER_PLACED, "customer:" + order.getCustomer().getId(),
+                    order.getId(), objectMapper.writeValueAsString(orderMapper.toDTO(order)), now, 0, null, null));
+        }
+        outboxEventRepo.saveAll(events);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.springbootposbackend.outbox;
+
+import com.example.springbootposbackend.entity.OutboxEvent;
+
+/**
+ * Post-checkout work for one event type. {@link #handle} runs inside the
+ * transaction that deletes the event, so database writes made through the
+ * usual repositories happen exactly once. Anything outside the database
+ * (mail, HTTP) can run again after a crash or a failed commit and must
+ * tolerate seeing the same event twice. Throwing rolls the delete back and
+ * the event is retried after a backoff; later events with the same
+ * partition key wait for it.
+ */
+public interface OutboxHandler {
+
+    String eventType();
+
+    void handle(OutboxEvent event);
+}
@@ -0,0 +1,32 @@
+package com.example.springbootposbackend.outbox;
+
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.entity.OutboxEvent;
+import com.example.springbootposbackend.service.SalesRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.List;
+
+// pos.rollup.async=true: hot rollup rows checkout transaction eken eliyata
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "pos.rollup.async", havingValue = "true")
+public class SalesRollupHandler implements OutboxHandler {
+
+    private final SalesRollupService salesRollupService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String eventType() {
+        return OutboxEvent.ORDER_PLACED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        // Rollup eka saha event delete eka ekama transaction ekak, e nisa retry ekakin dekaparak add wenne na
+        salesRollupService.recordPlacedOrders(List.of(objectMapper.readValue(event.getPayload(), OrderDTO.class)));
+    }
+}
@@ -0,0 +1,437 @@
+package com.example.springbootposbackend.pricing;
+
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable item id to unit price table in minor units (cents), with every
+ * promotion tier's discounted unit price worked out when the table is built.
+ * Pricing a basket is then an open-addressing lookup and a scan of at most a
+ * few tiers per line, in long arithmetic that throws on overflow, with no
+ * allocation. A change makes a new table, either from a {@link Builder} or
+ * as a {@link Patch} of this one; PricingEngine swaps it in.
+ */
+public final class PriceTable {
+
+    public static final PriceTable EMPTY = new Builder().build();
+
+    private static final int MINOR_DIGITS = 2;
+    private static final int BASIS_POINTS = 10_000;
+
+    private final long[] keys; // 0 = his slot eka (item ids 1 idan)
+    private final long[] baseMinor;
+    private final int[] tierFrom; // slot eke tiers: tierFrom[slot] idan tierCount[slot] gana
+    private final int[] tierCount;
+    private final int[] tierMinQty; // item ekaka tiers minQty loku eken podi ekata
+    private final int[] tierBp;
+    private final long[] tierMinor;
+    private final int size;
+    private final int liveTiers; // patch walin passe tier arrays wala parana tiers ithuru wenawa
+
+    private PriceTable(long[] keys, long[] baseMinor, int[] tierFrom, int[] tierCount,
+                       int[] tierMinQty, int[] tierBp, long[] tierMinor, int size, int liveTiers) {
+        this.keys = keys;
+        this.baseMinor = baseMinor;
+        this.tierFrom = tierFrom;
+        this.tierCount = tierCount;
+        this.tierMinQty = tierMinQty;
+        this.tierBp = tierBp;
+        this.tierMinor = tierMinor;
+        this.size = size;
+        this.liveTiers = liveTiers;
+    }
+
+    // Double eke shortest decimal form eken (0.1 -> 10), 0.285 * 100 wage binary error ekak nathuwa
+    public static long toMinor(double price) {
+        return BigDecimal.valueOf(price).setScale(MINOR_DIGITS, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    // Item / order_detail columns thama double; cents 2^53 ta yatin nam me value eka exact cent ekata aye harenawa
+    public static double toMajor(long minor) {
+        return BigDecimal.valueOf(minor, MINOR_DIGITS).doubleValue();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(long itemId) {
+        return slot(itemId) >= 0;
+    }
+
+    /**
+     * Unit price for itemId when the basket holds basketQty of it in total,
+     * or -1 when the item is not in the table.
+     */
+    public long unitMinor(long itemId, int basketQty) {
+        int slot = slot(itemId);
+        if (slot < 0) {
+            return -1;
+        }
+        int from = tierFrom[slot];
+        for (int t = from, end = from + tierCount[slot]; t < end; t++) {
+            if (basketQty >= tierMinQty[t]) {
+                return tierMinor[t];
+            }
+        }
+        return baseMinor[slot];
+    }
+
+    /**
+     * Writes each line's unit price to unitMinorOut and returns the basket
+     * total. Tiers are chosen by the item's merged quantity, so splitting a
+     * quantity over several lines does not lose a discount. Returns -1 if a
+     * line's item is not in the table.
+     */
+    public long price(List<OrderDetailDTO> lines, Map<Long, Integer> qtyByItemId, long[] unitMinorOut) {
+        long total = 0;
+        for (int i = 0, n = lines.size(); i < n; i++) {
+            OrderDetailDTO line = lines.get(i);
+            long unit = unitMinor(line.getItemId(), qtyByItemId.get(line.getItemId()));
+            if (unit < 0) {
+                return -1;
+            }
+            unitMinorOut[i] = unit;
+            total = Math.addExact(total, Math.multiplyExact(unit, line.getQty()));
+        }
+        return total;
+    }
+
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                builder.price(keys[slot], baseMinor[slot]);
+                for (int t = tierFrom[slot], end = t + tierCount[slot]; t < end; t++) {
+                    builder.promotion(keys[slot], tierMinQty[t], tierBp[t]);
+                }
+            }
+        }
+        return builder;
+    }
+
+    public Patch patch() {
+        return new Patch(this);
+    }
+
+    private int slot(long itemId) {
+        int mask = keys.length - 1;
+        for (int i = hash(itemId) & mask; ; i = (i + 1) & mask) {
+            long key = keys[i];
+            if (key == itemId) {
+                return i;
+            }
+            if (key == 0) {
+                return -1;
+            }
+        }
+    }
+
+    // Discount eka half-up round karala adu karanawa
+    private static long discounted(long unitMinor, int percentOffBp) {
+        return unitMinor - (Math.multiplyExact(unitMinor, percentOffBp) + BASIS_POINTS / 2) / BASIS_POINTS;
+    }
+
+    // Loku minQty eka issellama, ekama minQty ekata loku discount eka issellama
+    private static void sortTiers(List<int[]> tiers) {
+        tiers.sort((a, b) -> a[0] != b[0] ? Integer.compare(b[0], a[0]) : Integer.compare(b[1], a[1]));
+    }
+
+    private static void checkPrice(long itemId, long unitMinor) {
+        if (itemId <= 0 || unitMinor < 0) {
+            throw new IllegalArgumentException("Bad price for item " + itemId + ": " + unitMinor);
+        }
+    }
+
+    private static void checkPromotion(long itemId, int minQty, int percentOffBp) {
+        if (minQty <= 0 || percentOffBp < 0 || percentOffBp > BASIS_POINTS) {
+            throw new IllegalArgumentException("Bad promotion for item " + itemId + ": " + minQty + ", " + percentOffBp);
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    public static final class Builder {
+        private final Map<Long, Long> prices = new HashMap<>();
+        private final Map<Long, List<int[]>> promotions = new HashMap<>();
+
+        public Builder price(long itemId, long unitMinor) {
+            checkPrice(itemId, unitMinor);
+            prices.put(itemId, unitMinor);
+            return this;
+        }
+
+        // Ekama minQty ekata tiers dekak awoth loku discount eka
+        public Builder promotion(long itemId, int minQty, int percentOffBp) {
+            checkPromotion(itemId, minQty, percentOffBp);
+            promotions.computeIfAbsent(itemId, id -> new ArrayList<>()).add(new int[]{minQty, percentOffBp});
+            return this;
+        }
+
+        public Builder remove(long itemId) {
+            prices.remove(itemId);
+            promotions.remove(itemId);
+            return this;
+        }
+
+        public Builder clearPromotions(long itemId) {
+            promotions.remove(itemId);
+            return this;
+        }
+
+        public PriceTable build() {
+            int capacity = 16;
+            while (capacity < prices.size() * 2) {
+                capacity <<= 1;
+            }
+            long[] keys = new long[capacity];
+            long[] base = new long[capacity];
+            int[] tierFrom = new int[capacity];
+            int[] tierCount = new int[capacity];
+            int tiers = 0;
+            for (Long itemId : prices.keySet()) {
+                tiers += promotions.getOrDefault(itemId, List.of()).size();
+            }
+            int[] tierMinQty = new int[tiers];
+            int[] tierBp = new int[tiers];
+            long[] tierMinor = new long[tiers];
+
+            int next = 0;
+            for (Map.Entry<Long, Long> entry : prices.entrySet()) {
+                int mask = capacity - 1;
+                int slot = hash(entry.getKey()) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                long unit = entry.getValue();
+                keys[slot] = entry.getKey();
+                base[slot] = unit;
+                tierFrom[slot] = next;
+
+                List<int[]> itemTiers = new ArrayList<>(promotions.getOrDefault(entry.getKey(), List.of()));
+                sortTiers(itemTiers);
+                for (int[] tier : itemTiers) {
+                    tierMinQty[next] = tier[0];
+                    tierBp[next] = tier[1];
+                    tierMinor[next] = discounted(unit, tier[1]);
+                    next++;
+                }
+                tierCount[slot] = itemTiers.size();
+            }
+            return new PriceTable(keys, base, tierFrom, tierCount, tierMinQty, tierBp, tierMinor, prices.size(), tiers);
+        }
+    }
+
+    /**
+     * A few changes applied to copies of the table's arrays, for the price
+     * edits, removals and cache misses that arrive between full loads.
+     * {@link #price} keeps the item's tiers (worked out again for the new
+     * price); once {@link #replace} or {@link #promotion} is called for an
+     * item, its tiers are exactly the ones given in this patch. Changes that
+     * leave an item as it was are dropped, and a patch with nothing left
+     * returns the same table. Replaced tiers stay behind in the tier arrays;
+     * when they outnumber the live ones, or the new ids would fill the table
+     * past half, the patch is applied through a {@link Builder} instead.
+     */
+    public static final class Patch {
+        private final PriceTable from;
+        private final Map<Long, Change> changes = new HashMap<>();
+
+        private Patch(PriceTable from) {
+            this.from = from;
+        }
+
+        private static final class Change {
+            long baseMinor = -1; // -1 = parana price eka
+            List<int[]> tiers; // null = parana tiers
+            boolean removed;
+        }
+
+        public Patch price(long itemId, long unitMinor) {
+            checkPrice(itemId, unitMinor);
+            Change change = changes.computeIfAbsent(itemId, id -> new Change());
+            change.baseMinor = unitMinor;
+            change.removed = false;
+            return this;
+        }
+
+        public Patch replace(long itemId, long unitMinor) {
+            price(itemId, unitMinor);
+            Change change = changes.get(itemId);
+            if (change.tiers == null) {
+                change.tiers = new ArrayList<>();
+            }
+            return this;
+        }
+
+        public Patch promotion(long itemId, int minQty, int percentOffBp) {
+            checkPromotion(itemId, minQty, percentOffBp);
+            Change change = changes.computeIfAbsent(itemId, id -> new Change());
+            if (change.tiers == null) {
+                change.tiers = new ArrayList<>();
+            }
+            change.tiers.add(new int[]{minQty, percentOffBp});
+            return this;
+        }
+
+        public Patch remove(long itemId) {
+            Change change = changes.computeIfAbsent(itemId, id -> new Change());
+            change.removed = true;
+            change.baseMinor = -1;
+            change.tiers = new ArrayList<>(); // passe price() ekak awoth parana tiers nathuwa
+            return this;
+        }
+
+        public PriceTable apply() {
+            // Wenas wena deyak nathi changes ain karanawa, ithuru ewata tiers sort karala
+            Map<Long, Change> effective = new HashMap<>();
+            int inserts = 0;
+            int addedTiers = 0;
+            int replacedTiers = 0;
+            for (Map.Entry<Long, Change> entry : changes.entrySet()) {
+                long itemId = entry.getKey();
+                Change change = entry.getValue();
+                int slot = from.slot(itemId);
+                if (change.removed) {
+                    if (slot >= 0) {
+                        effective.put(itemId, change);
+                        replacedTiers += from.tierCount[slot];
+                    }
+                    continue;
+                }
+                if (slot < 0 && change.baseMinor < 0) {
+                    continue; // Table eke nathi item ekaka promotion witharai: price eka dannawa witharai
+                }
+                if (change.baseMinor < 0) {
+                    change.baseMinor = from.baseMinor[slot];
+                }
+                if (change.tiers == null) {
+                    change.tiers = slot < 0 ? new ArrayList<>() : from.tiersOf(slot);
+                } else {
+                    sortTiers(change.tiers);
+                }
+                if (slot >= 0 && change.baseMinor == from.baseMinor[slot] && from.sameTiers(slot, change.tiers)) {
+                    continue;
+                }
+                effective.put(itemId, change);
+                inserts += slot < 0 ? 1 : 0;
+                addedTiers += change.tiers.size();
+                replacedTiers += slot < 0 ? 0 : from.tierCount[slot];
+            }
+            if (effective.isEmpty()) {
+                return from;
+            }
+            int stale = from.tierMinQty.length - from.liveTiers + replacedTiers;
+            if ((from.size + inserts) * 2 > from.keys.length || stale > from.liveTiers - replacedTiers + addedTiers + 64) {
+                return rebuild(effective);
+            }
+
+            long[] keys = from.keys.clone();
+            long[] base = from.baseMinor.clone();
+            int[] tierFrom = from.tierFrom.clone();
+            int[] tierCount = from.tierCount.clone();
+            int next = from.tierMinQty.length;
+            int[] tierMinQty = Arrays.copyOf(from.tierMinQty, next + addedTiers);
+            int[] tierBp = Arrays.copyOf(from.tierBp, next + addedTiers);
+            long[] tierMinor = Arrays.copyOf(from.tierMinor, next + addedTiers);
+            int size = from.size;
+            int liveTiers = from.liveTiers;
+            int mask = keys.length - 1;
+
+            for (Map.Entry<Long, Change> entry : effective.entrySet()) {
+                long itemId = entry.getKey();
+                Change change = entry.getValue();
+                int slot = hash(itemId) & mask;
+                while (keys[slot] != 0 && keys[slot] != itemId) {
+                    slot = (slot + 1) & mask;
+                }
+                if (keys[slot] != 0) {
+                    liveTiers -= tierCount[slot];
+                }
+                if (change.removed) {
+                    delete(keys, base, tierFrom, tierCount, slot);
+                    size--;
+                    continue;
+                }
+                if (keys[slot] == 0) {
+                    keys[slot] = itemId;
+                    size++;
+                }
+                base[slot] = change.baseMinor;
+                tierFrom[slot] = next;
+                tierCount[slot] = change.tiers.size();
+                for (int[] tier : change.tiers) {
+                    tierMinQty[next] = tier[0];
+                    tierBp[next] = tier[1];
+                    tierMinor[next] = discounted(change.baseMinor, tier[1]);
+                    next++;
+                }
+                liveTiers += change.tiers.size();
+            }
+            return new PriceTable(keys, base, tierFrom, tierCount, tierMinQty, tierBp, tierMinor, size, liveTiers);
+        }
+
+        private PriceTable rebuild(Map<Long, Change> effective) {
+            Builder builder = from.toBuilder();
+            effective.forEach((itemId, change) -> {
+                builder.remove(itemId);
+                if (!change.removed) {
+                    builder.price(itemId, change.baseMinor);
+                    for (int[] tier : change.tiers) {
+                        builder.promotion(itemId, tier[0], tier[1]);
+                    }
+                }
+            });
+            return builder.build();
+        }
+
+        // Linear probing eke delete: pitipassen thiyena keys hole ekata shift karanawa, tombstones na
+        private static void delete(long[] keys, long[] base, int[] tierFrom, int[] tierCount, int slot) {
+            int mask = keys.length - 1;
+            int hole = slot;
+            for (int i = (slot + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+                int home = hash(keys[i]) & mask;
+                if (((i - home) & mask) >= ((i - hole) & mask)) {
+                    keys[hole] = keys[i];
+                    base[hole] = base[i];
+                    tierFrom[hole] = tierFrom[i];
+                    tierCount[hole] = tierCount[i];
+                    hole = i;
+                }
+            }
+            keys[hole] = 0;
+            tierCount[hole] = 0;
+        }
+    }
+
+    private List<int[]> tiersOf(int slot) {
+        List<int[]> tiers = new ArrayList<>(tierCount[slot]);
+        for (int t = tierFrom[slot], end = t + tierCount[slot]; t < end; t++) {
+            tiers.add(new int[]{tierMinQty[t], tierBp[t]});
+        }
+        return tiers;
+    }
+
+    private boolean sameTiers(int slot, List<int[]> tiers) {
+        if (tiers.size() != tierCount[slot]) {
+            return false;
+        }
+        for (int i = 0; i < tiers.size(); i++) {
+            int t = tierFrom[slot] + i;
+            if (tiers.get(i)[0] != tierMinQty[t] || tiers.get(i)[1] != tierBp[t]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
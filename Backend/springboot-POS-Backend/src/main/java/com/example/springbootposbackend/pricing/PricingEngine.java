@@ -0,0 +1,284 @@
+package com.example.springbootposbackend.pricing;
+
+import com.example.springbootposbackend.config.PricingProperties;
+import com.example.springbootposbackend.dto.ItemPriceDTO;
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.exception.ItemNotFoundException;
+import com.example.springbootposbackend.metrics.OrderMetrics;
+import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.repository.ItemTombstoneRepo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Server-side prices for checkout. The till's unitPrice is ignored: every
+ * line is priced from the current {@link PriceTable}, which is read without
+ * locks and replaced by a patched copy on a price change.
+ * <p>
+ * Edits made through this instance are patched in after their commit. Every
+ * pos.pricing.refresh-interval-ms a refresher also patches in the items whose
+ * changeSeq moved past the last one it saw, and drops the ones with a newer
+ * tombstone, so a direct repository write or an edit on another node whose
+ * sequence is ahead of ours is picked up without a restart. Promotion rows
+ * carry no changeSeq, sequences from other instances can be behind ours, and
+ * a plain SQL update moves no sequence at all, so the whole table is also
+ * reloaded once it is older than pos.pricing.max-staleness-ms: that is how
+ * long such an edit can take to reach checkout. Items the table has not seen
+ * yet are loaded with their promotions in one query and patched in.
+ */
+@Component
+@RequiredArgsConstructor
+public class PricingEngine {
+
+    private final ItemRepo itemRepo;
+    private final ItemTombstoneRepo itemTombstoneRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderMetrics orderMetrics;
+    private final PricingProperties properties;
+
+    // Swap karana eka witharai lock eka yata, kiyawanna lock ona na
+    private final ReentrantLock swapLock = new ReentrantLock();
+    private volatile PriceTable table = PriceTable.EMPTY;
+    // swapLock eka yata: refresh eka balapu anthima changeSeq eka saha mulu table eka load karapu welawa
+    private long refreshedUpTo;
+    private long loadedAtNanos;
+
+    private ScheduledExecutorService refresher;
+
+    @PostConstruct
+    void start() {
+        reload();
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "price-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getRefreshIntervalMs();
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    public void reload() {
+        swapLock.lock();
+        try {
+            // Load ekata kalin: ee athara commit wena changes eelaga refresh eken enawa
+            long upTo = maxChangeSeq();
+            PriceTable.Builder builder = new PriceTable.Builder();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<ItemPriceDTO> rows = itemRepo.streamPrices()) {
+                    rows.forEach(row -> add(builder, row));
+                }
+            });
+            table = builder.build();
+            refreshedUpTo = upTo;
+            loadedAtNanos = System.nanoTime();
+        } finally {
+            swapLock.unlock();
+        }
+    }
+
+    /**
+     * Patches in the items changed since the last refresh, or reloads the
+     * whole table once it is older than pos.pricing.max-staleness-ms. The
+     * refresher thread calls this; tests call it to skip the wait.
+     */
+    public void refresh() {
+        swapLock.lock();
+        try {
+            if (System.nanoTime() - loadedAtNanos > properties.getMaxStalenessMs() * 1_000_000L) {
+                reload();
+                return;
+            }
+            // Query eka lock eka yata: commit eken passe pricesChanged eka eya kiyawapu parana row eken wahenna epa
+            long upTo = maxChangeSeq();
+            if (upTo <= refreshedUpTo) {
+                return;
+            }
+            List<ItemPriceDTO> rows = itemRepo.findPricesChangedBetween(refreshedUpTo, upTo);
+            List<Long> removed = itemTombstoneRepo.findItemIdsChangedAfter(refreshedUpTo);
+            PriceTable.Patch patch = table.patch();
+            Set<Long> seen = new HashSet<>();
+            for (ItemPriceDTO row : rows) {
+                replace(patch, row, seen.add(row.getItemId()));
+            }
+            removed.forEach(patch::remove);
+            table = patch.apply();
+            refreshedUpTo = upTo;
+        } finally {
+            swapLock.unlock();
+        }
+    }
+
+    public PriceTable current() {
+        return table;
+    }
+
+    /**
+     * Makes sure every id is in the table and returns the ones that are not
+     * in the database either. Order validation uses this as its item check.
+     */
+    public List<Long> load(Collection<Long> itemIds) {
+        PriceTable snapshot = table;
+        List<Long> missing = null;
+        for (Long itemId : itemIds) {
+            if (!snapshot.contains(itemId)) {
+                if (missing == null) {
+                    missing = new ArrayList<>();
+                }
+                missing.add(itemId);
+            }
+        }
+        if (missing == null) {
+            return List.of();
+        }
+
+        List<ItemPriceDTO> rows = itemRepo.findPricesByIds(missing);
+        Set<Long> present = new HashSet<>();
+        swapLock.lock();
+        try {
+            // Query eken passe updateItem eka aluth price eka damma nam eka parana row eken wahanne na
+            PriceTable.Patch patch = table.patch();
+            for (ItemPriceDTO row : rows) {
+                boolean first = present.add(row.getItemId());
+                if (!table.contains(row.getItemId())) {
+                    replace(patch, row, first);
+                }
+            }
+            table = patch.apply();
+        } finally {
+            swapLock.unlock();
+        }
+        missing.removeAll(present);
+        return missing;
+    }
+
+    /**
+     * Server unit price of each line in minor units, tiers chosen by the
+     * merged qty from validation. Lines whose till price differs are counted
+     * in pos.order.price.overrides.
+     */
+    public long[] price(OrderDTO orderDTO, Map<Long, Integer> qtyByItemId) {
+        List<OrderDetailDTO> lines = orderDTO.getOrderDetails();
+        long[] unitMinor = new long[lines.size()];
+        if (table.price(lines, qtyByItemId, unitMinor) < 0) {
+            List<Long> unknown = load(qtyByItemId.keySet());
+            if (!unknown.isEmpty()) {
+                throw new ItemNotFoundException("Item not found: " + unknown.get(0));
+            }
+            if (table.price(lines, qtyByItemId, unitMinor) < 0) {
+                throw new ItemNotFoundException("Item is not for sale: " + firstUnpriced(qtyByItemId.keySet()));
+            }
+        }
+        int overridden = 0;
+        for (int i = 0; i < unitMinor.length; i++) {
+            if (Math.round(lines.get(i).getUnitPrice() * 100) != unitMinor[i]) {
+                overridden++;
+            }
+        }
+        if (overridden > 0) {
+            orderMetrics.priceOverridden(overridden);
+        }
+        return unitMinor;
+    }
+
+    // ItemServiceIMPL / import eken commit eken passe; promotions wenas wenne na
+    public void pricesChanged(Map<Long, Double> unitPrices) {
+        if (unitPrices.isEmpty()) {
+            return;
+        }
+        swapLock.lock();
+        try {
+            PriceTable.Patch patch = table.patch();
+            unitPrices.forEach((itemId, price) -> {
+                if (price < 0) {
+                    patch.remove(itemId);
+                } else {
+                    patch.price(itemId, PriceTable.toMinor(price));
+                }
+            });
+            table = patch.apply();
+        } finally {
+            swapLock.unlock();
+        }
+    }
+
+    public void itemRemoved(long itemId) {
+        swapLock.lock();
+        try {
+            if (table.contains(itemId)) {
+                table = table.patch().remove(itemId).apply();
+            }
+        } finally {
+            swapLock.unlock();
+        }
+    }
+
+    private long firstUnpriced(Collection<Long> itemIds) {
+        PriceTable snapshot = table;
+        for (Long itemId : itemIds) {
+            if (!snapshot.contains(itemId)) {
+                return itemId;
+            }
+        }
+        return -1;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException ignored) {
+            // DB eka nathi welawaka; parana table eken checkout yanawa, next interval eke aye try karanawa
+        }
+    }
+
+    private long maxChangeSeq() {
+        return Math.max(itemRepo.findMaxChangeSeq(), itemTombstoneRepo.findMaxChangeSeq());
+    }
+
+    // Item ekaka palaweni row eke tiers replace wenawa; minus price = wikunanna ba, table eken ain karanawa
+    private static void replace(PriceTable.Patch patch, ItemPriceDTO row, boolean first) {
+        if (row.getUnitPrice() < 0) {
+            patch.remove(row.getItemId());
+            return;
+        }
+        if (first) {
+            patch.replace(row.getItemId(), PriceTable.toMinor(row.getUnitPrice()));
+        }
+        if (row.getMinQty() != null) {
+            patch.promotion(row.getItemId(), row.getMinQty(), row.getPercentOffBp());
+        }
+    }
+
+    // Minus price ekak thiyena item eka wikunanna ba, table ekata danne na (checkout eke not found)
+    private static void add(PriceTable.Builder builder, ItemPriceDTO row) {
+        if (row.getUnitPrice() < 0) {
+            return;
+        }
+        builder.price(row.getItemId(), PriceTable.toMinor(row.getUnitPrice()));
+        if (row.getMinQty() != null) {
+            builder.promotion(row.getItemId(), row.getMinQty(), row.getPercentOffBp());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.springbootposbackend.repository;
+
+import com.example.springbootposbackend.dto.CustomerDTO;
+
+import java.util.List;
+
+public interface CustomerImportRepo {
+    /**
+     * Inserts or updates every customer in one JDBC batch (INSERT ... ON
+     * DUPLICATE KEY UPDATE). Customers without an id get a new one.
+     */
+    void upsertCustomers(List<CustomerDTO> customers);
+}
@@ -0,0 +1,28 @@
+package com.example.springbootposbackend.repository;
+
+import com.example.springbootposbackend.dto.CustomerDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class CustomerImportRepoImpl implements CustomerImportRepo {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO customer (id, name, address) VALUES (?, ?, ?) AS new " +
+            "ON DUPLICATE KEY UPDATE name = new.name, address = new.address";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UpsertSql upsertSql;
+
+    @Override
+    public void upsertCustomers(List<CustomerDTO> customers) {
+        List<Object[]> args = new ArrayList<>(customers.size());
+        for (CustomerDTO customer : customers) {
+            args.add(new Object[]{customer.getId(), customer.getName(), customer.getAddress()});
+        }
+        jdbcTemplate.batchUpdate(upsertSql.of(UPSERT_SQL), args);
+    }
+}
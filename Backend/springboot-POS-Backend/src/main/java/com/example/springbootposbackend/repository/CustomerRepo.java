@@ -1,8 +1,34 @@
 package com.example.springbootposbackend.repository;
 
 
+import com.example.springbootposbackend.dto.CustomerDTO;
 import com.example.springbootposbackend.entity.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-    public interface CustomerRepo extends JpaRepository<Customer, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+    public interface CustomerRepo extends JpaRepository<Customer, Long>, CustomerImportRepo {
+
+    // Keyset pagination: id eka index eka use karala "after" eken passe rows, orders collection eka load wenne na
+    @Query("select new com.example.springbootposbackend.dto.CustomerDTO(c.id, c.name, c.address) from Customer c " +
+            "where c.id > :after and (:namePrefix is null or c.name like :namePrefix escape '!') order by c.id")
+    List<CustomerDTO> findPageAfter(@Param("after") long after, @Param("namePrefix") String namePrefix, Limit limit);
+
+    // Export ekata: forward-only stream ekak, rows persistence context ekata enne na (DTO projection)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select new com.example.springbootposbackend.dto.CustomerDTO(c.id, c.name, c.address) from Customer c order by c.id")
+    Stream<CustomerDTO> streamAll();
+
+    // Order validation eke KnownIdCache eke nathi customer ids
+    @Query("select c.id from Customer c where c.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,17 @@
+package com.example.springbootposbackend.repository;
+
+import com.example.springbootposbackend.dto.DailyCustomerSalesDTO;
+import com.example.springbootposbackend.entity.DailyCustomerSales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyCustomerSalesRepo extends JpaRepository<DailyCustomerSales, DailyCustomerSales.Key> {
+
+    @Query("select new com.example.springbootposbackend.dto.DailyCustomerSalesDTO(s.salesDate, s.customerId, s.qty, s.revenue, s.orderCount) " +
+            "from DailyCustomerSales s where s.salesDate = :date order by s.revenue desc, s.customerId")
+    List<DailyCustomerSalesDTO> findByDate(@Param("date") LocalDate date);
+}
@@ -0,0 +1,18 @@
+package com.example.springbootposbackend.repository;
+
+import com.example.springbootposbackend.dto.DailyItemSalesDTO;
+import com.example.springbootposbackend.entity.DailyItemSales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyItemSalesRepo extends JpaRepository<DailyItemSales, DailyItemSales.Key>, DailySalesRollupRepo {
+
+    // Dashboard eka kiyawanne rollup table eka witharai, order_detail scan karanne na
+    @Query("select new com.example.springbootposbackend.dto.DailyItemSalesDTO(s.salesDate, s.itemId, s.qty, s.revenue, s.orderCount) " +
+            "from DailyItemSales s where s.salesDate = :date order by s.revenue desc, s.itemId")
+    List<DailyItemSalesDTO> findByDate(@Param("date") LocalDate date);
+}
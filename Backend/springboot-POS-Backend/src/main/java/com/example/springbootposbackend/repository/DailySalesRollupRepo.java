@@ -0,0 +1,43 @@
+package com.example.springbootposbackend.repository;
+
+import com.example.springbootposbackend.entity.DailyCustomerSales;
+import com.example.springbootposbackend.entity.DailyItemSales;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface DailySalesRollupRepo {
+    /**
+     * Adds qty, revenue and order count onto the existing rollup rows in one
+     * JDBC batch, inserting rows that do not exist yet. Rows should be sorted
+     * by key so concurrent checkouts lock them in the same order.
+     */
+    void addItemSales(List<DailyItemSales> rows);
+
+    void addCustomerSales(List<DailyCustomerSales> rows);
+
+    /**
+     * Locks each day's sales_rollup_day row until the transaction ends,
+     * creating the rows that do not exist yet: shared for transactions that
+     * add orders or rollup totals to the days, exclusive for a rebuild. Take
+     * it before the orders are inserted, so a rebuild holding a day never
+     * waits on one of that day's order rows.
+     */
+    void lockDays(Collection<LocalDate> days, boolean exclusive);
+
+    /**
+     * Ids of the day's orders whose order.placed outbox event has not been
+     * delivered yet. A plain read, without row locks, so it never waits on an
+     * event a dispatcher has claimed.
+     */
+    List<Long> findOrdersAwaitingRollup(LocalDate day);
+
+    /**
+     * Replaces both rollups for one day with totals recomputed from orders and
+     * order_detail, leaving out skipOrderIds (orders whose totals are still on
+     * their way through the outbox). Must run inside a transaction that holds
+     * the day's exclusive lock from {@link #lockDays}.
+     */
+    void rebuildDay(LocalDate day, Collection<Long> skipOrderIds);
+}
@@ -0,0 +1,126 @@
+package com.example.springbootposbackend.repository;
+
+import com.example.springbootposbackend.entity.DailyCustomerSales;
+import com.example.springbootposbackend.entity.DailyItemSales;
+import com.example.springbootposbackend.entity.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+@RequiredArgsConstructor
+public class DailySalesRollupRepoImpl implements DailySalesRollupRepo {
+
+    // Revenue column eka double: hama ekathu kirimakma cents walata round karanawa, nathnam 0.3 + 0.3 + ... drift wenawa
+
+    private static final String ADD_ITEM_SALES_SQL =
+            "INSERT INTO daily_item_sales (sales_date, item_id, qty, revenue, order_count) VALUES (?, ?, ?, ?, ?) AS new " +
+            "ON DUPLICATE KEY UPDATE qty = daily_item_sales.qty + new.qty, revenue = ROUND(daily_item_sales.revenue + new.revenue, 2), " +
+            "order_count = daily_item_sales.order_count + new.order_count";
+
+    private static final String ADD_CUSTOMER_SALES_SQL =
+            "INSERT INTO daily_customer_sales (sales_date, customer_id, qty, revenue, order_count) VALUES (?, ?, ?, ?, ?) AS new " +
+            "ON DUPLICATE KEY UPDATE qty = daily_customer_sales.qty + new.qty, revenue = ROUND(daily_customer_sales.revenue + new.revenue, 2), " +
+            "order_count = daily_customer_sales.order_count + new.order_count";
+
+    private static final String REBUILD_ITEM_SALES_SQL =
+            "INSERT INTO daily_item_sales (sales_date, item_id, qty, revenue, order_count) " +
+            "SELECT o.date, d.item_id, SUM(d.qty), ROUND(SUM(d.qty * d.unit_price), 2), COUNT(DISTINCT o.id) " +
+            "FROM orders o JOIN order_detail d ON d.order_id = o.id WHERE o.date = ?%s GROUP BY o.date, d.item_id";
+
+    private static final String REBUILD_CUSTOMER_SALES_SQL =
+            "INSERT INTO daily_customer_sales (sales_date, customer_id, qty, revenue, order_count) " +
+            "SELECT o.date, o.customer_id, SUM(d.qty), ROUND(SUM(d.qty * d.unit_price), 2), COUNT(DISTINCT o.id) " +
+            "FROM orders o JOIN order_detail d ON d.order_id = o.id WHERE o.date = ?%s GROUP BY o.date, o.customer_id";
+
+    // Plain read ekak, lock nathuwa: handler eka claim karala day lock ekata wait karana event row eka rebuild eka lock karoth deadlock
+    private static final String AWAITING_ROLLUP_SQL =
+            "SELECT o.id FROM orders o JOIN outbox_event e ON e.aggregate_id = o.id AND e.event_type = ? " +
+            "WHERE o.date = ? ORDER BY o.id";
+
+    private static final String INSERT_DAY_SQL = "INSERT IGNORE INTO sales_rollup_day (sales_date) VALUES (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UpsertSql upsertSql;
+
+    @Override
+    public void addItemSales(List<DailyItemSales> rows) {
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (DailyItemSales row : rows) {
+            args.add(new Object[]{row.getSalesDate(), row.getItemId(), row.getQty(), row.getRevenue(), row.getOrderCount()});
+        }
+        jdbcTemplate.batchUpdate(upsertSql.of(ADD_ITEM_SALES_SQL), args);
+    }
+
+    @Override
+    public void addCustomerSales(List<DailyCustomerSales> rows) {
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (DailyCustomerSales row : rows) {
+            args.add(new Object[]{row.getSalesDate(), row.getCustomerId(), row.getQty(), row.getRevenue(), row.getOrderCount()});
+        }
+        jdbcTemplate.batchUpdate(upsertSql.of(ADD_CUSTOMER_SALES_SQL), args);
+    }
+
+    @Override
+    public void lockDays(Collection<LocalDate> days, boolean exclusive) {
+        // Dawas order eken lock karanawa, bulk chunk dekak deadlock nowenna
+        List<LocalDate> sorted = new ArrayList<>(new TreeSet<>(days));
+        if (sorted.isEmpty()) {
+            return;
+        }
+        List<LocalDate> locked = selectDays(sorted, exclusive);
+        if (locked.size() == sorted.size()) {
+            return;
+        }
+        // Aluth dawasak: row eka hadanawa (rollback una transaction ekaka row eka nathi wenna puluwan)
+        List<LocalDate> missing = new ArrayList<>();
+        for (LocalDate day : sorted) {
+            if (!locked.contains(day)) {
+                missing.add(day);
+            }
+        }
+        int[] inserted = jdbcTemplate.batchUpdate(INSERT_DAY_SQL, missing.stream().map(day -> new Object[]{day}).toList());
+        // Api insert karapu row eka commit wenakan apita lock wela; wena kenek kalin insert karapu ewa witharak aye lock karanawa
+        List<LocalDate> raced = new ArrayList<>();
+        for (int i = 0; i < missing.size(); i++) {
+            if (inserted[i] != 1) {
+                raced.add(missing.get(i));
+            }
+        }
+        if (!raced.isEmpty()) {
+            selectDays(raced, exclusive);
+        }
+    }
+
+    private List<LocalDate> selectDays(List<LocalDate> days, boolean exclusive) {
+        String sql = "SELECT sales_date FROM sales_rollup_day WHERE sales_date IN ("
+                + String.join(", ", Collections.nCopies(days.size(), "?")) + ") ORDER BY sales_date"
+                + (exclusive ? " FOR UPDATE" : upsertSql.shareLock());
+        return jdbcTemplate.queryForList(sql, LocalDate.class, days.toArray());
+    }
+
+    @Override
+    public List<Long> findOrdersAwaitingRollup(LocalDate day) {
+        return jdbcTemplate.queryForList(AWAITING_ROLLUP_SQL, Long.class, OutboxEvent.ORDER_PLACED, day);
+    }
+
+    @Override
+    public void rebuildDay(LocalDate day, Collection<Long> skipOrderIds) {
+        // Outbox eke thama inna orders handler eka passe add karanawa, e nisa methana ganan karanne na
+        String skip = skipOrderIds.isEmpty() ? ""
+                : " AND o.id NOT IN (" + String.join(", ", Collections.nCopies(skipOrderIds.size(), "?")) + ")";
+        List<Object> args = new ArrayList<>(skipOrderIds.size() + 1);
+        args.add(day);
+        args.addAll(skipOrderIds);
+
+        jdbcTemplate.update("DELETE FROM daily_item_sales WHERE sales_date = ?", day);
+        jdbcTemplate.update(REBUILD_ITEM_SALES_SQL.formatted(skip), args.toArray());
+        jdbcTemplate.update("DELETE FROM daily_customer_sales WHERE sales_date = ?", day);
+        jdbcTemplate.update(REBUILD_CUSTOMER_SALES_SQL.formatted(skip), args.toArray());
+    }
+}
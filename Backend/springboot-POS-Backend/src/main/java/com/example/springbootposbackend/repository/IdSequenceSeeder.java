@@ -0,0 +1,53 @@
+package com.example.springbootposbackend.repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * orders, order_detail and outbox_event take their ids from pooled
+ * sequences. MySQL has no sequences, so Hibernate keeps each one as a
+ * single-row table (orders_seq.next_val, ...), and ddl-auto=update creates
+ * it starting at 1. On a database whose rows were written with the old
+ * IDENTITY ids, those sequences would hand out ids that already exist. At
+ * startup each sequence is moved up to max(id) + one allocation block. It
+ * only ever moves forward, so running it while other instances are already
+ * handing out ids is safe.
+ */
+@Component
+public class IdSequenceSeeder {
+
+    // Sequence table -> entity table. Entity eke allocationSize eka wenas karoth BLOCK ekath balanna
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "orders_seq", "orders",
+            "order_detail_seq", "order_detail",
+            "outbox_event_seq", "outbox_event");
+
+    // allocationSize eka (100): pooled optimizer eka return karana value eken block ekak pahalata ids denawa
+    private static final long BLOCK = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // EntityManagerFactory eka hadala iwara wenakan (ddl-auto eka sequence tables hadanakan) inna
+    public IdSequenceSeeder(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void seed() {
+        // H2 (tests) eke aththa sequences, parana IDENTITY data nathi nisa seed karanna deyak na
+        if (!"MySQL".equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()))) {
+            return;
+        }
+        SEQUENCES.forEach((sequence, table) -> {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            long next = maxId + BLOCK;
+            jdbcTemplate.update("UPDATE " + sequence + " SET next_val = ? WHERE next_val < ?", next, next);
+        });
+    }
+}
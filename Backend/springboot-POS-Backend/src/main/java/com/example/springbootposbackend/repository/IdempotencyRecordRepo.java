@@ -0,0 +1,24 @@
+package com.example.springbootposbackend.repository;
+
+import com.example.springbootposbackend.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface IdempotencyRecordRepo extends JpaRepository<IdempotencyRecord, String> {
+
+    // save() nam id eka assigned nisa merge ekak (SELECT + INSERT), meka kelinma INSERT; key eka thiyenawa nam unique error ekak
+    @Modifying
+    @Query(value = "insert into idempotency_key (idempotency_key, order_id, created_at) values (:key, :orderId, :createdAt)",
+            nativeQuery = true)
+    void insert(@Param("key") String key, @Param("orderId") long orderId, @Param("createdAt") Instant createdAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
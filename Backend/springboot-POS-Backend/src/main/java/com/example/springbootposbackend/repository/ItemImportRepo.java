@@ -0,0 +1,19 @@
+package com.example.springbootposbackend.repository;
+
+import com.example.springbootposbackend.cache.ItemCatalogCache.StockChange;
+import com.example.springbootposbackend.dto.ItemDTO;
+
+import java.util.List;
+
+public interface ItemImportRepo {
+    /**
+     * Inserts or updates every item in one JDBC batch (INSERT ... ON DUPLICATE
+     * KEY UPDATE). Items without an id get a new one. With withStock false the
+     * qty_on_hand of existing items is left alone and new items start at 0.
+     * Every written row is stamped with the given catalog change sequence.
+     */
+    void upsertItems(List<ItemDTO> items, boolean withStock, long changeSeq);
+
+    // Stock level of every item stamped with changeSeq, for the stock stream
+    List<StockChange> findStockByChangeSeq(long changeSeq);
+}
@@ -0,0 +1,44 @@
+package com.example.springbootposbackend.repository;
+
+import com.example.springbootposbackend.cache.ItemCatalogCache.StockChange;
+import com.example.springbootposbackend.dto.ItemDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ItemImportRepoImpl implements ItemImportRepo {
+
+    // ON DUPLICATE KEY UPDATE eke parameters na, e nisa rewriteBatchedStatements eken batch eka multi-row INSERT ekak wenawa
+    private static final String UPSERT_SQL =
+            "INSERT INTO item (id, description, unit_price, qty_on_hand, version, change_seq) VALUES (?, ?, ?, ?, 0, ?) AS new " +
+            "ON DUPLICATE KEY UPDATE description = new.description, unit_price = new.unit_price, " +
+            "qty_on_hand = new.qty_on_hand, version = item.version + 1, change_seq = new.change_seq";
+
+    private static final String UPSERT_WITHOUT_STOCK_SQL =
+            "INSERT INTO item (id, description, unit_price, qty_on_hand, version, change_seq) VALUES (?, ?, ?, 0, 0, ?) AS new " +
+            "ON DUPLICATE KEY UPDATE description = new.description, unit_price = new.unit_price, " +
+            "version = item.version + 1, change_seq = new.change_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UpsertSql upsertSql;
+
+    @Override
+    public void upsertItems(List<ItemDTO> items, boolean withStock, long changeSeq) {
+        List<Object[]> args = new ArrayList<>(items.size());
+        for (ItemDTO item : items) {
+            args.add(withStock
+                    ? new Object[]{item.getId(), item.getDescription(), item.getUnitPrice(), item.getQtyOnHand(), changeSeq}
+                    : new Object[]{item.getId(), item.getDescription(), item.getUnitPrice(), changeSeq});
+        }
+        jdbcTemplate.batchUpdate(upsertSql.of(withStock ? UPSERT_SQL : UPSERT_WITHOUT_STOCK_SQL), args);
+    }
+
+    @Override
+    public List<StockChange> findStockByChangeSeq(long changeSeq) {
+        return jdbcTemplate.query("SELECT id, qty_on_hand, version FROM item WHERE change_seq = ?",
+                (rs, rowNum) -> new StockChange(rs.getLong(1), rs.getInt(2), rs.getLong(3)), changeSeq);
+    }
+}
@@ -1,9 +1,77 @@
 package com.example.springbootposbackend.repository;
 
+import com.example.springbootposbackend.dto.ItemDTO;
+import com.example.springbootposbackend.dto.ItemPriceDTO;
 import com.example.springbootposbackend.entity.Item;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface ItemRepo extends JpaRepository<Item,Long> {
+public interface ItemRepo extends JpaRepository<Item,Long>, ItemStockRepo, ItemImportRepo {
+
+    // Basket eke items okkoma ekama query ekakin load karala id order eken lock karanawa (deadlock nathi wenna)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id in :ids order by i.id")
+    List<Item> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Optimistic mode ekata lock nathuwa load karanawa, version eka update eke check karanawa
+    @Query("select i from Item i where i.id in :ids order by i.id")
+    List<Item> findAllByIdOrdered(@Param("ids") Collection<Long> ids);
+
+    // Keyset pagination: id eka index eka use karala "after" eken passe rows, orderDetails load wenne na
+    @Query("select new com.example.springbootposbackend.dto.ItemDTO(i.id, i.description, i.unitPrice, i.qtyOnHand) from Item i " +
+            "where i.id > :after and (:descriptionPrefix is null or i.description like :descriptionPrefix escape '!') order by i.id")
+    List<ItemDTO> findPageAfter(@Param("after") long after, @Param("descriptionPrefix") String descriptionPrefix, Limit limit);
+
+    // Delta sync: since eken passe wenas una items witharai, idx_item_change_seq eka use wenawa
+    @Query("select new com.example.springbootposbackend.dto.ItemDTO(i.id, i.description, i.unitPrice, i.qtyOnHand) from Item i " +
+            "where i.changeSeq > :since order by i.changeSeq, i.id")
+    List<ItemDTO> findChangedAfter(@Param("since") long since);
+
+    // Stock ledger mode eke edit eka: qty_on_hand eka ledger eke, e nisa entity eka save karala eka parana value ekata liyanne na
+    @Modifying
+    @Query("update Item i set i.description = :description, i.unitPrice = :unitPrice, i.changeSeq = :changeSeq, " +
+            "i.version = i.version + 1 where i.id = :id")
+    int updateDetails(@Param("id") long id, @Param("description") String description,
+                      @Param("unitPrice") double unitPrice, @Param("changeSeq") long changeSeq);
+
+    @Query("select coalesce(max(i.changeSeq), 0) from Item i")
+    long findMaxChangeSeq();
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select new com.example.springbootposbackend.dto.ItemDTO(i.id, i.description, i.unitPrice, i.qtyOnHand) from Item i order by i.id")
+    Stream<ItemDTO> streamAll();
+
+    // Catalog eka cache karanna bari tharam loku nam GET /api/v1/items: entities / map ekak nathuwa kelinma DTOs
+    @Query("select new com.example.springbootposbackend.dto.ItemDTO(i.id, i.description, i.unitPrice, i.qtyOnHand) from Item i order by i.id")
+    List<ItemDTO> findAllAsDTOs();
+
+    // Price table eka: item ekakata promotion tiers kihipayak nam rows kihipayak, nathnam minQty null ekak ekka ekak
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select new com.example.springbootposbackend.dto.ItemPriceDTO(i.id, i.unitPrice, p.minQty, p.percentOffBp) " +
+            "from Item i left join Promotion p on p.itemId = i.id order by i.id")
+    Stream<ItemPriceDTO> streamPrices();
+
+    // Price table eke nathi items (item eka thiyenawada kiyala balannath meka), ekama query ekakin
+    @Query("select new com.example.springbootposbackend.dto.ItemPriceDTO(i.id, i.unitPrice, p.minQty, p.percentOffBp) " +
+            "from Item i left join Promotion p on p.itemId = i.id where i.id in :ids")
+    List<ItemPriceDTO> findPricesByIds(@Param("ids") Collection<Long> ids);
+
+    // Price table refresh: (since, upTo] athara wenas una items, idx_item_change_seq eka use wenawa
+    @Query("select new com.example.springbootposbackend.dto.ItemPriceDTO(i.id, i.unitPrice, p.minQty, p.percentOffBp) " +
+            "from Item i left join Promotion p on p.itemId = i.id where i.changeSeq > :since and i.changeSeq <= :upTo")
+    List<ItemPriceDTO> findPricesChangedBetween(@Param("since") long since, @Param("upTo") long upTo);
 }
@@ -0,0 +1,38 @@
+package com.example.springbootposbackend.repository;
+
+import com.example.springbootposbackend.cache.ItemCatalogCache.StockChange;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.function.Consumer;
+
+public interface ItemStockRepo {
+    /**
+     * Decrements qty_on_hand for every item in one JDBC batch.
+     * A row is only updated when it still has enough stock, so the returned
+     * update count for that item is 0 when the decrement was rejected.
+     * Every updated row is stamped with the given catalog change sequence.
+     */
+    int[] decrementStock(SortedMap<Long, Integer> qtyByItemId, long changeSeq);
+
+    /**
+     * Optimistic variant: a row is only updated when its version still matches
+     * the version read earlier in the transaction. An update count of 0 means
+     * another checkout touched the item in between.
+     */
+    int[] decrementStockIfUnchanged(SortedMap<Long, Integer> qtyByItemId, Map<Long, Long> versionByItemId, long changeSeq);
+
+    /**
+     * Stock ledger flush: adds each (possibly negative) delta to qty_on_hand
+     * without a stock check, because the ledger already reserved it in memory.
+     * Version and change_seq move as for any other stock write, so delta sync
+     * picks the row up.
+     */
+    int[] applyStockDeltas(SortedMap<Long, Integer> deltaByItemId, long changeSeq);
+
+    // Stock ledger eka startup eke load karanna: id, qty, version witharai, entity hadanne na
+    void forEachStock(Consumer<StockChange> action);
+
+    Optional<StockChange> findStock(long itemId);
+}
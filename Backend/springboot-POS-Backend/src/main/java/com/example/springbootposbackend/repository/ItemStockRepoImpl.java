@@ -0,0 +1,67 @@
+package com.example.springbootposbackend.repository;
+
+import com.example.springbootposbackend.cache.ItemCatalogCache.StockChange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class ItemStockRepoImpl implements ItemStockRepo {
+
+    private static final String DECREMENT_SQL =
+            "UPDATE item SET qty_on_hand = qty_on_hand - ?, version = version + 1, change_seq = ? WHERE id = ? AND qty_on_hand >= ?";
+
+    private static final String DECREMENT_IF_UNCHANGED_SQL =
+            "UPDATE item SET qty_on_hand = qty_on_hand - ?, version = version + 1, change_seq = ? WHERE id = ? AND version = ? AND qty_on_hand >= ?";
+
+    private static final String APPLY_DELTA_SQL =
+            "UPDATE item SET qty_on_hand = qty_on_hand + ?, version = version + 1, change_seq = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] decrementStock(SortedMap<Long, Integer> qtyByItemId, long changeSeq) {
+        List<Object[]> args = new ArrayList<>(qtyByItemId.size());
+        for (Map.Entry<Long, Integer> entry : qtyByItemId.entrySet()) {
+            args.add(new Object[]{entry.getValue(), changeSeq, entry.getKey(), entry.getValue()});
+        }
+        return jdbcTemplate.batchUpdate(DECREMENT_SQL, args);
+    }
+
+    @Override
+    public int[] decrementStockIfUnchanged(SortedMap<Long, Integer> qtyByItemId, Map<Long, Long> versionByItemId, long changeSeq) {
+        List<Object[]> args = new ArrayList<>(qtyByItemId.size());
+        for (Map.Entry<Long, Integer> entry : qtyByItemId.entrySet()) {
+            args.add(new Object[]{entry.getValue(), changeSeq, entry.getKey(), versionByItemId.get(entry.getKey()), entry.getValue()});
+        }
+        return jdbcTemplate.batchUpdate(DECREMENT_IF_UNCHANGED_SQL, args);
+    }
+
+    @Override
+    public int[] applyStockDeltas(SortedMap<Long, Integer> deltaByItemId, long changeSeq) {
+        List<Object[]> args = new ArrayList<>(deltaByItemId.size());
+        for (Map.Entry<Long, Integer> entry : deltaByItemId.entrySet()) {
+            args.add(new Object[]{entry.getValue(), changeSeq, entry.getKey()});
+        }
+        return jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, args);
+    }
+
+    @Override
+    public void forEachStock(Consumer<StockChange> action) {
+        jdbcTemplate.query("SELECT id, qty_on_hand, version FROM item",
+                (RowCallbackHandler) rs -> action.accept(new StockChange(rs.getLong(1), rs.getInt(2), rs.getLong(3))));
+    }
+
+    @Override
+    public Optional<StockChange> findStock(long itemId) {
+        return jdbcTemplate.query("SELECT id, qty_on_hand, version FROM item WHERE id = ?",
+                (rs, rowNum) -> new StockChange(rs.getLong(1), rs.getInt(2), rs.getLong(3)), itemId).stream().findFirst();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.springbootposbackend.repository;
+
+import com.example.springbootposbackend.entity.ItemTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ItemTombstoneRepo extends JpaRepository<ItemTombstone, Long> {
+
+    @Query("select t.itemId from ItemTombstone t where t.changeSeq > :since order by t.changeSeq")
+    List<Long> findItemIdsChangedAfter(@Param("since") long since);
+
+    @Query("select coalesce(max(t.changeSeq), 0) from ItemTombstone t")
+    long findMaxChangeSeq();
+}
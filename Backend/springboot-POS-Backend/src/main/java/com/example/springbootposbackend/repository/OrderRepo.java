@@ -1,7 +1,47 @@
 package com.example.springbootposbackend.repository;
 
+import com.example.springbootposbackend.dto.OrderLineDTO;
 import com.example.springbootposbackend.entity.Order;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface OrderRepo extends JpaRepository<Order, String> {
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface OrderRepo extends JpaRepository<Order, Long> {
+
+    // Order eka detail line ekak ekka ekama row ekak: receipt ekak ekama query ekakin hadanna puluwan
+    String ORDER_LINES = "select new com.example.springbootposbackend.dto.OrderLineDTO(" +
+            "o.id, o.date, o.customer.id, d.item.id, d.qty, d.unitPrice) from OrderDetail d join d.order o ";
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query(ORDER_LINES + "order by o.id, d.id")
+    Stream<OrderLineDTO> streamAllLines();
+
+    @Query(ORDER_LINES + "where o.id = :orderId order by d.id")
+    List<OrderLineDTO> findLinesByOrderId(@Param("orderId") long orderId);
+
+    // idx_orders_customer_date eka use wenawa
+    @Query(ORDER_LINES + "where o.customer.id = :customerId order by o.date desc, o.id desc, d.id")
+    List<OrderLineDTO> findLinesByCustomerId(@Param("customerId") long customerId);
+
+    @Query(ORDER_LINES + "where o.date between :from and :to order by o.date, o.id, d.id")
+    List<OrderLineDTO> findLinesByDateRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select min(o.date) from Order o")
+    LocalDate findFirstOrderDate();
+
+    @Query("select max(o.date) from Order o")
+    LocalDate findLastOrderDate();
+
+    // Stock ledger recovery: WAL eke thiyena orders walin commit wela thiyena ewa witharai
+    @Query("select o.id from Order o where o.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
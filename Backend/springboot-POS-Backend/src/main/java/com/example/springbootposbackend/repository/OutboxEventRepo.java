@@ -0,0 +1,32 @@
+package com.example.springbootposbackend.repository;
+
+import com.example.springbootposbackend.entity.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepo extends JpaRepository<OutboxEvent, Long> {
+
+    // Key ekaka backoff eke inna event ekak thiyenawa nam eeta passe ewath ganne na (customer order eka).
+    // Handler nathi types table eke thiyenawa (handler eka aye enakan), poll eka ewa ganne na
+    @Query("select e from OutboxEvent e where e.eventType in :types and not exists (" +
+            "select b.id from OutboxEvent b where b.partitionKey = e.partitionKey and b.id <= e.id " +
+            "and b.nextAttemptAt > :now) order by e.id")
+    List<OutboxEvent> findReady(@Param("types") Collection<String> types, @Param("now") Instant now, Limit limit);
+
+    // deleteById nam kalin SELECT ekak; meka kelinma DELETE, 0 nam wena kenek kalin iwara karala
+    @Modifying
+    @Query("delete from OutboxEvent e where e.id = :id")
+    int deleteEvent(@Param("id") long id);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt, " +
+            "e.lastError = :error where e.id = :id")
+    int markFailed(@Param("id") long id, @Param("nextAttemptAt") Instant nextAttemptAt, @Param("error") String error);
+}
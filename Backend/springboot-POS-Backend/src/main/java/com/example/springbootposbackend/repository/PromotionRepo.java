@@ -0,0 +1,8 @@
+package com.example.springbootposbackend.repository;
+
+import com.example.springbootposbackend.entity.Promotion;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+// Price table eka promotions kiyawanne ItemRepo eke join eken; meka admin / tests walata
+public interface PromotionRepo extends JpaRepository<Promotion, Long> {
+}
@@ -0,0 +1,11 @@
+package com.example.springbootposbackend.repository;
+
+import com.example.springbootposbackend.entity.StockLedgerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface StockLedgerCheckpointRepo extends JpaRepository<StockLedgerCheckpoint, Integer> {
+
+    @Query("select coalesce(max(c.walSeq), 0) from StockLedgerCheckpoint c")
+    long findWalSeq();
+}
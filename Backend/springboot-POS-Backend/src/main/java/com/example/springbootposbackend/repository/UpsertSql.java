@@ -0,0 +1,56 @@
+package com.example.springbootposbackend.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * INSERT ... ON DUPLICATE KEY UPDATE statements are written with the MySQL
+ * row alias ("VALUES (...) AS new ... col = new.col"), because VALUES(col)
+ * in the update clause is deprecated since MySQL 8.0.20. H2's MySQL mode,
+ * which the tests run on, only understands VALUES(col), so on any other
+ * database the alias is rewritten to that form once per statement. The
+ * shared row lock clause differs the same way: H2 has no FOR SHARE.
+ */
+@Component
+public class UpsertSql {
+
+    private static final Pattern ALIAS = Pattern.compile("\\s+AS new(?=\\s+ON DUPLICATE KEY UPDATE)");
+    private static final Pattern ALIAS_COLUMN = Pattern.compile("\\bnew\\.(\\w+)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, String> translated = new ConcurrentHashMap<>();
+    private volatile Boolean mysql;
+
+    public UpsertSql(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public String of(String rowAliasSql) {
+        if (isMysql()) {
+            return rowAliasSql;
+        }
+        return translated.computeIfAbsent(rowAliasSql,
+                sql -> ALIAS_COLUMN.matcher(ALIAS.matcher(sql).replaceFirst("")).replaceAll("VALUES($1)"));
+    }
+
+    // MySQL eke shared lock eka; H2 eke eka nathi nisa exclusive (tests walata witharai)
+    public String shareLock() {
+        return isMysql() ? " FOR SHARE" : " FOR UPDATE";
+    }
+
+    // Palaweni upsert eke connection eka eken database eka hoyanawa (startup eke connection ekak ganne na)
+    private boolean isMysql() {
+        Boolean result = mysql;
+        if (result == null) {
+            result = "MySQL".equals(jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+            mysql = result;
+        }
+        return result;
+    }
+}
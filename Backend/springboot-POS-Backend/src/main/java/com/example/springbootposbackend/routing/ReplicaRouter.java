@@ -0,0 +1,245 @@
+package com.example.springbootposbackend.routing;
+
+import com.example.springbootposbackend.config.ReplicaProperties;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Owns the primary and replica pools behind the application DataSource (see
+ * ReplicaDataSourceConfig). LazyConnectionDataSourceProxy asks
+ * {@link #readOnlyDataSource()} for a connection when a read-only
+ * transaction runs its first statement, and that hands out a replica connection
+ * only if the thread was allowed one by {@link ReplicaRouting}, the replica's
+ * last heartbeat is within pos.replica.max-lag-ms and newer than the
+ * client's last write. Otherwise, or if the replica pool cannot connect, the
+ * read goes to the primary.
+ * <p>
+ * Lag is measured with a heartbeat: every interval the primary's
+ * replica_heartbeat row is set to the current time, and each replica's copy
+ * of the row says how far behind that replica is. Every instance writes that
+ * row with its own clock, and a write's floor can come back from a till that
+ * wrote through another instance, so a replica must have a heartbeat more
+ * than pos.replica.clock-skew-ms past the floor; clocks further apart than
+ * that can hand out a replica that lacks the write.
+ */
+public class ReplicaRouter {
+
+    private static final String UPDATE_BEAT = "update replica_heartbeat set beat_at_ms = ? where id = 1";
+    private static final String INSERT_BEAT = "insert into replica_heartbeat (id, beat_at_ms) values (1, ?)";
+    private static final String SELECT_BEAT = "select beat_at_ms from replica_heartbeat where id = 1";
+
+    private final HikariDataSource primary;
+    private final ReplicaProperties properties;
+    private final MeterRegistry registry;
+    private final long stickyMs;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Map<String, Long> lastWriteByClient = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryReads;
+    private final Counter failovers;
+    // Clients map eka piruna welawata: me welawata passe replica ekata aave nathi nam kisima client kenek replica ekata yanne na
+    private volatile long untrackedWriteAt;
+    private ScheduledExecutorService heartbeat;
+
+    public ReplicaRouter(HikariDataSource primary, ReplicaProperties properties, MeterRegistry registry) {
+        this.primary = primary;
+        this.properties = properties;
+        this.registry = registry;
+        // Sticky kalaya lag limit ekata wada adu nam, amathaka karapu client kenekta eyage write eka nathi replica ekak hambawenna puluwan
+        this.stickyMs = Math.max(properties.getStickyMs(),
+                properties.getMaxLagMs() + properties.getHeartbeatIntervalMs() + properties.getClockSkewMs());
+        this.primaryReads = Counter.builder("pos.replica.reads")
+                .description("Read-only connections handed out, by target")
+                .tag("target", "primary")
+                .register(registry);
+        this.failovers = Counter.builder("pos.replica.failovers")
+                .description("Replica connections that failed and were replaced by a primary connection")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        List<ReplicaProperties.Replica> configured = properties.getDatasources();
+        for (int i = 0; i < configured.size(); i++) {
+            replicas.add(new Replica("replica-" + i, pool("pos-replica-" + i, configured.get(i)), registry));
+        }
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getHeartbeatIntervalMs();
+        heartbeat.scheduleWithFixedDelay(this::beat, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (heartbeat != null) {
+            heartbeat.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            replica.pool.close();
+        }
+        primary.close();
+    }
+
+    public HikariDataSource primary() {
+        return primary;
+    }
+
+    public DataSource readOnlyDataSource() {
+        return new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return readConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return primary.getConnection(username, password);
+            }
+        };
+    }
+
+    private Connection readConnection() throws SQLException {
+        Long floor = ReplicaRouting.replicaFloor();
+        if (floor != null && !replicas.isEmpty()) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (!replica.healthy || replica.beatAtMs <= Math.max(floor, untrackedWriteAt) + properties.getClockSkewMs()) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.pool.getConnection();
+                    replica.reads.increment();
+                    return connection;
+                } catch (SQLException ex) {
+                    // Aluth heartbeat ekak hari yanakan me replica eka paniyanawa
+                    replica.healthy = false;
+                    failovers.increment();
+                }
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    // Write eka commit wela response eka yanna kalin; eeta passe heartbeat ekak replica ekata ena thek client eka primary eken.
+    // Return karana floor eka till ekata yanawa (wena instance walata)
+    public long recordWrite(String client) {
+        long now = System.currentTimeMillis();
+        if (lastWriteByClient.size() >= properties.getMaxTrackedClients() && !lastWriteByClient.containsKey(client)) {
+            untrackedWriteAt = now;
+            return now;
+        }
+        lastWriteByClient.put(client, now);
+        return now;
+    }
+
+    // Client eke anthima write eka (nathnam 0); replica eke heartbeat eka meeta wada aluth wenna ona
+    public long readFloor(String client) {
+        Long lastWrite = lastWriteByClient.get(client);
+        return lastWrite == null ? 0 : lastWrite;
+    }
+
+    public int healthyReplicas() {
+        int healthy = 0;
+        for (Replica replica : replicas) {
+            if (replica.healthy) {
+                healthy++;
+            }
+        }
+        return healthy;
+    }
+
+    /**
+     * Writes the primary heartbeat, reads it back from every replica and
+     * updates their health. Runs on the heartbeat thread; public so tests
+     * can take a step without waiting for the interval.
+     */
+    public synchronized void beat() {
+        long now = System.currentTimeMillis();
+        try (Connection connection = primary.getConnection();
+             PreparedStatement update = connection.prepareStatement(UPDATE_BEAT)) {
+            update.setLong(1, now);
+            if (update.executeUpdate() == 0) {
+                try (PreparedStatement insert = connection.prepareStatement(INSERT_BEAT)) {
+                    insert.setLong(1, now);
+                    insert.executeUpdate();
+                }
+            }
+        } catch (SQLException ex) {
+            // Primary eka nathnam replicas lag eka mananna ba; parana beat eka ekka replicas tika welawakin unhealthy wenawa
+        }
+
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection();
+                 PreparedStatement select = connection.prepareStatement(SELECT_BEAT);
+                 ResultSet rs = select.executeQuery()) {
+                replica.beatAtMs = rs.next() ? rs.getLong(1) : 0;
+                replica.healthy = replica.beatAtMs > 0 && now - replica.beatAtMs <= properties.getMaxLagMs();
+            } catch (SQLException ex) {
+                replica.healthy = false;
+            }
+        }
+
+        lastWriteByClient.values().removeIf(writeAt -> now - writeAt > stickyMs);
+    }
+
+    private HikariDataSource pool(String name, ReplicaProperties.Replica config) {
+        HikariConfig hikari = new HikariConfig();
+        hikari.setPoolName(name);
+        hikari.setJdbcUrl(config.getUrl());
+        hikari.setUsername(config.getUsername());
+        hikari.setPassword(config.getPassword());
+        hikari.setMaximumPoolSize(config.getMaximumPoolSize());
+        hikari.setConnectionTimeout(config.getConnectionTimeoutMs());
+        hikari.setReadOnly(true);
+        // Replica eka down unath app eka start wenawa, heartbeat eka eya unhealthy kiyala mark karanawa
+        hikari.setInitializationFailTimeout(-1);
+        hikari.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        return new HikariDataSource(hikari);
+    }
+
+    private static final class Replica {
+        private final HikariDataSource pool;
+        private final Counter reads;
+        private volatile boolean healthy;
+        private volatile long beatAtMs;
+
+        private Replica(String name, HikariDataSource pool, MeterRegistry registry) {
+            this.pool = pool;
+            this.reads = Counter.builder("pos.replica.reads")
+                    .description("Read-only connections handed out, by target")
+                    .tag("target", name)
+                    .register(registry);
+            Gauge.builder("pos.replica.lag", this, r -> r.beatAtMs == 0 ? Double.NaN : System.currentTimeMillis() - r.beatAtMs)
+                    .description("Age of the newest heartbeat seen on the replica")
+                    .tag("replica", name)
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        }
+    }
+}
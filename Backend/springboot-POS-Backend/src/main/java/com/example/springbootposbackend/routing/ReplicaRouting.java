@@ -0,0 +1,44 @@
+package com.example.springbootposbackend.routing;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread permission for read-only transactions to use a replica. Nothing
+ * is allowed by default, so background threads, checkout and anything else
+ * that never passes through ReadRoutingFilter keep reading the primary. The
+ * floor is the time of the client's last write: a replica whose heartbeat is
+ * not newer than it may not have that write yet.
+ */
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Long> FLOOR = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    public static void allowReplica(long floorMs) {
+        FLOOR.set(floorMs);
+    }
+
+    public static void clear() {
+        FLOOR.remove();
+    }
+
+    // null = primary eka witharai
+    public static Long replicaFloor() {
+        return FLOOR.get();
+    }
+
+    // Primary eke watermark ekak ekka ekata ona reads (catalog ETag / delta sync) walata
+    public static <T> T onPrimary(Supplier<T> read) {
+        Long floor = FLOOR.get();
+        FLOOR.remove();
+        try {
+            return read.get();
+        } finally {
+            if (floor != null) {
+                FLOOR.set(floor);
+            }
+        }
+    }
+}
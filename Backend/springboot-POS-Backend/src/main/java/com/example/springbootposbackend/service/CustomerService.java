@@ -1,6 +1,7 @@
 package com.example.springbootposbackend.service;
 
 
+import com.example.springbootposbackend.dto.CursorPageDTO;
 import com.example.springbootposbackend.dto.CustomerDTO;
 
 import java.util.List;
@@ -13,4 +14,8 @@ public interface CustomerService {
     public void deleteCustomer(long customerId);
 
     public List<CustomerDTO> getAllCustomer();
+
+    public CursorPageDTO<CustomerDTO> getCustomerPage(Long after, Integer size, String namePrefix);
+
+    public List<CustomerDTO> searchCustomers(String query, Integer limit);
 }
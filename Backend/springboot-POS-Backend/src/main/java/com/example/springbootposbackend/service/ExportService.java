@@ -0,0 +1,40 @@
+package com.example.springbootposbackend.service;
+
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+
+    enum Format {
+        JSONL(MediaType.APPLICATION_NDJSON, "jsonl"),
+        CSV(new MediaType("text", "csv"), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            return "csv".equalsIgnoreCase(value) ? CSV : JSONL;
+        }
+    }
+
+    public void exportCustomers(Format format, OutputStream out) throws IOException;
+
+    public void exportItems(Format format, OutputStream out) throws IOException;
+
+    public void exportOrders(Format format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,12 @@
+package com.example.springbootposbackend.service;
+
+import com.example.springbootposbackend.dto.OrderDTO;
+
+public interface IdempotencyService {
+
+    // Ekama key eken kalin order ekak place wela nam eke id eka, nathnam aluthin place karala id eka
+    public Long placeOrder(String idempotencyKey, OrderDTO orderDTO);
+
+    // pos.idempotency.ttl-ms wada parana keys DB eken delete karanawa; delete karapu gana return karanawa
+    public int purgeExpired();
+}
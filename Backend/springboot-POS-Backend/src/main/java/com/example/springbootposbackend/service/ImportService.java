@@ -0,0 +1,15 @@
+package com.example.springbootposbackend.service;
+
+import com.example.springbootposbackend.dto.ImportResultDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ImportService {
+
+    // Header: id,description,unitPrice,qtyOnHand (id saha qtyOnHand columns optional)
+    public ImportResultDTO importItems(InputStream csv) throws IOException;
+
+    // Header: id,name,address (id column eka optional)
+    public ImportResultDTO importCustomers(InputStream csv) throws IOException;
+}
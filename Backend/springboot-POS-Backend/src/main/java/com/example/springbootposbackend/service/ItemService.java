@@ -1,5 +1,7 @@
 package com.example.springbootposbackend.service;
 
+import com.example.springbootposbackend.dto.CatalogDeltaDTO;
+import com.example.springbootposbackend.dto.CursorPageDTO;
 import com.example.springbootposbackend.dto.ItemDTO;
 
 import java.util.List;
@@ -9,4 +11,7 @@ public interface ItemService {
     public void updateItem(ItemDTO itemDTO);
     public void deleteItem(long id);
     public List<ItemDTO> getAllItems();
+    public String getCatalogETag();
+    public CatalogDeltaDTO getChangesSince(long since);
+    public CursorPageDTO<ItemDTO> getItemPage(Long after, Integer size, String descriptionPrefix);
 }
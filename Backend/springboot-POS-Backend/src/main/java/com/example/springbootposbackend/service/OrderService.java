@@ -1,7 +1,24 @@
 package com.example.springbootposbackend.service;
 
+import com.example.springbootposbackend.dto.BulkOrderResultDTO;
 import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderReceiptDTO;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
 
 public interface OrderService {
-    public void placeOrder(OrderDTO orderDTO);
+    public Long placeOrder(OrderDTO orderDTO);
+
+    // idempotencyKey eka order ekath ekkama save wenawa; ekama key eka dekaparak commit wenna be
+    public Long placeOrder(OrderDTO orderDTO, String idempotencyKey);
+
+    public List<BulkOrderResultDTO> placeOrders(Iterator<OrderDTO> orders);
+
+    public OrderReceiptDTO getOrder(long orderId);
+
+    public List<OrderReceiptDTO> getOrdersByCustomer(long customerId);
+
+    public List<OrderReceiptDTO> getOrdersByDateRange(LocalDate from, LocalDate to);
 }
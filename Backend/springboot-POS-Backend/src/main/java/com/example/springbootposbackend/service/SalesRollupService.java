@@ -0,0 +1,29 @@
+package com.example.springbootposbackend.service;
+
+import com.example.springbootposbackend.dto.DailyCustomerSalesDTO;
+import com.example.springbootposbackend.dto.DailyItemSalesDTO;
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.entity.Order;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface SalesRollupService {
+
+    // Order place karana transaction ekema athule call karanna ona
+    public void recordOrders(List<Order> orders);
+
+    // Order eka commit wela passe (outbox eken), handler eke transaction eka athule
+    public void recordPlacedOrders(List<OrderDTO> orders);
+
+    // Rollups nathuwa orders witharak liyana checkout (async) eka: orders insert karanna kalin dawas wala shared lock eka
+    public void lockDays(Collection<LocalDate> days);
+
+    public List<DailyItemSalesDTO> getItemSales(LocalDate date);
+
+    public List<DailyCustomerSalesDTO> getCustomerSales(LocalDate date);
+
+    // Rebuild karapu dawas gana return karanawa
+    public int rebuildRollups(LocalDate from, LocalDate to);
+}
@@ -1,27 +1,51 @@
 package com.example.springbootposbackend.service.impl;
 
+import com.example.springbootposbackend.cache.CustomerSearchIndex;
+import com.example.springbootposbackend.cache.KnownIdCache;
+import com.example.springbootposbackend.config.CustomerSearchProperties;
+import com.example.springbootposbackend.config.PagingProperties;
+import com.example.springbootposbackend.dto.CursorPageDTO;
 import com.example.springbootposbackend.entity.Customer;
 import com.example.springbootposbackend.repository.CustomerRepo;
 import com.example.springbootposbackend.service.CustomerService;
 import com.example.springbootposbackend.dto.CustomerDTO;
+import com.example.springbootposbackend.mapper.CustomerMapper;
+import com.example.springbootposbackend.util.CursorPages;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.annotations.NotFound;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class CustomerServiceIMPL implements CustomerService {
     private final CustomerRepo customerRepo;
-    private final ModelMapper modelMapper;
+    private final CustomerMapper customerMapper;
+    private final PagingProperties pagingProperties;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final CustomerSearchProperties customerSearchProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final KnownIdCache knownIdCache;
+
+    // Startup eke customers okkoma stream karala search index eka hadanawa (entities load wenne na)
+    @PostConstruct
+    void buildSearchIndex() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<CustomerDTO> customers = customerRepo.streamAll()) {
+                customerSearchIndex.rebuild(customers::iterator);
+            }
+        });
+    }
 
     @Override
     public void saveCustomer(CustomerDTO customerDTO) {
-        customerRepo.save(modelMapper.map(customerDTO, Customer.class));
-
+        Customer saved = customerRepo.save(customerMapper.toEntity(customerDTO));
+        customerSearchIndex.put(saved.getId(), saved.getName(), saved.getAddress());
     }
 
     @Override
@@ -32,18 +56,35 @@ public class CustomerServiceIMPL implements CustomerService {
 //                        new NullPointerException("Customer with ID " + customerDTO.getId() + " not found.")
 //                );
 
-        customerRepo.save(modelMapper.map(customerDTO, Customer.class));
+        Customer saved = customerRepo.save(customerMapper.toEntity(customerDTO));
+        customerSearchIndex.put(saved.getId(), saved.getName(), saved.getAddress());
     }
 
     @Override
     public void deleteCustomer(long customerId) {
         customerRepo.deleteById(customerId);
+        customerSearchIndex.remove(customerId);
+        knownIdCache.removeCustomer(customerId);
+    }
 
+    @Override
+    public List<CustomerDTO> searchCustomers(String query, Integer limit) {
+        int max = limit == null || limit <= 0 ? customerSearchProperties.getDefaultLimit()
+                : Math.min(limit, customerSearchProperties.getMaxLimit());
+        return customerSearchIndex.search(query, max);
     }
 
     @Override
     public List<CustomerDTO> getAllCustomer() {
         List<Customer> customers = customerRepo.findAll();
-        return modelMapper.map(customers, new TypeToken<List<CustomerDTO>>() {}.getType());
+        return customerMapper.toDTOs(customers);
+    }
+
+    @Override
+    public CursorPageDTO<CustomerDTO> getCustomerPage(Long after, Integer size, String namePrefix) {
+        int pageSize = CursorPages.pageSize(size, pagingProperties);
+        List<CustomerDTO> rows = customerRepo.findPageAfter(after == null ? 0 : after,
+                CursorPages.likePrefix(namePrefix), Limit.of(pageSize + 1));
+        return CursorPages.of(rows, pageSize, CustomerDTO::getId);
     }
 }
@@ -0,0 +1,127 @@
+package com.example.springbootposbackend.service.impl;
+
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.repository.OrderRepo;
+import com.example.springbootposbackend.service.ExportService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.SequenceWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streams whole tables to the response row by row. Rows come from forward-only
+ * DTO projection streams inside a read-only transaction, so neither the
+ * persistence context nor the response buffer grows with the table size.
+ */
+@Service
+public class ExportServiceIMPL implements ExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final CustomerRepo customerRepo;
+    private final ItemRepo itemRepo;
+    private final OrderRepo orderRepo;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportServiceIMPL(CustomerRepo customerRepo, ItemRepo itemRepo, OrderRepo orderRepo,
+                             ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.customerRepo = customerRepo;
+        this.itemRepo = itemRepo;
+        this.orderRepo = orderRepo;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void exportCustomers(Format format, OutputStream out) throws IOException {
+        export(customerRepo::streamAll, format, out, new String[]{"id", "name", "address"},
+                customer -> new Object[]{customer.getId(), customer.getName(), customer.getAddress()});
+    }
+
+    @Override
+    public void exportItems(Format format, OutputStream out) throws IOException {
+        export(itemRepo::streamAll, format, out, new String[]{"id", "description", "unitPrice", "qtyOnHand"},
+                item -> new Object[]{item.getId(), item.getDescription(), item.getUnitPrice(), item.getQtyOnHand()});
+    }
+
+    @Override
+    public void exportOrders(Format format, OutputStream out) throws IOException {
+        export(orderRepo::streamAllLines, format, out,
+                new String[]{"orderId", "date", "customerId", "itemId", "qty", "unitPrice"},
+                line -> new Object[]{line.getOrderId(), line.getDate(), line.getCustomerId(),
+                        line.getItemId(), line.getQty(), line.getUnitPrice()});
+    }
+
+    private <T> void export(Supplier<Stream<T>> query, Format format, OutputStream out,
+                            String[] header, Function<T, Object[]> csvColumns) throws IOException {
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<T> rows = query.get()) {
+                    if (format == Format.CSV) {
+                        writeCsv(rows.iterator(), out, header, csvColumns);
+                    } else {
+                        writeJsonLines(rows.iterator(), out);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private <T> void writeJsonLines(Iterator<T> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        try (SequenceWriter sequence = objectMapper.writer().withRootValueSeparator("\n").writeValues(writer)) {
+            while (rows.hasNext()) {
+                sequence.write(rows.next());
+            }
+        }
+    }
+
+    private <T> void writeCsv(Iterator<T> rows, OutputStream out, String[] header,
+                              Function<T, Object[]> csvColumns) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writeCsvRow(writer, header);
+        while (rows.hasNext()) {
+            writeCsvRow(writer, csvColumns.apply(rows.next()));
+        }
+        writer.flush();
+    }
+
+    private void writeCsvRow(Writer writer, Object[] columns) throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (columns[i] != null) {
+                writer.write(csvEscape(columns[i].toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    private String csvEscape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
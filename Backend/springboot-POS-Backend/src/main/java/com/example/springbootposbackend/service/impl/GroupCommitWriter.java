@@ -0,0 +1,126 @@
+package com.example.springbootposbackend.service.impl;
+
+import com.example.springbootposbackend.dto.BulkOrderResultDTO;
+import com.example.springbootposbackend.dto.OrderDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Coalesces concurrent checkouts into one transaction. Callers block in
+ * {@link #submit} while a single writer thread drains the queue every
+ * window or every maxOrders orders, whichever comes first, and hands the
+ * batch to the bulk chunk path. Each caller gets the result for its own
+ * order, so a rejected order does not fail the rest of the batch.
+ */
+class GroupCommitWriter {
+
+    private record Pending(OrderDTO order, String idempotencyKey, CompletableFuture<BulkOrderResultDTO> result) {
+    }
+
+    private final BiFunction<List<OrderDTO>, List<String>, List<BulkOrderResultDTO>> placeBatch;
+    private final long windowNanos;
+    private final int maxOrders;
+    // Writer eka pitipassen innawa nam callers mehe block wenawa (backpressure)
+    private final BlockingQueue<Pending> queue;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    GroupCommitWriter(BiFunction<List<OrderDTO>, List<String>, List<BulkOrderResultDTO>> placeBatch, long windowMs, int maxOrders) {
+        this.placeBatch = placeBatch;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.maxOrders = maxOrders;
+        this.queue = new LinkedBlockingQueue<>(maxOrders * 100);
+        this.writer = new Thread(this::run, "order-group-commit");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    BulkOrderResultDTO submit(OrderDTO order, String idempotencyKey) {
+        Pending pending = new Pending(order, idempotencyKey, new CompletableFuture<>());
+        try {
+            queue.put(pending);
+            if (!running) {
+                throw new IllegalStateException("Group commit writer is stopped");
+            }
+            return pending.result().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for group commit", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Group commit failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    void stop() {
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failRemaining(new IllegalStateException("Group commit writer is stopped"));
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxOrders);
+        while (running) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxOrders) {
+                    long left = deadline - System.nanoTime();
+                    Pending next = left > 0 ? queue.poll(left, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // stop() eken: already ganna orders commit karala iwara karanawa
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        List<OrderDTO> orders = new ArrayList<>(batch.size());
+        List<String> keys = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            orders.add(pending.order());
+            keys.add(pending.idempotencyKey());
+        }
+        try {
+            List<BulkOrderResultDTO> results = placeBatch.apply(orders, keys);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(results.get(i));
+            }
+        } catch (RuntimeException ex) {
+            for (Pending pending : batch) {
+                pending.result().completeExceptionally(ex);
+            }
+        }
+    }
+
+    private void failRemaining(RuntimeException ex) {
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(ex);
+        }
+    }
+}
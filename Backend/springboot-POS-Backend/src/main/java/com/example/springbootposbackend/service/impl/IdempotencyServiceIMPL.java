@@ -0,0 +1,94 @@
+package com.example.springbootposbackend.service.impl;
+
+import com.example.springbootposbackend.cache.IdempotencyCache;
+import com.example.springbootposbackend.config.IdempotencyProperties;
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.entity.IdempotencyRecord;
+import com.example.springbootposbackend.exception.InvalidOrderException;
+import com.example.springbootposbackend.repository.IdempotencyRecordRepo;
+import com.example.springbootposbackend.service.IdempotencyService;
+import com.example.springbootposbackend.service.OrderService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+public class IdempotencyServiceIMPL implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final OrderService orderService;
+    private final IdempotencyCache idempotencyCache;
+    private final IdempotencyRecordRepo idempotencyRecordRepo;
+    private final IdempotencyProperties properties;
+
+    private ScheduledExecutorService purger;
+
+    @PostConstruct
+    void start() {
+        purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getPurgeIntervalMs();
+        purger.scheduleWithFixedDelay(this::purgeQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (purger != null) {
+            purger.shutdownNow();
+        }
+    }
+
+    @Override
+    public Long placeOrder(String idempotencyKey, OrderDTO orderDTO) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return orderService.placeOrder(orderDTO);
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            // Till eke waradi request ekak: 500 nemei 400
+            throw new InvalidOrderException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+        return idempotencyCache.computeIfAbsent(idempotencyKey, () -> findOrderId(idempotencyKey)
+                .orElseGet(() -> placeNew(idempotencyKey, orderDTO)));
+    }
+
+    @Override
+    public int purgeExpired() {
+        return idempotencyRecordRepo.deleteCreatedBefore(Instant.now().minusMillis(properties.getTtlMs()));
+    }
+
+    private void purgeQuietly() {
+        try {
+            purgeExpired();
+        } catch (RuntimeException ignored) {
+            // DB eka nathi welawaka; next interval eke aye try karanawa
+        }
+    }
+
+    private Long placeNew(String idempotencyKey, OrderDTO orderDTO) {
+        try {
+            return orderService.placeOrder(orderDTO, idempotencyKey);
+        } catch (InvalidOrderException ex) {
+            // Basket eka waradi nam kawuruth ekama key eken order ekak hadala na, lookup ekak ona na
+            throw ex;
+        } catch (RuntimeException ex) {
+            // Wena instance ekakin ekama key eka kalin commit una nam unique key error eka; eya hadapu order eka denawa
+            return findOrderId(idempotencyKey).orElseThrow(() -> ex);
+        }
+    }
+
+    private Optional<Long> findOrderId(String idempotencyKey) {
+        return idempotencyRecordRepo.findById(idempotencyKey).map(IdempotencyRecord::getOrderId);
+    }
+}
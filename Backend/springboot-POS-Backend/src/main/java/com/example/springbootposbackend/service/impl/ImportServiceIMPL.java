@@ -0,0 +1,364 @@
+package com.example.springbootposbackend.service.impl;
+
+import com.example.springbootposbackend.cache.CatalogChangeSequence;
+import com.example.springbootposbackend.cache.CustomerSearchIndex;
+import com.example.springbootposbackend.cache.ItemCatalogCache;
+import com.example.springbootposbackend.cache.ItemCatalogCache.StockChange;
+import com.example.springbootposbackend.config.ImportProperties;
+import com.example.springbootposbackend.dto.CustomerDTO;
+import com.example.springbootposbackend.dto.ImportErrorDTO;
+import com.example.springbootposbackend.dto.ImportResultDTO;
+import com.example.springbootposbackend.dto.ItemDTO;
+import com.example.springbootposbackend.ledger.StockLedger;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.pricing.PricingEngine;
+import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.service.ImportService;
+import com.example.springbootposbackend.stream.StockStream;
+import com.example.springbootposbackend.util.CsvReader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streams a CSV upload into the database in chunks of pos.import.chunk-size
+ * rows. Each chunk is one JDBC batch in its own short transaction, sorted by
+ * id like checkout locks its items, so a checkout waits for at most one chunk
+ * and the two never deadlock. Rows that fail validation are reported by line
+ * and skipped. When the database rejects a chunk its rows are retried one by
+ * one to find the bad ones. Only the current chunk and a capped error list
+ * are kept, whatever the file size.
+ */
+@Service
+@RequiredArgsConstructor
+public class ImportServiceIMPL implements ImportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final ItemRepo itemRepo;
+    private final CustomerRepo customerRepo;
+    private final ImportProperties importProperties;
+    private final CatalogChangeSequence catalogChangeSequence;
+    private final ItemCatalogCache itemCatalogCache;
+    private final StockStream stockStream;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final StockLedger stockLedger;
+    private final TransactionTemplate transactionTemplate;
+    private final PricingEngine pricingEngine;
+
+    @Override
+    public ImportResultDTO importItems(InputStream csv) throws IOException {
+        CsvReader reader = reader(csv);
+        Columns columns = Columns.read(reader, "description", "unitPrice");
+        int id = columns.optional("id");
+        int description = columns.required("description");
+        int unitPrice = columns.required("unitPrice");
+        int qtyOnHand = columns.optional("qtyOnHand");
+        boolean withStock = qtyOnHand >= 0;
+
+        Report report = new Report(importProperties.getMaxErrors());
+        readChunks(reader, report, record -> {
+            Long itemId = parseId(record, id);
+            String text = text(record, description, "description");
+            double price = number(record, unitPrice, "unitPrice");
+            int qty = withStock ? wholeNumber(record, qtyOnHand, "qtyOnHand") : 0;
+            return new ItemDTO(itemId, text, price, qty);
+        }, chunk -> {
+            // Null ids (aluth items) anthimata; anith ewa checkout eka wage id order eken lock wenawa
+            chunk.sort(Comparator.comparing(row -> row.value().getId(), Comparator.nullsLast(Comparator.naturalOrder())));
+            writeChunk(chunk, report, items -> {
+                if (withStock && stockLedger.isEnabled()) {
+                    writeItemsWithLedger(items);
+                    return;
+                }
+                boolean created = items.stream().anyMatch(item -> item.getId() == null);
+                List<StockChange> changes = transactionTemplate.execute(status -> {
+                    long changeSeq = catalogChangeSequence.next();
+                    itemRepo.upsertItems(items, withStock, changeSeq);
+                    return withStock || created ? itemRepo.findStockByChangeSeq(changeSeq) : List.<StockChange>of();
+                });
+                itemCatalogCache.invalidate();
+                reprice(items);
+                if (created) {
+                    preload(changes);
+                }
+                if (withStock && !changes.isEmpty()) {
+                    stockStream.publish(changes);
+                }
+            });
+        });
+        return report.result();
+    }
+
+    // Ledger mode: id thiyena rows wala qty eka ledger eke adjustment ekak widihata (eya publish karanawa);
+    // id nathi rows aluth items, ewata ledger eke kisima deyak na, e nisa qty ekka kelinma insert
+    private void writeItemsWithLedger(List<ItemDTO> items) {
+        List<ItemDTO> known = new ArrayList<>();
+        List<ItemDTO> created = new ArrayList<>();
+        for (ItemDTO item : items) {
+            (item.getId() != null ? known : created).add(item);
+        }
+        List<StockChange> changes = transactionTemplate.execute(status -> {
+            long changeSeq = catalogChangeSequence.next();
+            if (!known.isEmpty()) {
+                itemRepo.upsertItems(known, false, changeSeq);
+            }
+            if (created.isEmpty()) {
+                return List.<StockChange>of();
+            }
+            itemRepo.upsertItems(created, true, changeSeq);
+            Set<Long> knownIds = known.stream().map(ItemDTO::getId).collect(Collectors.toSet());
+            return itemRepo.findStockByChangeSeq(changeSeq).stream()
+                    .filter(change -> !knownIds.contains(change.itemId())).toList();
+        });
+        itemCatalogCache.invalidate();
+        reprice(known);
+        preload(changes);
+        for (ItemDTO item : known) {
+            stockLedger.setAvailable(item.getId(), item.getQtyOnHand());
+        }
+        if (!changes.isEmpty()) {
+            stockStream.publish(changes);
+        }
+    }
+
+    // Aluth items (id null) ids chunk eka commit unama witharai dannawa, e nisa preload eken
+    private void reprice(List<ItemDTO> items) {
+        Map<Long, Double> prices = new HashMap<>();
+        for (ItemDTO item : items) {
+            if (item.getId() != null) {
+                prices.put(item.getId(), item.getUnitPrice());
+            }
+        }
+        pricingEngine.pricesChanged(prices);
+    }
+
+    // Chunk eke aluth items ekama query / patch ekakin: nathnam eeta passe palaweni checkout eka item ekata ekak gane
+    private void preload(List<StockChange> changes) {
+        if (!changes.isEmpty()) {
+            pricingEngine.load(changes.stream().map(StockChange::itemId).toList());
+        }
+    }
+
+    @Override
+    public ImportResultDTO importCustomers(InputStream csv) throws IOException {
+        CsvReader reader = reader(csv);
+        Columns columns = Columns.read(reader, "name", "address");
+        int id = columns.optional("id");
+        int name = columns.required("name");
+        int address = columns.required("address");
+
+        Report report = new Report(importProperties.getMaxErrors());
+        boolean[] newCustomers = {false};
+        readChunks(reader, report, record -> {
+            String customerAddress = text(record, address, "address");
+            if (customerAddress.length() < 10) {
+                throw new IllegalArgumentException("address should be at least 10 characters long");
+            }
+            return new CustomerDTO(parseId(record, id), text(record, name, "name"), customerAddress);
+        }, chunk -> {
+            chunk.sort(Comparator.comparing(row -> row.value().getId(), Comparator.nullsLast(Comparator.naturalOrder())));
+            writeChunk(chunk, report, customers -> {
+                transactionTemplate.executeWithoutResult(status -> customerRepo.upsertCustomers(customers));
+                List<CustomerDTO> known = new ArrayList<>(customers.size());
+                for (CustomerDTO customer : customers) {
+                    if (customer.getId() != null) {
+                        known.add(customer);
+                    } else {
+                        newCustomers[0] = true;
+                    }
+                }
+                // Aluth customers awoth import eka iwara wela index eka rebuild wenawa, e nisa chunk update eka ona na
+                if (!newCustomers[0]) {
+                    customerSearchIndex.putAll(known);
+                }
+            });
+        });
+        // Aluth customers la id eka batch eken labenne na, e nisa import eka iwara wela index eka ekaparak aluthin hadanawa
+        if (newCustomers[0]) {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<CustomerDTO> customers = customerRepo.streamAll()) {
+                    customerSearchIndex.rebuild(customers::iterator);
+                }
+            });
+        }
+        return report.result();
+    }
+
+    private CsvReader reader(InputStream csv) {
+        return new CsvReader(new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8), BUFFER_SIZE));
+    }
+
+    // Record ekak parse karanna ba nam parse eka IllegalArgumentException ekak throw karanawa, e row eka error report ekata
+    private <T> void readChunks(CsvReader reader, Report report, RowParser<T> parse,
+                                Consumer<List<Row<T>>> write) throws IOException {
+        int chunkSize = importProperties.getChunkSize();
+        List<Row<T>> chunk = new ArrayList<>(chunkSize);
+        String[] record;
+        while ((record = reader.next()) != null) {
+            report.rows++;
+            try {
+                chunk.add(new Row<>(reader.line(), parse.parse(record)));
+            } catch (IllegalArgumentException ex) {
+                report.error(reader.line(), ex.getMessage());
+            }
+            if (chunk.size() == chunkSize) {
+                write.accept(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write.accept(chunk);
+        }
+    }
+
+    private <T> void writeChunk(List<Row<T>> chunk, Report report, Consumer<List<T>> write) {
+        try {
+            write.accept(chunk.stream().map(Row::value).toList());
+            report.applied += chunk.size();
+        } catch (RuntimeException ex) {
+            // Batch eka fail una nam kumana row ekada kiyala danna row eka row eka wenama transactions walin
+            for (Row<T> row : chunk) {
+                try {
+                    write.accept(List.of(row.value()));
+                    report.applied++;
+                } catch (RuntimeException rowEx) {
+                    report.error(row.line(), NestedExceptionUtils.getMostSpecificCause(rowEx).getMessage());
+                }
+            }
+        }
+    }
+
+    private static Long parseId(String[] record, int column) {
+        if (column < 0 || column >= record.length || record[column].isBlank()) {
+            return null;
+        }
+        try {
+            long id = Long.parseLong(record[column].trim());
+            if (id <= 0) {
+                throw new IllegalArgumentException("id must be a positive integer");
+            }
+            return id;
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("id must be a positive integer");
+        }
+    }
+
+    private static String text(String[] record, int column, String name) {
+        String value = column < record.length ? record[column].trim() : "";
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException(name + " cannot be blank");
+        }
+        if (value.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException(name + " is longer than " + MAX_TEXT_LENGTH + " characters");
+        }
+        return value;
+    }
+
+    private static double number(String[] record, int column, String name) {
+        String value = column < record.length ? record[column].trim() : "";
+        try {
+            double number = Double.parseDouble(value);
+            if (!(number >= 0) || Double.isInfinite(number)) {
+                throw new IllegalArgumentException(name + " must be zero or more");
+            }
+            return number;
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+    }
+
+    private static int wholeNumber(String[] record, int column, String name) {
+        String value = column < record.length ? record[column].trim() : "";
+        try {
+            int number = Integer.parseInt(value);
+            if (number < 0) {
+                throw new IllegalArgumentException(name + " must be zero or more");
+            }
+            return number;
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(name + " must be a whole number");
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowParser<T> {
+        T parse(String[] record);
+    }
+
+    private record Row<T>(long line, T value) {
+    }
+
+    // Header eke column names case eka balanne na; column eka nathnam -1
+    private record Columns(List<String> names) {
+
+        static Columns read(CsvReader reader, String... required) throws IOException {
+            String[] header = reader.next();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV file is empty, expected a header row");
+            }
+            List<String> names = new ArrayList<>(header.length);
+            for (String name : header) {
+                names.add(name.trim().toLowerCase(Locale.ROOT));
+            }
+            Columns columns = new Columns(names);
+            for (String name : required) {
+                columns.required(name);
+            }
+            return columns;
+        }
+
+        int optional(String name) {
+            return names.indexOf(name.toLowerCase(Locale.ROOT));
+        }
+
+        int required(String name) {
+            int index = optional(name);
+            if (index < 0) {
+                throw new IllegalArgumentException("CSV header must have a " + name + " column");
+            }
+            return index;
+        }
+    }
+
+    private static final class Report {
+        private final int maxErrors;
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+        private long rows;
+        private long applied;
+        private long failed;
+
+        Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void error(long line, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportErrorDTO(line, message));
+            }
+        }
+
+        ImportResultDTO result() {
+            return new ImportResultDTO(rows, applied, failed, errors, failed > errors.size());
+        }
+    }
+}
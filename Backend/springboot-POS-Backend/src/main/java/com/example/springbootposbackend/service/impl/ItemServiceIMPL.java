@@ -1,40 +1,171 @@
 package com.example.springbootposbackend.service.impl;
 
+import com.example.springbootposbackend.cache.CatalogChangeSequence;
+import com.example.springbootposbackend.cache.ItemCatalogCache;
+import com.example.springbootposbackend.cache.ItemCatalogCache.StockChange;
+import com.example.springbootposbackend.config.PagingProperties;
+import com.example.springbootposbackend.dto.CatalogDeltaDTO;
+import com.example.springbootposbackend.dto.CursorPageDTO;
 import com.example.springbootposbackend.dto.ItemDTO;
 import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.entity.ItemTombstone;
+import com.example.springbootposbackend.ledger.StockLedger;
+import com.example.springbootposbackend.mapper.ItemMapper;
+import com.example.springbootposbackend.pricing.PricingEngine;
 import com.example.springbootposbackend.repository.CustomerRepo;
 import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.repository.ItemTombstoneRepo;
+import com.example.springbootposbackend.routing.ReplicaRouting;
 import com.example.springbootposbackend.service.ItemService;
+import com.example.springbootposbackend.stream.StockStream;
+import com.example.springbootposbackend.util.CursorPages;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class ItemServiceIMPL implements ItemService {
     private final ItemRepo itemRepo;
-    private final ModelMapper modelMapper;
+    private final ItemMapper itemMapper;
+    private final ItemCatalogCache itemCatalogCache;
+    private final PagingProperties pagingProperties;
+    private final CatalogChangeSequence catalogChangeSequence;
+    private final ItemTombstoneRepo itemTombstoneRepo;
+    private final StockStream stockStream;
+    private final StockLedger stockLedger;
+    private final PricingEngine pricingEngine;
 
     @Override
+    @Transactional
     public void saveItem(ItemDTO itemDTO) {
-        itemRepo.save(modelMapper.map(itemDTO , Item.class));
+        Item item = itemMapper.toEntity(itemDTO);
+        item.setChangeSeq(catalogChangeSequence.next());
+        itemRepo.save(item);
+        invalidateCatalogAfterCommit();
+        repriceAfterCommit(item.getId(), item.getUnitPrice());
     }
 
     @Override
+    @Transactional
     public void updateItem(ItemDTO itemDTO) {
-        itemRepo.save(modelMapper.map(itemDTO , Item.class));
+        if (stockLedger.isEnabled()) {
+            updateItemWithLedger(itemDTO);
+            return;
+        }
+        // Version eka reset nowenna thiyena entity eka load karala fields witharak update karanawa
+        Item item = itemRepo.findById(itemDTO.getId())
+                .orElseThrow(() -> new RuntimeException("Item not found: " + itemDTO.getId()));
+        item.setDescription(itemDTO.getDescription());
+        item.setUnitPrice(itemDTO.getUnitPrice());
+        boolean stockChanged = item.getQtyOnHand() != itemDTO.getQtyOnHand();
+        item.setQtyOnHand(itemDTO.getQtyOnHand());
+        item.setChangeSeq(catalogChangeSequence.next());
+        itemRepo.save(item);
+        invalidateCatalogAfterCommit();
+        repriceAfterCommit(item.getId(), item.getUnitPrice());
+        if (stockChanged) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // Flush eken passe item eke version eka aluth eka
+                    stockStream.publish(List.of(new StockChange(item.getId(), item.getQtyOnHand(), item.getVersion())));
+                }
+            });
+        }
+    }
+
+    // Ledger eka item table eke qty eka flush karana nisa qty eka ledger eken adjustment ekak widihata yanawa (eya tills walata publish karanawa)
+    private void updateItemWithLedger(ItemDTO itemDTO) {
+        if (itemRepo.updateDetails(itemDTO.getId(), itemDTO.getDescription(), itemDTO.getUnitPrice(),
+                catalogChangeSequence.next()) == 0) {
+            throw new RuntimeException("Item not found: " + itemDTO.getId());
+        }
+        invalidateCatalogAfterCommit();
+        repriceAfterCommit(itemDTO.getId(), itemDTO.getUnitPrice());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stockLedger.setAvailable(itemDTO.getId(), itemDTO.getQtyOnHand());
+            }
+        });
     }
 
     @Override
+    @Transactional
     public void deleteItem(long id) {
         itemRepo.deleteById(id);
+        itemTombstoneRepo.save(new ItemTombstone(id, catalogChangeSequence.next()));
+        invalidateCatalogAfterCommit();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pricingEngine.itemRemoved(id);
+            }
+        });
+        if (stockLedger.isEnabled()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stockLedger.forget(id);
+                }
+            });
+        }
     }
 
     @Override
     public List<ItemDTO> getAllItems() {
-        List<Item> items = itemRepo.findAll();
-        return modelMapper.map(items, new org.modelmapper.TypeToken<List<ItemDTO>>() {}.getType());
+        return itemCatalogCache.getAll();
+    }
+
+    @Override
+    public String getCatalogETag() {
+        return "\"catalog-" + catalogChangeSequence.watermark() + "\"";
+    }
+
+    @Override
+    public CatalogDeltaDTO getChangesSince(long since) {
+        // Watermark eka queries walata kalin ganna ona: eeta adu hama change ekakma dan commit wela
+        long watermark = catalogChangeSequence.watermark();
+        if (since <= 0 || since > watermark) {
+            return new CatalogDeltaDTO(watermark, true, getAllItems(), List.of());
+        }
+        // Replica eka lag nam watermark ekata adu changes athuru wela till eka eewa kawadawath ganne na
+        return ReplicaRouting.onPrimary(() -> new CatalogDeltaDTO(watermark, false, itemRepo.findChangedAfter(since),
+                itemTombstoneRepo.findItemIdsChangedAfter(since)));
+    }
+
+    @Override
+    public CursorPageDTO<ItemDTO> getItemPage(Long after, Integer size, String descriptionPrefix) {
+        int pageSize = CursorPages.pageSize(size, pagingProperties);
+        List<ItemDTO> rows = itemRepo.findPageAfter(after == null ? 0 : after,
+                CursorPages.likePrefix(descriptionPrefix), Limit.of(pageSize + 1));
+        return CursorPages.of(rows, pageSize, ItemDTO::getId);
+    }
+
+    // Commit ekata kalin invalidate kaloth, ee athara load ekak parana row eka cache karanna puluwan
+    private void invalidateCatalogAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                itemCatalogCache.invalidate();
+            }
+        });
+    }
+
+    // Commit ekata kalin swap kaloth, rollback unoth checkout eka commit nowuna price eken yanawa
+    private void repriceAfterCommit(long itemId, double unitPrice) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pricingEngine.pricesChanged(Map.of(itemId, unitPrice));
+            }
+        });
     }
 }
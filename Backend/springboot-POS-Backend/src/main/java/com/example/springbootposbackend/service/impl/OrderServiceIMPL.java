@@ -1,66 +1,532 @@
 package com.example.springbootposbackend.service.impl;
 
+import com.example.springbootposbackend.cache.CatalogChangeSequence;
+import com.example.springbootposbackend.cache.ItemCatalogCache;
+import com.example.springbootposbackend.cache.ItemCatalogCache.StockChange;
+import com.example.springbootposbackend.config.OrderProperties;
+import com.example.springbootposbackend.config.OrderProperties.StockStrategy;
+import com.example.springbootposbackend.config.RollupProperties;
+import com.example.springbootposbackend.dto.BulkOrderResultDTO;
 import com.example.springbootposbackend.dto.OrderDTO;
 import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.dto.OrderLineDTO;
+import com.example.springbootposbackend.dto.OrderReceiptDTO;
+import com.example.springbootposbackend.dto.ReceiptLineDTO;
 import com.example.springbootposbackend.entity.Customer;
 import com.example.springbootposbackend.entity.Item;
 import com.example.springbootposbackend.entity.Order;
 import com.example.springbootposbackend.entity.OrderDetail;
+import com.example.springbootposbackend.exception.CustomerNotFoundException;
+import com.example.springbootposbackend.exception.InsufficientStockException;
+import com.example.springbootposbackend.exception.ItemNotFoundException;
+import com.example.springbootposbackend.exception.OrderNotFoundException;
+import com.example.springbootposbackend.exception.OrderRejectedException;
+import com.example.springbootposbackend.exception.StockConflictException;
+import com.example.springbootposbackend.ledger.StockLedger;
+import com.example.springbootposbackend.ledger.StockLedger.Reservation;
+import com.example.springbootposbackend.metrics.OrderMetrics;
+import com.example.springbootposbackend.metrics.OrderMetrics.Phase;
+import com.example.springbootposbackend.metrics.SqlStatementCounter;
+import com.example.springbootposbackend.outbox.OutboxEvents;
+import com.example.springbootposbackend.pricing.PriceTable;
+import com.example.springbootposbackend.pricing.PricingEngine;
 import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.IdempotencyRecordRepo;
 import com.example.springbootposbackend.repository.ItemRepo;
 import com.example.springbootposbackend.repository.OrderRepo;
 import com.example.springbootposbackend.service.OrderService;
+import com.example.springbootposbackend.service.SalesRollupService;
+import com.example.springbootposbackend.stream.StockStream;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class OrderServiceIMPL implements OrderService {
 
     private final OrderRepo orderRepo;
     private final CustomerRepo customerRepo;
     private final ItemRepo itemRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderProperties orderProperties;
+    private final OrderMetrics orderMetrics;
+    private final ItemCatalogCache itemCatalogCache;
+    private final CatalogChangeSequence catalogChangeSequence;
+    private final StockStream stockStream;
+    private final SalesRollupService salesRollupService;
+    private final IdempotencyRecordRepo idempotencyRecordRepo;
+    private final StockLedger stockLedger;
+    private final RollupProperties rollupProperties;
+    private final OutboxEvents outboxEvents;
+    private final OrderValidator orderValidator;
+    private final PricingEngine pricingEngine;
+
+    private GroupCommitWriter groupCommitWriter;
+
+    @PostConstruct
+    void startGroupCommit() {
+        // Ledger mode eke row locks na, WAL eka fsync eka threads athara group karanawa
+        if (orderProperties.isGroupCommit() && !stockLedger.isEnabled()) {
+            groupCommitWriter = new GroupCommitWriter((orders, keys) -> placeChunk(orders, keys, 0),
+                    orderProperties.getGroupCommitWindowMs(), orderProperties.getGroupCommitMaxOrders());
+        }
+    }
+
+    @PreDestroy
+    void stopGroupCommit() {
+        if (groupCommitWriter != null) {
+            groupCommitWriter.stop();
+        }
+    }
 
     @Override
-    public void placeOrder(OrderDTO orderDTO) {
+    public Long placeOrder(OrderDTO orderDTO) {
+        return placeOrder(orderDTO, null);
+    }
+
+    @Override
+    public Long placeOrder(OrderDTO orderDTO, String idempotencyKey) {
+        // Group commit eke batch eka bulk chunk path eken yanne, eka row locks use karanawa
+        StockStrategy strategy = groupCommitWriter != null ? StockStrategy.PESSIMISTIC : orderProperties.getStockStrategy();
+        if (orderDTO != null && orderDTO.getOrderDetails() != null) {
+            orderMetrics.basket(orderDTO.getOrderDetails().size());
+        }
+        // Counter eka request ekata reset wenne na (test budget filter eka nisa), e nisa wenasa witharak gannawa
+        int sqlBefore = SqlStatementCounter.count();
+        long start = System.nanoTime();
+        try {
+            // Waradi basket ekak connection ekak hari transaction ekak hari ganna kalin reject wenawa
+            SortedMap<Long, Integer> qtyByItemId = orderValidator.validate(orderDTO);
+            if (groupCommitWriter != null) {
+                orderMetrics.attempt(strategy);
+                BulkOrderResultDTO result = groupCommitWriter.submit(orderDTO, idempotencyKey);
+                if (!result.isSuccess()) {
+                    throw result.getErrorCode() != null
+                            ? OrderRejectedException.of(result.getErrorCode(), result.getError())
+                            : new RuntimeException(result.getError());
+                }
+                return result.getOrderId();
+            }
+            // Till eke unitPrice eka ganan ganne na, server eke price table eken
+            long[] unitMinor = pricingEngine.price(orderDTO, qtyByItemId);
+            if (strategy == StockStrategy.OPTIMISTIC) {
+                return placeOrderWithRetry(orderDTO, qtyByItemId, unitMinor, idempotencyKey);
+            } else if (strategy == StockStrategy.LEDGER) {
+                orderMetrics.attempt(strategy);
+                return placeOrderWithLedger(orderDTO, qtyByItemId, unitMinor, idempotencyKey);
+            } else {
+                orderMetrics.attempt(strategy);
+                return transactionTemplate.execute(
+                        status -> placeOrderInTransaction(orderDTO, qtyByItemId, unitMinor, idempotencyKey, strategy));
+            }
+        } catch (OrderRejectedException ex) {
+            orderMetrics.rejected(ex.getCode());
+            throw ex;
+        } finally {
+            orderMetrics.latency(strategy).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            // Group commit eke SQL yanne writer thread eken, e thread eke count eka methana pena na
+            if (groupCommitWriter == null) {
+                orderMetrics.sqlStatements(SqlStatementCounter.count() - sqlBefore);
+            }
+        }
+    }
+
+    // Retry ekak hama welema aluth transaction ekak, e nisa loop eka transaction eken pitata thiyenne
+    private Long placeOrderWithRetry(OrderDTO orderDTO, SortedMap<Long, Integer> qtyByItemId, long[] unitMinor,
+                                     String idempotencyKey) {
+        StockStrategy strategy = StockStrategy.OPTIMISTIC;
+        for (int attempt = 0; ; attempt++) {
+            orderMetrics.attempt(strategy);
+            try {
+                return transactionTemplate.execute(
+                        status -> placeOrderInTransaction(orderDTO, qtyByItemId, unitMinor, idempotencyKey, strategy));
+            } catch (StockConflictException | ObjectOptimisticLockingFailureException ex) {
+                orderMetrics.conflict(strategy);
+                if (attempt >= orderProperties.getMaxRetries()) {
+                    throw ex;
+                }
+                orderMetrics.retry(strategy);
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        long maxDelay = orderProperties.getRetryBackoffMs() << Math.min(attempt, 6);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxDelay + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StockConflictException("Interrupted while retrying order");
+        }
+    }
+
+    // Stock eka memory eke reserve karanawa, item rows lock karanne na; WAL ekata liyanne commit ekata kalin
+    private Long placeOrderWithLedger(OrderDTO orderDTO, SortedMap<Long, Integer> qtyByItemId, long[] unitMinor,
+                                      String idempotencyKey) {
+        long phaseStart = System.nanoTime();
+        Reservation reservation = stockLedger.reserve(qtyByItemId);
+        if (!reservation.isReserved()) {
+            orderMetrics.stockRejected();
+            throw new InsufficientStockException("Insufficient stock for item: " + reservation.getShortItemId());
+        }
+        long reservedAt = orderMetrics.phase(Phase.STOCK_CHECK, phaseStart);
+        try {
+            return transactionTemplate.execute(status -> {
+                long start = reservedAt;
+                Customer customer = customerRepo.findById(Long.valueOf(orderDTO.getCustomerId()))
+                        .orElseThrow(() -> new CustomerNotFoundException("Customer not found: " + orderDTO.getCustomerId()));
+                start = orderMetrics.phase(Phase.CUSTOMER_LOOKUP, start);
+
+                // Order detail ekata item eke id eka witharai ona, e nisa SELECT ekak nathi reference ekak
+                Map<Long, Item> items = new HashMap<>();
+                for (Long itemId : qtyByItemId.keySet()) {
+                    items.put(itemId, itemRepo.getReferenceById(itemId));
+                }
+                Order order = buildOrder(orderDTO, customer, items, unitMinor);
+                start = orderMetrics.phase(Phase.DETAIL_BUILD, start);
+
+                orderRepo.save(order);
+                recordPlaced(List.of(order));
+                if (idempotencyKey != null) {
+                    idempotencyRecordRepo.insert(idempotencyKey, order.getId(), Instant.now());
+                }
+                orderRepo.flush();
+                // Anthimata log karanne: eeta kalin fail wena deyak nam WAL ekata yanne na
+                stockLedger.logInTransaction(reservation, order.getId());
+                timeCommit(orderMetrics.phase(Phase.PERSIST, start));
+                return order.getId();
+            });
+        } finally {
+            stockLedger.release(reservation);
+        }
+    }
+
+    // qtyByItemId: OrderValidator eken, duplicate lines ekathu karala item id order eken; unitMinor: PricingEngine eken line ekata
+    private Long placeOrderInTransaction(OrderDTO orderDTO, SortedMap<Long, Integer> qtyByItemId, long[] unitMinor,
+                                         String idempotencyKey, StockStrategy strategy) {
+        long phaseStart = System.nanoTime();
         Customer customer = customerRepo.findById(Long.valueOf(orderDTO.getCustomerId()))
-                .orElseThrow(() -> new RuntimeException("Customer not found: " + orderDTO.getCustomerId()));
+                .orElseThrow(() -> new CustomerNotFoundException("Customer not found: " + orderDTO.getCustomerId()));
+        phaseStart = orderMetrics.phase(Phase.CUSTOMER_LOOKUP, phaseStart);
 
-        Order order = new Order();
-        order.setDate(orderDTO.getDate());
-        order.setCustomer(customer);
+        List<Item> loaded = strategy == StockStrategy.OPTIMISTIC
+                ? itemRepo.findAllByIdOrdered(qtyByItemId.keySet())
+                : itemRepo.findAllByIdForUpdate(qtyByItemId.keySet());
+        Map<Long, Item> items = new HashMap<>();
+        Map<Long, Long> versions = new HashMap<>();
+        for (Item item : loaded) {
+            items.put(item.getId(), item);
+            versions.put(item.getId(), item.getVersion());
+        }
+        phaseStart = orderMetrics.phase(Phase.ITEM_LOAD, phaseStart);
 
-        List<OrderDetail> details = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : qtyByItemId.entrySet()) {
+            Item item = items.get(entry.getKey());
+            if (item == null) {
+                throw new ItemNotFoundException("Item not found: " + entry.getKey());
+            }
+            if (item.getQtyOnHand() < entry.getValue()) {
+                orderMetrics.stockRejected();
+                throw new InsufficientStockException("Insufficient stock for item: " + item.getId());
+            }
+        }
+
+        long changeSeq = catalogChangeSequence.next();
+        int[] updated = strategy == StockStrategy.OPTIMISTIC
+                ? itemRepo.decrementStockIfUnchanged(qtyByItemId, versions, changeSeq)
+                : itemRepo.decrementStock(qtyByItemId, changeSeq);
+        int i = 0;
+        for (Long itemId : qtyByItemId.keySet()) {
+            if (updated[i++] == 0) {
+                if (strategy == StockStrategy.OPTIMISTIC) {
+                    throw new StockConflictException("Stock changed concurrently for item: " + itemId);
+                }
+                orderMetrics.stockRejected();
+                throw new InsufficientStockException("Insufficient stock for item: " + itemId);
+            }
+        }
+
+        List<StockChange> stockChanges = new ArrayList<>(qtyByItemId.size());
+        for (Map.Entry<Long, Integer> entry : qtyByItemId.entrySet()) {
+            Item item = items.get(entry.getKey());
+            stockChanges.add(new StockChange(item.getId(), item.getQtyOnHand() - entry.getValue(), item.getVersion() + 1));
+        }
+        publishStockAfterCommit(stockChanges);
+        phaseStart = orderMetrics.phase(Phase.STOCK_CHECK, phaseStart);
+
+        Order order = buildOrder(orderDTO, customer, items, unitMinor);
+        phaseStart = orderMetrics.phase(Phase.DETAIL_BUILD, phaseStart);
+
+        orderRepo.save(order);
+        recordPlaced(List.of(order));
+        if (idempotencyKey != null) {
+            idempotencyRecordRepo.insert(idempotencyKey, order.getId(), Instant.now());
+        }
+        // Batch inserts methana flush karanawa, nathnam eva commit phase ekata watenawa
+        orderRepo.flush();
+        timeCommit(orderMetrics.phase(Phase.PERSIST, phaseStart));
+        return order.getId();
+    }
+
+    @Override
+    public List<BulkOrderResultDTO> placeOrders(Iterator<OrderDTO> orders) {
+        if (stockLedger.isEnabled()) {
+            return placeOrdersOneByOne(orders);
+        }
+        int chunkSize = orderProperties.getBulkChunkSize();
+        List<BulkOrderResultDTO> results = new ArrayList<>();
+        List<OrderDTO> chunk = new ArrayList<>(chunkSize);
+        while (orders.hasNext()) {
+            chunk.add(orders.next());
+            if (chunk.size() == chunkSize || !orders.hasNext()) {
+                results.addAll(placeChunk(chunk, null, results.size()));
+                chunk.clear();
+            }
+        }
+        return results;
+    }
+
+    // Ledger mode eke item rows lock karanne na, e nisa chunk ekak ekathu karanna hethuwak na; order eka eka ledger eken
+    private List<BulkOrderResultDTO> placeOrdersOneByOne(Iterator<OrderDTO> orders) {
+        List<BulkOrderResultDTO> results = new ArrayList<>();
+        while (orders.hasNext()) {
+            int index = results.size();
+            OrderDTO orderDTO = orders.next();
+            try {
+                results.add(new BulkOrderResultDTO(index, placeOrder(orderDTO), true, null, null));
+            } catch (RuntimeException ex) {
+                results.add(failed(index, ex));
+            }
+        }
+        return results;
+    }
+
+    // keys null nam bulk ingest eken; group commit eken nam chunk eke order ekata ekata key eka (nathnam null)
+    private List<BulkOrderResultDTO> placeChunk(List<OrderDTO> chunk, List<String> keys, int firstIndex) {
+        try {
+            return transactionTemplate.execute(status -> placeChunkInTransaction(chunk, keys, firstIndex));
+        } catch (RuntimeException ex) {
+            // Chunk eka commit karaddi DB error ekak awoth, order eka eka wenama transaction walin try karanawa
+            List<BulkOrderResultDTO> results = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                OrderDTO orderDTO = chunk.get(i);
+                String idempotencyKey = keys == null ? null : keys.get(i);
+                try {
+                    SortedMap<Long, Integer> qtyByItemId = orderValidator.checkStructure(orderDTO);
+                    long[] unitMinor = pricingEngine.price(orderDTO, qtyByItemId);
+                    Long orderId = transactionTemplate.execute(status -> placeOrderInTransaction(orderDTO,
+                            qtyByItemId, unitMinor, idempotencyKey, StockStrategy.PESSIMISTIC));
+                    results.add(new BulkOrderResultDTO(firstIndex + i, orderId, true, null, null));
+                } catch (RuntimeException orderEx) {
+                    results.add(failed(firstIndex + i, orderEx));
+                }
+            }
+            return results;
+        }
+    }
+
+    // Chunk eke orders okkoma ekama transaction ekaka: customers/items ekaparak load karala, stock ekama batch ekakin adu karanawa
+    private List<BulkOrderResultDTO> placeChunkInTransaction(List<OrderDTO> chunk, List<String> keys, int firstIndex) {
+        Set<Long> customerIds = new HashSet<>();
+        SortedSet<Long> itemIds = new TreeSet<>();
+        for (OrderDTO orderDTO : chunk) {
+            Long customerId = StockReservation.parseId(orderDTO.getCustomerId());
+            if (customerId != null) {
+                customerIds.add(customerId);
+            }
+            if (orderDTO.getOrderDetails() != null) {
+                for (OrderDetailDTO detailDTO : orderDTO.getOrderDetails()) {
+                    if (detailDTO.getItemId() != null) {
+                        itemIds.add(detailDTO.getItemId());
+                    }
+                }
+            }
+        }
+
+        Map<Long, Customer> customers = new HashMap<>();
+        for (Customer customer : customerRepo.findAllById(customerIds)) {
+            customers.put(customer.getId(), customer);
+        }
+        Map<Long, Item> items = new HashMap<>();
+        if (!itemIds.isEmpty()) {
+            for (Item item : itemRepo.findAllByIdForUpdate(itemIds)) {
+                items.put(item.getId(), item);
+            }
+        }
 
-        for (OrderDetailDTO detailDTO : orderDTO.getOrderDetails()) {
-            Item item = itemRepo.findById(detailDTO.getItemId())
-                    .orElseThrow(() -> new RuntimeException("Item not found: " + detailDTO.getItemId()));
+        BulkOrderResultDTO[] results = new BulkOrderResultDTO[chunk.size()];
+        List<Order> accepted = new ArrayList<>();
+        List<Integer> acceptedPositions = new ArrayList<>();
+        StockReservation reservation = new StockReservation(customers, items);
 
-            if (item.getQtyOnHand() < detailDTO.getQty()) {
-                throw new RuntimeException("Insufficient stock for item: " + item.getId());
+        for (int i = 0; i < chunk.size(); i++) {
+            OrderDTO orderDTO = chunk.get(i);
+            OrderRejectedException rejection;
+            long[] unitMinor = null;
+            try {
+                // Reserve karanna kalin price karanawa, nathnam reject una order eke stock eka reservation eke ithuru wenawa
+                unitMinor = pricingEngine.price(orderDTO, orderValidator.checkStructure(orderDTO));
+                rejection = reservation.reserve(orderDTO);
+            } catch (OrderRejectedException ex) {
+                rejection = ex;
+            }
+            if (rejection != null) {
+                results[i] = failed(firstIndex + i, rejection);
+                continue;
             }
+            accepted.add(buildOrder(orderDTO, reservation.customerOf(orderDTO), items, unitMinor));
+            acceptedPositions.add(i);
+        }
+        orderMetrics.stockRejected(reservation.getInsufficientStock());
 
+        SortedMap<Long, Integer> totalQtyByItemId = reservation.getTotalQtyByItemId();
+        if (!totalQtyByItemId.isEmpty()) {
+            int[] updated = itemRepo.decrementStock(totalQtyByItemId, catalogChangeSequence.next());
+            for (int count : updated) {
+                if (count == 0) {
+                    // Items lock karala thiyena nisa meka wenna bari, una nam chunk eka rollback karala eka eka try karanawa
+                    throw new IllegalStateException("Stock changed while chunk was locked");
+                }
+            }
+            List<StockChange> stockChanges = new ArrayList<>(totalQtyByItemId.size());
+            for (Long itemId : totalQtyByItemId.keySet()) {
+                stockChanges.add(new StockChange(itemId, reservation.getRemaining(itemId), items.get(itemId).getVersion() + 1));
+            }
+            publishStockAfterCommit(stockChanges);
+        }
 
-            item.setQtyOnHand(item.getQtyOnHand() - detailDTO.getQty());
-            itemRepo.save(item);
+        orderRepo.saveAll(accepted);
+        recordPlaced(accepted);
+        Instant now = Instant.now();
+        for (int n = 0; n < accepted.size(); n++) {
+            int position = acceptedPositions.get(n);
+            if (keys != null && keys.get(position) != null) {
+                idempotencyRecordRepo.insert(keys.get(position), accepted.get(n).getId(), now);
+            }
+            results[position] = new BulkOrderResultDTO(firstIndex + position, accepted.get(n).getId(), true, null, null);
+        }
+        return Arrays.asList(results);
+    }
 
+    @Override
+    public OrderReceiptDTO getOrder(long orderId) {
+        List<OrderReceiptDTO> receipts = toReceipts(orderRepo.findLinesByOrderId(orderId));
+        if (receipts.isEmpty()) {
+            throw new OrderNotFoundException("Order not found: " + orderId);
+        }
+        return receipts.get(0);
+    }
 
+    @Override
+    public List<OrderReceiptDTO> getOrdersByCustomer(long customerId) {
+        return toReceipts(orderRepo.findLinesByCustomerId(customerId));
+    }
+
+    @Override
+    public List<OrderReceiptDTO> getOrdersByDateRange(LocalDate from, LocalDate to) {
+        return toReceipts(orderRepo.findLinesByDateRange(from, to));
+    }
+
+    // Lines enne order id eken group wela (query eke order by), e nisa order eka wenas weddi aluth receipt ekak
+    private List<OrderReceiptDTO> toReceipts(List<OrderLineDTO> lines) {
+        List<OrderReceiptDTO> receipts = new ArrayList<>();
+        OrderReceiptDTO current = null;
+        long totalMinor = 0;
+        for (OrderLineDTO line : lines) {
+            if (current == null || !current.getOrderId().equals(line.getOrderId())) {
+                current = new OrderReceiptDTO(line.getOrderId(), line.getDate(), line.getCustomerId(), new ArrayList<>(), 0);
+                receipts.add(current);
+                totalMinor = 0;
+            }
+            // Cents walin ekathu karanawa, double walin lines godak ekathu kaloth 0.1 + 0.2 wage error ekak enawa
+            long lineMinor = Math.multiplyExact(PriceTable.toMinor(line.getUnitPrice()), line.getQty());
+            totalMinor = Math.addExact(totalMinor, lineMinor);
+            current.getLines().add(new ReceiptLineDTO(line.getItemId(), line.getQty(), line.getUnitPrice(),
+                    PriceTable.toMajor(lineMinor)));
+            current.setTotal(PriceTable.toMajor(totalMinor));
+        }
+        return receipts;
+    }
+
+    private void timeCommit(long commitStart) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                orderMetrics.phase(Phase.COMMIT, commitStart);
+            }
+        });
+    }
+
+    // Order transaction eka athule: rollups (async nathi nam) saha outbox events ekama commit ekakata.
+    // Order inserts flush wenne passe (orderRepo.flush), e nisa dawas lock eka order rows walata kalin
+    private void recordPlaced(List<Order> orders) {
+        if (!rollupProperties.isAsync()) {
+            salesRollupService.recordOrders(orders);
+        } else {
+            salesRollupService.lockDays(orders.stream().map(Order::getDate).toList());
+        }
+        outboxEvents.orderPlaced(orders);
+    }
+
+    private static BulkOrderResultDTO failed(int index, RuntimeException ex) {
+        String code = ex instanceof OrderRejectedException rejected ? rejected.getCode() : null;
+        return new BulkOrderResultDTO(index, null, false, ex.getMessage(), code);
+    }
+
+    // Rollback unoth catalog cache ekata saha tills walata yanne na, commit unoth witharai
+    private void publishStockAfterCommit(List<StockChange> stockChanges) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                itemCatalogCache.applyStockChanges(stockChanges);
+                stockStream.publish(stockChanges);
+            }
+        });
+    }
+
+    private Order buildOrder(OrderDTO orderDTO, Customer customer, Map<Long, Item> items, long[] unitMinor) {
+        Order order = new Order();
+        order.setDate(orderDTO.getDate());
+        order.setCustomer(customer);
+
+        List<OrderDetail> details = new ArrayList<>();
+
+        List<OrderDetailDTO> lines = orderDTO.getOrderDetails();
+        for (int i = 0; i < lines.size(); i++) {
+            OrderDetailDTO detailDTO = lines.get(i);
             OrderDetail orderDetail = new OrderDetail();
             orderDetail.setOrder(order);
-            orderDetail.setItem(item);
+            orderDetail.setItem(items.get(detailDTO.getItemId()));
             orderDetail.setQty(detailDTO.getQty());
-            orderDetail.setUnitPrice(detailDTO.getUnitPrice());
+            orderDetail.setUnitPrice(PriceTable.toMajor(unitMinor[i]));
 
             details.add(orderDetail);
         }
 
         order.setOrderDetails(details);
-
-        orderRepo.save(order);
+        return order;
     }
-}
\ No newline at end of file
+}
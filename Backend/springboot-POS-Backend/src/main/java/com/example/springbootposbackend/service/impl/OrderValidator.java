@@ -0,0 +1,103 @@
+package com.example.springbootposbackend.service.impl;
+
+import com.example.springbootposbackend.cache.KnownIdCache;
+import com.example.springbootposbackend.config.OrderProperties;
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.exception.CustomerNotFoundException;
+import com.example.springbootposbackend.exception.InvalidOrderException;
+import com.example.springbootposbackend.exception.ItemNotFoundException;
+import com.example.springbootposbackend.pricing.PricingEngine;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Checks a basket before checkout opens a transaction. Shape errors (no
+ * lines, non-positive qty, a negative or non-finite price) are found without
+ * touching the database. Customer ids are checked against
+ * {@link KnownIdCache} and item ids against the {@link PricingEngine} price
+ * table; ids they have not seen go to the database in one query per table,
+ * outside any transaction. The transaction still re-checks
+ * everything under its locks, so this stage only has to be right when it
+ * rejects.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderValidator {
+
+    private final OrderProperties orderProperties;
+    private final KnownIdCache knownIdCache;
+    private final CustomerRepo customerRepo;
+    private final PricingEngine pricingEngine;
+
+    /**
+     * Full check for a single checkout. Returns qty per item with duplicate
+     * lines merged, in item id order (the order stock is locked in).
+     */
+    public SortedMap<Long, Integer> validate(OrderDTO orderDTO) {
+        SortedMap<Long, Integer> qtyByItemId = checkStructure(orderDTO);
+        checkReferences(Long.parseLong(orderDTO.getCustomerId()), qtyByItemId);
+        return qtyByItemId;
+    }
+
+    // Bulk ingest eke chunk eka customers/items ekaparak load karanawa, e nisa methana shape eka witharai
+    public SortedMap<Long, Integer> checkStructure(OrderDTO orderDTO) {
+        if (orderDTO == null) {
+            throw new InvalidOrderException("Order body is missing");
+        }
+        if (orderDTO.getDate() == null) {
+            throw new InvalidOrderException("Order date is required");
+        }
+        Long customerId = StockReservation.parseId(orderDTO.getCustomerId());
+        if (customerId == null || customerId <= 0) {
+            throw new InvalidOrderException("Customer id must be a positive number: " + orderDTO.getCustomerId());
+        }
+        List<OrderDetailDTO> lines = orderDTO.getOrderDetails();
+        if (lines == null || lines.isEmpty()) {
+            throw new InvalidOrderException("Order has no items");
+        }
+        if (lines.size() > orderProperties.getMaxLines()) {
+            throw new InvalidOrderException("Order has more than " + orderProperties.getMaxLines() + " lines");
+        }
+
+        SortedMap<Long, Integer> qtyByItemId = new TreeMap<>();
+        for (OrderDetailDTO line : lines) {
+            if (line == null || line.getItemId() == null || line.getItemId() <= 0) {
+                throw new InvalidOrderException("Every order line needs a positive item id");
+            }
+            if (line.getQty() <= 0) {
+                throw new InvalidOrderException("Quantity must be positive for item: " + line.getItemId());
+            }
+            // NaN < 0 false, e nisa isFinite eka wenama
+            if (!Double.isFinite(line.getUnitPrice()) || line.getUnitPrice() < 0) {
+                throw new InvalidOrderException("Unit price must be zero or more for item: " + line.getItemId());
+            }
+            long merged = (long) qtyByItemId.getOrDefault(line.getItemId(), 0) + line.getQty();
+            if (merged > Integer.MAX_VALUE) {
+                throw new InvalidOrderException("Quantity is too large for item: " + line.getItemId());
+            }
+            qtyByItemId.put(line.getItemId(), (int) merged);
+        }
+        return qtyByItemId;
+    }
+
+    private void checkReferences(long customerId, SortedMap<Long, Integer> qtyByItemId) {
+        if (!knownIdCache.isKnownCustomer(customerId)) {
+            if (customerRepo.findExistingIds(List.of(customerId)).isEmpty()) {
+                throw new CustomerNotFoundException("Customer not found: " + customerId);
+            }
+            knownIdCache.addCustomers(List.of(customerId));
+        }
+
+        // Price table eke nathi items eken load wenawa, checkout eke price karaddi aye query ekak na
+        List<Long> unknown = pricingEngine.load(qtyByItemId.keySet());
+        if (!unknown.isEmpty()) {
+            throw new ItemNotFoundException("Item not found: " + unknown.get(0));
+        }
+    }
+}
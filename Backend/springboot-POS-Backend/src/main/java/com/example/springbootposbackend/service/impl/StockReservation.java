@@ -0,0 +1,95 @@
+package com.example.springbootposbackend.service.impl;
+
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.exception.CustomerNotFoundException;
+import com.example.springbootposbackend.exception.InsufficientStockException;
+import com.example.springbootposbackend.exception.InvalidOrderException;
+import com.example.springbootposbackend.exception.ItemNotFoundException;
+import com.example.springbootposbackend.exception.OrderRejectedException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Validates the orders of one bulk chunk against customers and items that
+ * were loaded (and locked) up front, without touching the database. Keeps a
+ * running stock count so later orders in the chunk see what earlier ones
+ * reserved, and the total to decrement once at the end.
+ */
+public class StockReservation {
+
+    private final Map<Long, Customer> customers;
+    private final Map<Long, Item> items;
+    private final Map<Long, Integer> remaining = new HashMap<>();
+    private final SortedMap<Long, Integer> totalQtyByItemId = new TreeMap<>();
+    private int insufficientStock;
+
+    public StockReservation(Map<Long, Customer> customers, Map<Long, Item> items) {
+        this.customers = customers;
+        this.items = items;
+        for (Item item : items.values()) {
+            remaining.put(item.getId(), item.getQtyOnHand());
+        }
+    }
+
+    // Order eka valid nam remaining stock eken adu karala null return karanawa, nathnam rejection eka (throw karanne na)
+    public OrderRejectedException reserve(OrderDTO orderDTO) {
+        Long customerId = parseId(orderDTO.getCustomerId());
+        if (customerId == null || !customers.containsKey(customerId)) {
+            return new CustomerNotFoundException("Customer not found: " + orderDTO.getCustomerId());
+        }
+        if (orderDTO.getOrderDetails() == null || orderDTO.getOrderDetails().isEmpty()) {
+            return new InvalidOrderException("Order has no items");
+        }
+
+        Map<Long, Integer> qtyByItemId = new HashMap<>();
+        for (OrderDetailDTO detailDTO : orderDTO.getOrderDetails()) {
+            if (detailDTO.getItemId() == null || !items.containsKey(detailDTO.getItemId())) {
+                return new ItemNotFoundException("Item not found: " + detailDTO.getItemId());
+            }
+            qtyByItemId.merge(detailDTO.getItemId(), detailDTO.getQty(), Integer::sum);
+        }
+        for (Map.Entry<Long, Integer> entry : qtyByItemId.entrySet()) {
+            if (remaining.get(entry.getKey()) < entry.getValue()) {
+                insufficientStock++;
+                return new InsufficientStockException("Insufficient stock for item: " + entry.getKey());
+            }
+        }
+
+        for (Map.Entry<Long, Integer> entry : qtyByItemId.entrySet()) {
+            remaining.merge(entry.getKey(), -entry.getValue(), Integer::sum);
+            totalQtyByItemId.merge(entry.getKey(), entry.getValue(), Integer::sum);
+        }
+        return null;
+    }
+
+    public Customer customerOf(OrderDTO orderDTO) {
+        return customers.get(parseId(orderDTO.getCustomerId()));
+    }
+
+    // Item id order eken, decrementStock ekata denna
+    public SortedMap<Long, Integer> getTotalQtyByItemId() {
+        return totalQtyByItemId;
+    }
+
+    public int getRemaining(long itemId) {
+        return remaining.get(itemId);
+    }
+
+    public int getInsufficientStock() {
+        return insufficientStock;
+    }
+
+    static Long parseId(String id) {
+        try {
+            return id == null ? null : Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
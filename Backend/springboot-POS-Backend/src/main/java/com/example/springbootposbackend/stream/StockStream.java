@@ -0,0 +1,280 @@
+package com.example.springbootposbackend.stream;
+
+import com.example.springbootposbackend.cache.CatalogChangeSequence;
+import com.example.springbootposbackend.cache.ItemCatalogCache.StockChange;
+import com.example.springbootposbackend.config.StockStreamProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed stock levels to tills over server-sent events.
+ * Changes are coalesced per item (latest version wins) and flushed once per
+ * window as a single event. The event is encoded once and shared by every
+ * subscriber. Each subscriber has a small bounded queue drained by a shared
+ * sender pool. A till whose queue fills up is disconnected instead of
+ * buffered for. When it reconnects it gets a "sync" event and catches up
+ * through /api/v1/items/changes. Event ids are catalog change sequence
+ * watermarks, so a till's last event id is a valid "since".
+ * A send still blocked after pos.stock-stream.send-timeout-ms (a till that
+ * stopped reading) gets the same treatment, and the pool gets an extra
+ * thread until that write gives up, so a few stalled sockets cannot starve
+ * every other subscriber.
+ */
+@Component
+public class StockStream {
+
+    private final StockStreamProperties properties;
+    private final CatalogChangeSequence catalogChangeSequence;
+    private final ObjectMapper objectMapper;
+    private final Counter dropped;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Sender thread ekak dan wada karana subscribers (queue eka piruna nisa ain karapu aya athuluwa)
+    private final Set<Subscriber> sending = ConcurrentHashMap.newKeySet();
+    // "this" lock eka yata witharai
+    private Map<Long, StockChange> pending = new HashMap<>();
+    private long lastEventNanos = System.nanoTime();
+
+    private ScheduledExecutorService flusher;
+    private ThreadPoolExecutor senders;
+
+    public StockStream(StockStreamProperties properties, CatalogChangeSequence catalogChangeSequence,
+                       ObjectMapper objectMapper, MeterRegistry registry) {
+        this.properties = properties;
+        this.catalogChangeSequence = catalogChangeSequence;
+        this.objectMapper = objectMapper;
+        this.dropped = Counter.builder("pos.stock.stream.dropped")
+                .description("Stock stream subscribers disconnected because they fell behind")
+                .register(registry);
+        Gauge.builder("pos.stock.stream.subscribers", subscribers, Set::size)
+                .description("Tills subscribed to the stock stream")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(daemon("stock-stream-flush"));
+        senders = new ThreadPoolExecutor(properties.getSenderThreads(), properties.getSenderThreads(),
+                0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), daemon("stock-stream-send"));
+        long window = properties.getCoalesceWindowMs();
+        flusher.scheduleWithFixedDelay(this::flush, window, window, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.close();
+        }
+        senders.shutdown();
+    }
+
+    /**
+     * New subscription, or null when the node already has
+     * pos.stock-stream.max-subscribers tills connected.
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter();
+        return register(emitter) ? emitter : null;
+    }
+
+    // Commit ekata passe witharak call karanna (OrderServiceIMPL / ItemServiceIMPL)
+    public void publish(List<StockChange> changes) {
+        synchronized (this) {
+            for (StockChange change : changes) {
+                pending.merge(change.itemId(), change, (a, b) -> a.version() >= b.version() ? a : b);
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    boolean register(SseEmitter emitter) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            return false;
+        }
+        Subscriber subscriber = new Subscriber(emitter, properties.getSubscriberQueueSize());
+        subscribers.add(subscriber);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        // Till eka meeta passe events ganna kalin /items/changes?since=<id> eken catch up karanawa
+        subscriber.offer(SseEmitter.event().name("sync").id(String.valueOf(catalogChangeSequence.watermark()))
+                .data("{}", MediaType.APPLICATION_JSON).build());
+        return true;
+    }
+
+    void flush() {
+        evictStalled();
+        // Watermark eka swap ekata kalin: eeta adu commit una hama change ekakma me batch ekata hari kalin ekakata gihin
+        long sequence = catalogChangeSequence.watermark();
+        Map<Long, StockChange> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                if (System.nanoTime() - lastEventNanos < properties.getHeartbeatMs() * 1_000_000L) {
+                    return;
+                }
+                batch = Map.of();
+            } else {
+                batch = pending;
+                pending = new HashMap<>();
+            }
+            lastEventNanos = System.nanoTime();
+        }
+        Set<DataWithMediaType> event = batch.isEmpty()
+                ? SseEmitter.event().comment("heartbeat").build()
+                : SseEmitter.event().name("stock").id(String.valueOf(sequence))
+                        .data(objectMapper.writeValueAsString(new ArrayList<>(batch.values())), MediaType.APPLICATION_JSON)
+                        .build();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    // Write eka send timeout eka pahu una subscribers ain karanawa; e thread eka block wela inna nisa pool ekata aluth ekak
+    private void evictStalled() {
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSendTimeoutMs());
+        long now = System.nanoTime();
+        for (Subscriber subscriber : sending) {
+            if (subscriber.stalled(now, timeoutNanos)) {
+                dropped.increment();
+                resizeSenders(1);
+            }
+        }
+    }
+
+    private void resizeSenders(int delta) {
+        synchronized (senders) {
+            int size = senders.getCorePoolSize() + delta;
+            if (delta > 0) {
+                senders.setMaximumPoolSize(size);
+                senders.setCorePoolSize(size);
+            } else {
+                senders.setCorePoolSize(size);
+                senders.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Ekama welawe ekama sender thread ekak witharai subscriber kenekuta liyanne (scheduled flag eka)
+    private final class Subscriber implements Runnable {
+        private static final int IDLE = 0;
+        private static final int SENDING = 1;
+        private static final int STALLED = 2;
+
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Set<DataWithMediaType>> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicInteger sendState = new AtomicInteger(IDLE);
+        private volatile long sendStartedNanos;
+        private volatile boolean closed;
+        private volatile boolean lagging;
+
+        Subscriber(SseEmitter emitter, int queueSize) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+
+        void offer(Set<DataWithMediaType> event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                // Slow client: memory eke events ekathu karanne na, disconnect karala resync karanna arinawa
+                dropped.increment();
+                lagging = true;
+                close();
+            }
+            schedule();
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+
+        // Flusher thread eken: send eka timeout eka pahu wela nam subscriber eka disconnect karanna mark karanawa
+        boolean stalled(long now, long timeoutNanos) {
+            if (sendState.get() != SENDING || now - sendStartedNanos < timeoutNanos
+                    || !sendState.compareAndSet(SENDING, STALLED)) {
+                return false;
+            }
+            lagging = true;
+            close();
+            return true;
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                sending.add(this);
+                senders.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Set<DataWithMediaType> event;
+                while (!closed && (event = queue.poll()) != null) {
+                    sendStartedNanos = System.nanoTime();
+                    sendState.set(SENDING);
+                    emitter.send(event);
+                    sendState.compareAndSet(SENDING, IDLE);
+                }
+                if (lagging) {
+                    queue.clear();
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client eka giyoth write eka fail wenawa
+                close();
+            } finally {
+                // Me thread eka wenuwata pool ekata thread ekak damma nam, dan eka ain karanawa
+                if (sendState.getAndSet(IDLE) == STALLED) {
+                    resizeSenders(-1);
+                }
+                sending.remove(this);
+                scheduled.set(false);
+                if (!closed && !queue.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+}
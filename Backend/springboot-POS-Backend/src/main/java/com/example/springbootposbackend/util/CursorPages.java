@@ -0,0 +1,37 @@
+package com.example.springbootposbackend.util;
+
+import com.example.springbootposbackend.config.PagingProperties;
+import com.example.springbootposbackend.dto.CursorPageDTO;
+
+import java.util.List;
+import java.util.function.Function;
+
+public final class CursorPages {
+
+    private CursorPages() {
+    }
+
+    public static int pageSize(Integer requested, PagingProperties properties) {
+        if (requested == null || requested <= 0) {
+            return properties.getDefaultPageSize();
+        }
+        return Math.min(requested, properties.getMaxPageSize());
+    }
+
+    // User type karana % / _ wildcard widihata ganna epa, repository query eke escape char eka '!'
+    public static String likePrefix(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        return prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+
+    // Query eka size + 1 rows gannawa, extra row ekak awoth witharak next page ekak thiyenawa
+    public static <T> CursorPageDTO<T> of(List<T> rows, int size, Function<T, Long> idOf) {
+        if (rows.size() <= size) {
+            return new CursorPageDTO<>(rows, null);
+        }
+        List<T> page = rows.subList(0, size);
+        return new CursorPageDTO<>(page, idOf.apply(page.get(size - 1)));
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.springbootposbackend.benchmark;
+
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.entity.Order;
+import com.example.springbootposbackend.entity.OrderDetail;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.repository.OrderRepo;
+import com.example.springbootposbackend.service.OrderService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The batched, lock-ordered reservation in placeOrder against the old
+ * findById + save loop per basket line, same baskets and threads. The loop
+ * takes no lock, so it is only here as the throughput baseline; the batched
+ * run also checks that no stock update was lost.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class BatchedReservationBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final int ORDERS_PER_THREAD = 25;
+    private static final int INITIAL_STOCK = 200;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private CustomerRepo customerRepo;
+    @Autowired
+    private OrderRepo orderRepo;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void batchedReservationComparedToPerLineLoop() throws Exception {
+        long customerId = customerRepo.save(new Customer(null, "Batch Till", "No 1, Reservation Road", null)).getId();
+
+        List<Long> batchedItems = items("Batched item");
+        AtomicInteger placed = new AtomicInteger();
+        long batchedNanos = runConcurrently(() -> {
+            try {
+                orderService.placeOrder(basket(customerId, batchedItems));
+                placed.incrementAndGet();
+            } catch (RuntimeException ignored) {
+                // Insufficient stock once the items sell out
+            }
+        });
+        for (Long itemId : batchedItems) {
+            assertEquals(INITIAL_STOCK - placed.get(), itemRepo.findById(itemId).orElseThrow().getQtyOnHand());
+        }
+
+        List<Long> loopItems = items("Loop item");
+        long loopNanos = runConcurrently(() -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> perLineDecrement(customerId, basket(customerId, loopItems)));
+            } catch (RuntimeException ignored) {
+            }
+        });
+
+        int orders = THREADS * ORDERS_PER_THREAD;
+        System.out.printf("batched reservation: %.0f orders/s, per-line loop: %.0f orders/s%n",
+                orders / (batchedNanos / 1e9), orders / (loopNanos / 1e9));
+    }
+
+    // Old placeOrder behaviour: findById + save for every basket line, no lock
+    private void perLineDecrement(long customerId, OrderDTO orderDTO) {
+        Order order = new Order();
+        order.setDate(orderDTO.getDate());
+        order.setCustomer(customerRepo.findById(customerId).orElseThrow());
+        List<OrderDetail> details = new ArrayList<>();
+        for (OrderDetailDTO detailDTO : orderDTO.getOrderDetails()) {
+            Item item = itemRepo.findById(detailDTO.getItemId()).orElseThrow();
+            if (item.getQtyOnHand() < detailDTO.getQty()) {
+                throw new RuntimeException("Insufficient stock for item: " + item.getId());
+            }
+            item.setQtyOnHand(item.getQtyOnHand() - detailDTO.getQty());
+            itemRepo.save(item);
+            details.add(new OrderDetail(0, detailDTO.getQty(), detailDTO.getUnitPrice(), order, item));
+        }
+        order.setOrderDetails(details);
+        orderRepo.save(order);
+    }
+
+    private List<Long> items(String name) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(itemRepo.save(new Item(null, name + " " + i, 100.0, INITIAL_STOCK, 0L, 0L, null)).getId());
+        }
+        return ids;
+    }
+
+    private static OrderDTO basket(long customerId, List<Long> ids) {
+        List<OrderDetailDTO> lines = new ArrayList<>();
+        for (Long id : ids) {
+            lines.add(new OrderDetailDTO(id, 1, 100.0));
+        }
+        return new OrderDTO(null, LocalDate.now(), String.valueOf(customerId), lines);
+    }
+
+    private static long runConcurrently(Runnable task) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < THREADS; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int n = 0; n < ORDERS_PER_THREAD; n++) {
+                    task.run();
+                }
+                return null;
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES));
+        return System.nanoTime() - begin;
+    }
+}
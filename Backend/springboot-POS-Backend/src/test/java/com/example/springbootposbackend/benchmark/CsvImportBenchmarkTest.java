@@ -0,0 +1,142 @@
+package com.example.springbootposbackend.benchmark;
+
+import com.example.springbootposbackend.dto.ImportResultDTO;
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.service.ImportService;
+import com.example.springbootposbackend.service.OrderService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Imports -Dbenchmark.importRows (default 50k) generated catalog rows while
+ * -Dbenchmark.importTills tills (default 0) keep checking out the same items.
+ * The CSV is generated while it is read, so heap growth reflects the importer
+ * alone. Prints import rows/s, the heap left after it and checkout p50/p99
+ * during the import. H2 emulates ON DUPLICATE KEY UPDATE row by row and
+ * busy-waits on row locks, so run the tills variant against MySQL
+ * (-Dspring.datasource.url=jdbc:mysql://...).
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.datasource.hikari.maximum-pool-size=20")
+class CsvImportBenchmarkTest {
+
+    private static final int ITEMS = 1_000;
+
+    @Autowired
+    private ImportService importService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Test
+    void importWhileTillsCheckOut() throws Exception {
+        int rows = Integer.getInteger("benchmark.importRows", 50_000);
+        int tills = Integer.getInteger("benchmark.importTills", 0);
+        long customerId = customerRepo.save(new Customer(null, "Import Till", "No 1, Import Road", null)).getId();
+        long[] itemIds = new long[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            itemIds[i] = itemRepo.save(new Item(null, "Import item " + i, 10.0, 10_000_000, 0L, 0L, null)).getId();
+        }
+
+        long[] latencies = new long[1_000_000];
+        AtomicInteger checkouts = new AtomicInteger();
+        AtomicBoolean importing = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newCachedThreadPool();
+        for (int t = 0; t < tills; t++) {
+            pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (importing.get()) {
+                    OrderDTO order = new OrderDTO(null, LocalDate.now(), String.valueOf(customerId),
+                            List.of(new OrderDetailDTO(itemIds[random.nextInt(ITEMS)], 1, 10.0)));
+                    long begin = System.nanoTime();
+                    orderService.placeOrder(order);
+                    int n = checkouts.getAndIncrement();
+                    if (n < latencies.length) {
+                        latencies[n] = System.nanoTime() - begin;
+                    }
+                }
+                return null;
+            });
+        }
+
+        long heapBefore = usedHeap();
+        long begin = System.nanoTime();
+        ImportResultDTO result = importService.importItems(new GeneratedCsv(itemIds, rows));
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        importing.set(false);
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+        long heapAfter = usedHeap();
+
+        int done = Math.min(checkouts.get(), latencies.length);
+        long[] sorted = Arrays.copyOf(latencies, done);
+        Arrays.sort(sorted);
+        System.out.printf("import: %d rows in %.1f s (%.0f rows/s), heap +%d KB%n",
+                result.getApplied(), seconds, rows / seconds, (heapAfter - heapBefore) / 1024);
+        if (done > 0) {
+            System.out.printf("%d tills: %d checkouts during the import, p50 %.1f ms, p99 %.1f ms%n",
+                    tills, done, sorted[done / 2] / 1e6, sorted[(int) (done * 0.99)] / 1e6);
+        }
+        assertEquals(rows, result.getApplied());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // id,description,unitPrice,qtyOnHand rows over the seeded items, produced as they are read
+    private static final class GeneratedCsv extends InputStream {
+        private final long[] itemIds;
+        private final int rows;
+        private int row = -1;
+        private byte[] line = "id,description,unitPrice,qtyOnHand\n".getBytes(StandardCharsets.UTF_8);
+        private int pos;
+
+        GeneratedCsv(long[] itemIds, int rows) {
+            this.itemIds = itemIds;
+            this.rows = rows;
+        }
+
+        @Override
+        public int read() {
+            if (pos == line.length) {
+                if (row + 1 >= rows) {
+                    return -1;
+                }
+                row++;
+                long id = itemIds[row % itemIds.length];
+                line = (id + ",\"Import item " + id + ", rev " + row + "\"," + (10 + row % 90) + ".50,10000000\n")
+                        .getBytes(StandardCharsets.UTF_8);
+                pos = 0;
+            }
+            return line[pos++];
+        }
+    }
+}
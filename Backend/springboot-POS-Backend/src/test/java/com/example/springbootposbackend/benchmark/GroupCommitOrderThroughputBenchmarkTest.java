@@ -0,0 +1,7 @@
+package com.example.springbootposbackend.benchmark;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {"spring.datasource.hikari.maximum-pool-size=20", "pos.order.group-commit=true"})
+class GroupCommitOrderThroughputBenchmarkTest extends OrderThroughputBenchmarkTest {
+}
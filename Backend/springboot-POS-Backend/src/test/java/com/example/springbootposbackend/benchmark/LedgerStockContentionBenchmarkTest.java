@@ -0,0 +1,18 @@
+package com.example.springbootposbackend.benchmark;
+
+import com.example.springbootposbackend.ledger.StockLedger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {"spring.datasource.hikari.maximum-pool-size=40", "pos.order.stock-strategy=ledger",
+        "pos.stock-ledger.wal-dir=${java.io.tmpdir}/pos-stock-wal-${random.uuid}"})
+class LedgerStockContentionBenchmarkTest extends StockContentionBenchmarkTest {
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Override
+    protected void awaitStockWritten() {
+        stockLedger.flush();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.springbootposbackend.benchmark;
+
+import com.example.springbootposbackend.service.OrderService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * p50/p99 latency of the order read API against a seeded dataset.
+ * Size with -Dbenchmark.orderLines (default 5M lines, 5 lines per order).
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/benchmark/order-history;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.jpa.hibernate.ddl-auto=create"
+})
+class OrderHistoryBenchmarkTest {
+
+    private static final int LINES_PER_ORDER = 5;
+    private static final int CUSTOMERS = 50_000;
+    private static final int ITEMS = 2_000;
+    private static final int DAYS = 365;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void orderLookupLatency() {
+        int orderLines = Integer.getInteger("benchmark.orderLines", 5_000_000);
+        int orders = orderLines / LINES_PER_ORDER;
+        seed(orders);
+
+        Random random = new Random(7);
+        measure("by id", 2_000, i -> orderService.getOrder(1 + random.nextInt(orders)));
+        measure("by customer", 1_000, i -> orderService.getOrdersByCustomer(1 + random.nextInt(CUSTOMERS)));
+        measure("by day", 200, i -> {
+            LocalDate day = FIRST_DAY.plusDays(random.nextInt(DAYS));
+            orderService.getOrdersByDateRange(day, day);
+        });
+    }
+
+    private void seed(int orders) {
+        List<Object[]> batch = new ArrayList<>();
+        for (int c = 1; c <= CUSTOMERS; c++) {
+            batch.add(new Object[]{c, "Customer " + c, "No " + c + ", Seed Road"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO customer (id, name, address) VALUES (?, ?, ?)", batch);
+        batch.clear();
+        for (int i = 1; i <= ITEMS; i++) {
+            batch.add(new Object[]{i, "Item " + i, 10.0 + i % 100, 1_000_000, 0});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO item (id, description, unit_price, qty_on_hand, version) VALUES (?, ?, ?, ?, ?)", batch);
+
+        Random random = new Random(42);
+        List<Object[]> orderBatch = new ArrayList<>();
+        List<Object[]> lineBatch = new ArrayList<>();
+        int lineId = 0;
+        for (int o = 1; o <= orders; o++) {
+            orderBatch.add(new Object[]{o, Date.valueOf(FIRST_DAY.plusDays(random.nextInt(DAYS))), 1 + random.nextInt(CUSTOMERS)});
+            for (int l = 0; l < LINES_PER_ORDER; l++) {
+                lineBatch.add(new Object[]{++lineId, 1 + random.nextInt(3), 10.0 + l, o, 1 + random.nextInt(ITEMS)});
+            }
+            if (orderBatch.size() == 10_000 || o == orders) {
+                jdbcTemplate.batchUpdate("INSERT INTO orders (id, date, customer_id) VALUES (?, ?, ?)", orderBatch);
+                jdbcTemplate.batchUpdate("INSERT INTO order_detail (id, qty, unit_price, order_id, item_id) VALUES (?, ?, ?, ?, ?)", lineBatch);
+                orderBatch.clear();
+                lineBatch.clear();
+            }
+        }
+    }
+
+    private void measure(String name, int calls, IntConsumer call) {
+        for (int i = 0; i < calls / 10; i++) {
+            call.accept(i); // warm-up
+        }
+        long[] nanos = new long[calls];
+        for (int i = 0; i < calls; i++) {
+            long start = System.nanoTime();
+            call.accept(i);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("order lookup %-12s p50 %.2f ms, p99 %.2f ms (%d calls)%n", name,
+                nanos[calls / 2] / 1e6, nanos[(int) (calls * 0.99)] / 1e6, calls);
+    }
+}
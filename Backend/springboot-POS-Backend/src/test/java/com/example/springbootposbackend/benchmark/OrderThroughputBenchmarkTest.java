@@ -0,0 +1,92 @@
+package com.example.springbootposbackend.benchmark;
+
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.service.OrderService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Orders/sec and p99 checkout latency at increasing concurrency, one commit
+ * per order. GroupCommitOrderThroughputBenchmarkTest runs the same load with
+ * group commit on. In-memory H2 has no fsync cost, so pass
+ * -Dspring.datasource.url=jdbc:mysql://... to see the effect group commit is for.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.datasource.hikari.maximum-pool-size=20")
+class OrderThroughputBenchmarkTest {
+
+    private static final int[] CONCURRENCY = {1, 8, 32, 128};
+    private static final int ITEMS = 1_000;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private CustomerRepo customerRepo;
+    @Value("${pos.order.group-commit:false}")
+    private boolean groupCommit;
+
+    @Test
+    void throughputByConcurrency() throws Exception {
+        int ordersPerLevel = Integer.getInteger("benchmark.ordersPerLevel", 4_000);
+        long customerId = customerRepo.save(new Customer(null, "Throughput Till", "No 1, Commit Road", null)).getId();
+        long[] itemIds = new long[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            itemIds[i] = itemRepo.save(new Item(null, "Throughput item " + i, 10.0, 10_000_000, 0L, 0L, null)).getId();
+        }
+
+        for (int threads : CONCURRENCY) {
+            long[] latencies = new long[ordersPerLevel];
+            AtomicInteger next = new AtomicInteger();
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            for (int t = 0; t < threads; t++) {
+                pool.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    int n;
+                    while ((n = next.getAndIncrement()) < ordersPerLevel) {
+                        OrderDTO order = new OrderDTO(null, LocalDate.now(), String.valueOf(customerId), List.of(
+                                new OrderDetailDTO(itemIds[random.nextInt(ITEMS)], 1, 10.0),
+                                new OrderDetailDTO(itemIds[random.nextInt(ITEMS)], 1, 10.0)));
+                        long begin = System.nanoTime();
+                        orderService.placeOrder(order);
+                        latencies[n] = System.nanoTime() - begin;
+                    }
+                    return null;
+                });
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.MINUTES));
+            double seconds = (System.nanoTime() - begin) / 1e9;
+
+            Arrays.sort(latencies);
+            System.out.printf("%s, %3d threads: %6.0f orders/s, p99 %.2f ms%n",
+                    groupCommit ? "group commit" : "commit per order", threads,
+                    ordersPerLevel / seconds, latencies[(int) (ordersPerLevel * 0.99)] / 1e6);
+        }
+    }
+}
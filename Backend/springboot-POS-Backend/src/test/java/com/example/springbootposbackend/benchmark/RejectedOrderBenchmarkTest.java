@@ -0,0 +1,125 @@
+package com.example.springbootposbackend.benchmark;
+
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.exception.OrderRejectedException;
+import com.example.springbootposbackend.metrics.SqlStatementCounter;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.service.OrderService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cost of a rejected checkout by the stage that rejects it: malformed
+ * baskets and unknown ids stop in the validator, short stock only inside the
+ * order transaction. An accepted checkout is measured for comparison, and a
+ * stack-trace RuntimeException thrown from a few dozen frames deep shows what
+ * every rejection used to pay on top.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class RejectedOrderBenchmarkTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Test
+    void rejectionCostByStage() throws Exception {
+        int requests = Integer.getInteger("benchmark.requests", 20_000);
+        String customerId = String.valueOf(
+                customerRepo.save(new Customer(null, "Reject Till", "No 4, Refusal Road", null)).getId());
+        long plenty = itemRepo.save(new Item(null, "Plenty", 10.0, 100_000_000, 0L, 0L, null)).getId();
+        long soldOut = itemRepo.save(new Item(null, "Sold out", 10.0, 0, 0L, 0L, null)).getId();
+        long missing = soldOut + 1_000_000;
+
+        run("accepted", requests, n -> order(customerId, plenty, 1), false);
+        run("malformed (qty 0)", requests, n -> order(customerId, plenty, 0), true);
+        run("unknown item", requests, n -> order(customerId, missing, 1), true);
+        run("insufficient stock", requests, n -> order(customerId, soldOut, 1), true);
+
+        long begin = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            try {
+                throwDeep(40);
+            } catch (RuntimeException expected) {
+                // measuring the throw only
+            }
+        }
+        System.out.printf("%-20s %8.1f us/request%n", "stack trace only", (System.nanoTime() - begin) / 1e3 / requests);
+    }
+
+    private void run(String label, int requests, IntFunction<OrderDTO> orders, boolean expectRejection) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicLong statements = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < THREADS; t++) {
+            pool.submit(() -> {
+                start.await();
+                int n;
+                while ((n = next.getAndIncrement()) < requests) {
+                    OrderDTO order = orders.apply(n);
+                    int sqlBefore = SqlStatementCounter.count();
+                    long begin = System.nanoTime();
+                    try {
+                        orderService.placeOrder(order);
+                    } catch (OrderRejectedException ex) {
+                        rejected.incrementAndGet();
+                    }
+                    latencies[n] = System.nanoTime() - begin;
+                    statements.addAndGet(SqlStatementCounter.count() - sqlBefore);
+                }
+                return null;
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.MINUTES));
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        assertEquals(expectRejection ? requests : 0, rejected.get());
+
+        Arrays.sort(latencies);
+        System.out.printf("%-20s %8.0f requests/s, p50 %7.1f us, p99 %7.1f us, %.2f SQL/request%n",
+                label, requests / seconds, latencies[requests / 2] / 1e3, latencies[(int) (requests * 0.99)] / 1e3,
+                (double) statements.get() / requests);
+    }
+
+    private static OrderDTO order(String customerId, long itemId, int qty) {
+        return new OrderDTO(null, LocalDate.now(), customerId, List.of(new OrderDetailDTO(itemId, qty, 10.0)));
+    }
+
+    private static void throwDeep(int depth) {
+        if (depth == 0) {
+            throw new RuntimeException("Insufficient stock for item: 1");
+        }
+        throwDeep(depth - 1);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.springbootposbackend.benchmark;
+
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load test over real HTTP: -Dbenchmark.tills concurrent clients (default 300)
+ * each send -Dbenchmark.requestsPerTill requests, 30% checkouts and 70% item
+ * page reads. Prints throughput, p50/p99 latency and how many requests the
+ * concurrency limiter turned away. VirtualThreadRequestLoadTest runs the same
+ * load with spring.threads.virtual.enabled=true.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.hikari.maximum-pool-size=20")
+class RequestThreadingLoadTest {
+
+    private static final int ITEMS = 500;
+
+    @LocalServerPort
+    private int port;
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Test
+    void throughputAndTailLatency() throws Exception {
+        int tills = Integer.getInteger("benchmark.tills", 300);
+        int requestsPerTill = Integer.getInteger("benchmark.requestsPerTill", 50);
+        long customerId = customerRepo.save(new Customer(null, "Load Till", "No 1, Load Road", null)).getId();
+        long[] itemIds = new long[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            itemIds[i] = itemRepo.save(new Item(null, "Load item " + i, 10.0, 10_000_000, 0L, 0L, null)).getId();
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        long[] latencies = new long[tills * requestsPerTill];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(tills);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < tills; t++) {
+            pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int n = 0; n < requestsPerTill; n++) {
+                    HttpRequest request = random.nextInt(10) < 3
+                            ? checkout(customerId, itemIds[random.nextInt(ITEMS)])
+                            : get("/api/v1/items/page?size=50&after=" + random.nextInt(ITEMS));
+                    long begin = System.nanoTime();
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    latencies[next.getAndIncrement()] = System.nanoTime() - begin;
+                    if (status == 503) {
+                        rejected.incrementAndGet();
+                    } else if (status != 200) {
+                        failed.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.MINUTES));
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        int done = next.get();
+        long[] sorted = Arrays.copyOf(latencies, done);
+        Arrays.sort(sorted);
+        System.out.printf("%s threads, %d tills: %.0f req/s, p50 %.1f ms, p99 %.1f ms, %d rejected (503), %d failed%n",
+                virtualThreads ? "virtual" : "platform", tills, done / seconds,
+                sorted[done / 2] / 1e6, sorted[(int) (done * 0.99)] / 1e6, rejected.get(), failed.get());
+        assertTrue(failed.get() == 0, failed.get() + " requests failed");
+    }
+
+    private HttpRequest checkout(long customerId, long itemId) {
+        String body = "{\"date\":\"2026-01-15\",\"customerId\":\"" + customerId + "\","
+                + "\"orderDetails\":[{\"itemId\":" + itemId + ",\"qty\":1,\"unitPrice\":10.0}]}";
+        return HttpRequest.newBuilder(uri("/api/v1/orders"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.springbootposbackend.benchmark;
+
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.service.OrderService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Flash sale shape: every checkout buys from the same few items, so with row
+ * locks all of them queue on those rows. LedgerStockContentionBenchmarkTest
+ * runs the same load with the in-memory stock ledger. Threads default to
+ * twice the core count and at least 16 (-Dbenchmark.threads); the numbers
+ * only mean something on a machine with 16+ cores, and against MySQL
+ * (-Dspring.datasource.url=jdbc:mysql://...) where commits pay for an fsync.
+ * With the ledger the hot rows move to daily_item_sales, which every checkout
+ * still upserts in its own transaction; on H2, where contended row locks
+ * spin, that upsert is what the ledger run ends up measuring.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.datasource.hikari.maximum-pool-size=40")
+class StockContentionBenchmarkTest {
+
+    private static final int HOT_ITEMS = 4;
+    private static final int INITIAL_STOCK = 10_000_000;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private CustomerRepo customerRepo;
+    @Value("${pos.order.stock-strategy:pessimistic}")
+    private String strategy;
+
+    @Test
+    void hotItemCheckouts() throws Exception {
+        int threads = Integer.getInteger("benchmark.threads", Math.max(16, 2 * Runtime.getRuntime().availableProcessors()));
+        int orders = Integer.getInteger("benchmark.hotOrders", 4_000);
+        long customerId = customerRepo.save(new Customer(null, "Flash Sale Till", "No 1, Contention Lane", null)).getId();
+        long[] itemIds = new long[HOT_ITEMS];
+        for (int i = 0; i < HOT_ITEMS; i++) {
+            itemIds[i] = itemRepo.save(new Item(null, "Hot item " + i, 10.0, INITIAL_STOCK, 0L, 0L, null)).getId();
+        }
+
+        long[] latencies = new long[orders];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger[] sold = new AtomicInteger[HOT_ITEMS];
+        Arrays.setAll(sold, i -> new AtomicInteger());
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int n;
+                while ((n = next.getAndIncrement()) < orders) {
+                    int first = random.nextInt(HOT_ITEMS);
+                    int second = (first + 1 + random.nextInt(HOT_ITEMS - 1)) % HOT_ITEMS;
+                    OrderDTO order = new OrderDTO(null, LocalDate.now(), String.valueOf(customerId), List.of(
+                            new OrderDetailDTO(itemIds[first], 1, 10.0),
+                            new OrderDetailDTO(itemIds[second], 1, 10.0)));
+                    long begin = System.nanoTime();
+                    orderService.placeOrder(order);
+                    latencies[n] = System.nanoTime() - begin;
+                    sold[first].incrementAndGet();
+                    sold[second].incrementAndGet();
+                }
+                return null;
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.MINUTES));
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        awaitStockWritten();
+        for (int i = 0; i < HOT_ITEMS; i++) {
+            assertEquals(INITIAL_STOCK - sold[i].get(), itemRepo.findById(itemIds[i]).orElseThrow().getQtyOnHand());
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%s, %d cores, %d threads on %d hot items: %.0f orders/s, p50 %.2f ms, p99 %.2f ms%n",
+                strategy, Runtime.getRuntime().availableProcessors(), threads, HOT_ITEMS, orders / seconds,
+                latencies[orders / 2] / 1e6, latencies[(int) (orders * 0.99)] / 1e6);
+    }
+
+    // Hook for strategies that write qty_on_hand after the checkout returns
+    protected void awaitStockWritten() {
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.springbootposbackend.benchmark;
+
+import com.example.springbootposbackend.cache.ItemCatalogCache.StockChange;
+import com.example.springbootposbackend.stream.StockStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * -Dbenchmark.subscribers SSE clients (default 2000) hold the stock stream
+ * open on one node. Prints how long one stock change takes to reach all of
+ * them (p50/p99/max) and the heap growth while connected. The clients run in
+ * the same JVM, so the heap figure is an upper bound for the server side.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "pos.stock-stream.coalesce-window-ms=50")
+class StockStreamFanoutBenchmarkTest {
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private StockStream stockStream;
+
+    @Test
+    void fanOutLatencyAndMemory() throws Exception {
+        int subscribers = Integer.getInteger("benchmark.subscribers", 2000);
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/items/stock-stream")).build();
+        long heapBefore = usedHeap();
+
+        CountDownLatch connected = new CountDownLatch(subscribers);
+        CountDownLatch received = new CountDownLatch(subscribers);
+        long[] arrivals = new long[subscribers];
+        List<CompletableFuture<HttpResponse<Void>>> streams = new ArrayList<>();
+        for (int s = 0; s < subscribers; s++) {
+            int subscriber = s;
+            // Lines are handled on the client's own selector threads, no thread per subscriber
+            streams.add(client.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(new LineSubscriber(line -> {
+                if (line.equals("event:sync")) {
+                    connected.countDown();
+                } else if (line.startsWith("data:") && line.contains("\"itemId\":424242")) {
+                    arrivals[subscriber] = System.nanoTime();
+                    received.countDown();
+                }
+            }))));
+        }
+        assertTrue(connected.await(2, TimeUnit.MINUTES), (subscribers - connected.getCount()) + " of " + subscribers + " subscribers connected");
+        assertEquals(subscribers, stockStream.subscriberCount());
+        long heapConnected = usedHeap();
+
+        long published = System.nanoTime();
+        stockStream.publish(List.of(new StockChange(424242L, 7, 1)));
+        assertTrue(received.await(1, TimeUnit.MINUTES), "Not every subscriber received the change");
+
+        long[] latencies = new long[subscribers];
+        for (int s = 0; s < subscribers; s++) {
+            latencies[s] = arrivals[s] - published;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%d subscribers: heap +%d KB (server and clients), fan-out p50 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                subscribers, (heapConnected - heapBefore) / 1024, latencies[subscribers / 2] / 1e6,
+                latencies[(int) (subscribers * 0.99)] / 1e6, latencies[subscribers - 1] / 1e6);
+        streams.forEach(stream -> stream.cancel(true));
+    }
+
+    private record LineSubscriber(Consumer<String> onLine) implements Flow.Subscriber<String> {
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            onLine.accept(line);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
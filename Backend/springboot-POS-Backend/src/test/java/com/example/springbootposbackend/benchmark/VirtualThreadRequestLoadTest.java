@@ -0,0 +1,12 @@
+package com.example.springbootposbackend.benchmark;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+
+// Same load as RequestThreadingLoadTest with Tomcat and async work on virtual threads (needs a Java 21+ runtime)
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.datasource.hikari.maximum-pool-size=20", "spring.threads.virtual.enabled=true"})
+class VirtualThreadRequestLoadTest extends RequestThreadingLoadTest {
+}
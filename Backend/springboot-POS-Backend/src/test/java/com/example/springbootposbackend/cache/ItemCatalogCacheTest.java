@@ -0,0 +1,64 @@
+package com.example.springbootposbackend.cache;
+
+import com.example.springbootposbackend.dto.ItemDTO;
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.service.ItemService;
+import com.example.springbootposbackend.service.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class ItemCatalogCacheTest {
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private CustomerRepo customerRepo;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void checkoutPatchesSnapshotAndCrudInvalidatesIt() {
+        long customerId = customerRepo.save(new Customer(null, "Cache Customer", "No 3, Cache Lane", null)).getId();
+        long itemId = itemRepo.save(new Item(null, "Milk", 320.0, 10, 0L, 0L, null)).getId();
+
+        itemService.getAllItems();
+        double misses = misses();
+
+        orderService.placeOrder(new OrderDTO(null, LocalDate.now(), String.valueOf(customerId),
+                List.of(new OrderDetailDTO(itemId, 4, 320.0))));
+
+        assertEquals(6, qtyOf(itemId));
+        assertEquals(misses, misses(), "Stock patch should not force a reload");
+
+        itemService.updateItem(new ItemDTO(itemId, "Milk 1L", 330.0, 50));
+        assertEquals(50, qtyOf(itemId));
+        assertEquals(misses + 1, misses());
+    }
+
+    private int qtyOf(long itemId) {
+        return itemService.getAllItems().stream()
+                .filter(item -> item.getId() == itemId)
+                .findFirst().orElseThrow().getQtyOnHand();
+    }
+
+    private double misses() {
+        return meterRegistry.get("pos.catalog.misses").counter().count();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.springbootposbackend.cache;
+
+import com.example.springbootposbackend.dto.ItemDTO;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.service.ItemService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "pos.catalog.max-items=2")
+class OversizedCatalogTest {
+
+    private static final int THREADS = 8;
+    private static final int READS_PER_THREAD = 20;
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void catalogAboveTheLimitIsReadStraightThroughByConcurrentTills() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(itemRepo.save(new Item(null, "Oversized " + i, 10.0 + i, 5, 0L, 0L, null)).getId());
+        }
+        double missesBefore = meterRegistry.get("pos.catalog.misses").counter().count();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    boolean complete = true;
+                    for (int n = 0; n < READS_PER_THREAD; n++) {
+                        List<Long> seen = itemService.getAllItems().stream().map(ItemDTO::getId).toList();
+                        complete &= seen.containsAll(ids);
+                    }
+                    return complete;
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Nothing is held in memory, every read went to the database
+        assertEquals(0, meterRegistry.get("pos.catalog.size").gauge().value());
+        assertEquals(missesBefore + THREADS * READS_PER_THREAD, meterRegistry.get("pos.catalog.misses").counter().count());
+    }
+}
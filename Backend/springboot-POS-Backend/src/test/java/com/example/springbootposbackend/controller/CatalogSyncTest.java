@@ -0,0 +1,109 @@
+package com.example.springbootposbackend.controller;
+
+import com.example.springbootposbackend.cache.CatalogChangeSequence;
+import com.example.springbootposbackend.dto.CatalogDeltaDTO;
+import com.example.springbootposbackend.dto.ItemDTO;
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.service.ItemService;
+import com.example.springbootposbackend.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CatalogSyncTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private CustomerRepo customerRepo;
+    @Autowired
+    private CatalogChangeSequence catalogChangeSequence;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void unchangedCatalogIsAnsweredWithNotModified() throws Exception {
+        long itemId = itemRepo.save(new Item(null, "Etag Soap", 90.0, 30, 0L, 0L, null)).getId();
+        String etag = mockMvc.perform(get("/api/v1/items")).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/items").header("If-None-Match", etag)).andExpect(status().isNotModified());
+
+        itemService.updateItem(new ItemDTO(itemId, "Etag Soap", 95.0, 30));
+        String changed = mockMvc.perform(get("/api/v1/items").header("If-None-Match", etag)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, changed);
+    }
+
+    @Test
+    void deltaCarriesOnlyPriceStockAndDeleteChanges() {
+        long customerId = customerRepo.save(new Customer(null, "Delta Till", "No 5, Sync Street", null)).getId();
+        long repriced = itemRepo.save(new Item(null, "Delta Tea", 100.0, 10, 0L, 0L, null)).getId();
+        long sold = itemRepo.save(new Item(null, "Delta Milk", 200.0, 10, 0L, 0L, null)).getId();
+        long removed = itemRepo.save(new Item(null, "Delta Salt", 50.0, 10, 0L, 0L, null)).getId();
+        itemRepo.save(new Item(null, "Delta Untouched", 70.0, 10, 0L, 0L, null));
+
+        CatalogDeltaDTO initial = itemService.getChangesSince(0);
+        assertTrue(initial.isReset());
+
+        itemService.updateItem(new ItemDTO(repriced, "Delta Tea", 120.0, 10));
+        orderService.placeOrder(new OrderDTO(null, LocalDate.now(), String.valueOf(customerId),
+                List.of(new OrderDetailDTO(sold, 3, 200.0))));
+        itemService.deleteItem(removed);
+
+        CatalogDeltaDTO delta = itemService.getChangesSince(initial.getSequence());
+        assertFalse(delta.isReset());
+        Map<Long, ItemDTO> changed = delta.getItems().stream().collect(Collectors.toMap(ItemDTO::getId, Function.identity()));
+        assertEquals(2, changed.size());
+        assertEquals(120.0, changed.get(repriced).getUnitPrice());
+        assertEquals(7, changed.get(sold).getQtyOnHand());
+        assertEquals(List.of(removed), delta.getDeletedIds());
+
+        CatalogDeltaDTO caughtUp = itemService.getChangesSince(delta.getSequence());
+        assertTrue(caughtUp.getItems().isEmpty());
+        assertTrue(caughtUp.getDeletedIds().isEmpty());
+    }
+
+    @Test
+    void watermarkStaysBelowAnUncommittedChange() {
+        long before = catalogChangeSequence.watermark();
+        long[] inside = new long[2];
+        transactionTemplate.executeWithoutResult(status -> {
+            inside[0] = catalogChangeSequence.next();
+            inside[1] = catalogChangeSequence.watermark();
+        });
+
+        assertTrue(inside[1] < inside[0]);
+        assertTrue(inside[1] >= before);
+        assertTrue(catalogChangeSequence.watermark() >= inside[0]);
+    }
+}
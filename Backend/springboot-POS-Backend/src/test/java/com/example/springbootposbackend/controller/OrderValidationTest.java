@@ -0,0 +1,123 @@
+package com.example.springbootposbackend.controller;
+
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.repository.OrderRepo;
+import com.example.springbootposbackend.support.SqlBudgetFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderValidationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CustomerRepo customerRepo;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private OrderRepo orderRepo;
+
+    private long customerId;
+    private long itemId;
+
+    @BeforeEach
+    void seed() {
+        customerId = customerRepo.save(new Customer(null, "Validation Buyer", "No 3, Strict Road", null)).getId();
+        itemId = itemRepo.save(new Item(null, "Validation item", 40.0, 5, 0L, 0L, null)).getId();
+    }
+
+    @Test
+    void malformedBasketsAreRejectedWithoutTouchingTheDatabase() throws Exception {
+        long ordersBefore = orderRepo.count();
+
+        postOrder("{\"date\":\"2026-02-01\",\"customerId\":\"" + customerId + "\",\"orderDetails\":["
+                + line(itemId, 0) + "]}")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("INVALID_ORDER"))
+                .andExpect(jsonPath("$.data").value("Quantity must be positive for item: " + itemId));
+        assertEquals(0, SqlBudgetFilter.lastRequestCount());
+
+        postOrder("{\"customerId\":\"" + customerId + "\",\"orderDetails\":[" + line(itemId, 1) + "]}")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.data").value("Order date is required"));
+        postOrder("{\"date\":\"2026-02-01\",\"customerId\":\"abc\",\"orderDetails\":[" + line(itemId, 1) + "]}")
+                .andExpect(status().isBadRequest());
+        postOrder("{\"date\":\"2026-02-01\",\"customerId\":\"" + customerId + "\",\"orderDetails\":[]}")
+                .andExpect(status().isBadRequest());
+        assertEquals(0, SqlBudgetFilter.lastRequestCount());
+
+        assertEquals(ordersBefore, orderRepo.count());
+    }
+
+    @Test
+    void unknownReferencesAndShortStockMapToClientErrors() throws Exception {
+        postOrder(order(customerId, line(itemId, 1), line(itemId + 1000, 1)))
+                .andExpect(status().isUnprocessableContent())
+                .andExpect(jsonPath("$.message").value("ITEM_NOT_FOUND"))
+                .andExpect(jsonPath("$.data").value("Item not found: " + (itemId + 1000)));
+        postOrder(order(customerId + 1000, line(itemId, 1)))
+                .andExpect(status().isUnprocessableContent())
+                .andExpect(jsonPath("$.message").value("CUSTOMER_NOT_FOUND"));
+
+        // Duplicate lines are merged before the stock check: 3 + 3 > 5
+        postOrder(order(customerId, line(itemId, 3), line(itemId, 3)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("INSUFFICIENT_STOCK"));
+
+        postOrder(order(customerId, line(itemId, 2), line(itemId, 3))).andExpect(status().isOk());
+        // Both ids are cached now, so a rejected retry does not run the existence query again
+        int placed = SqlBudgetFilter.lastRequestCount();
+        postOrder(order(customerId, line(itemId, 1), line(itemId, -1))).andExpect(status().isBadRequest());
+        postOrder(order(customerId, line(itemId, 1))).andExpect(status().isConflict());
+        assertTrue(SqlBudgetFilter.lastRequestCount() < placed);
+    }
+
+    @Test
+    void bulkResultsCarryTheRejectionCode() throws Exception {
+        String body = "[" + order(customerId, line(itemId, 1)) + "," + order(customerId, line(itemId, 0)) + ","
+                + order(customerId, line(itemId + 1000, 1)) + "]";
+        mockMvc.perform(post("/api/v1/orders/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].success").value(true))
+                .andExpect(jsonPath("$.data[1].errorCode").value("INVALID_ORDER"))
+                .andExpect(jsonPath("$.data[2].errorCode").value("ITEM_NOT_FOUND"));
+    }
+
+    @Test
+    void unknownOrderIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/v1/orders/{orderId}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("ORDER_NOT_FOUND"));
+    }
+
+    private ResultActions postOrder(String body) throws Exception {
+        return mockMvc.perform(post("/api/v1/orders").contentType(MediaType.APPLICATION_JSON).content(body));
+    }
+
+    private static String order(long customerId, String... lines) {
+        return "{\"date\":\"2026-02-01\",\"customerId\":\"" + customerId + "\",\"orderDetails\":["
+                + String.join(",", lines) + "]}";
+    }
+
+    private static String line(long itemId, int qty) {
+        return "{\"itemId\":" + itemId + ",\"qty\":" + qty + ",\"unitPrice\":40.0}";
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.springbootposbackend.controller;
+
+import com.example.springbootposbackend.config.WireFormatConfig;
+import com.example.springbootposbackend.dto.CustomerDTO;
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.compression.enabled=true",
+        "server.compression.mime-types=application/json",
+        "server.compression.min-response-size=1KB"})
+@AutoConfigureMockMvc
+class WireFormatTest {
+
+    private final CBORMapper cbor = CBORMapper.builder().build();
+    private final SmileMapper smile = SmileMapper.builder().build();
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private CustomerRepo customerRepo;
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void catalogIsServedAsCborWhenTheTillAsksForIt() throws Exception {
+        long itemId = itemRepo.save(new Item(null, "Cbor Rice 5kg", 1250.0, 40, 0L, 0L, null)).getId();
+
+        byte[] body = mockMvc.perform(get("/api/v1/items/page?description=Cbor").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode item = cbor.readTree(body).path("data").path("content").get(0);
+        assertEquals(itemId, item.path("id").asLong());
+        assertEquals(1250.0, item.path("unitPrice").asDouble());
+    }
+
+    @Test
+    void customerCanBeSavedAndReadInSmile() throws Exception {
+        byte[] customer = smile.writeValueAsBytes(new CustomerDTO(null, "Smile Stores", "No 8, Binary Lane"));
+        mockMvc.perform(post("/api/v1/customers").contentType(WireFormatConfig.APPLICATION_SMILE).content(customer))
+                .andExpect(status().isCreated());
+
+        byte[] body = mockMvc.perform(get("/api/v1/customers/page?name=Smile").accept(WireFormatConfig.APPLICATION_SMILE))
+                .andExpect(content().contentTypeCompatibleWith(WireFormatConfig.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals("No 8, Binary Lane", smile.readTree(body).path("data").path("content").get(0).path("address").asString());
+    }
+
+    @Test
+    void bulkOrdersAcceptACborSequence() throws Exception {
+        long customerId = customerRepo.save(new Customer(null, "Cbor Till", "No 3, Binary Lane", null)).getId();
+        long itemId = itemRepo.save(new Item(null, "Cbor Tea", 300.0, 10, 0L, 0L, null)).getId();
+        ByteArrayOutputStream orders = new ByteArrayOutputStream();
+        for (int i = 0; i < 3; i++) {
+            orders.writeBytes(cbor.writeValueAsBytes(new OrderDTO(null, LocalDate.of(2026, 2, 1), String.valueOf(customerId),
+                    List.of(new OrderDetailDTO(itemId, 2, 300.0)))));
+        }
+
+        mockMvc.perform(post("/api/v1/orders/bulk").contentType(MediaType.APPLICATION_CBOR).content(orders.toByteArray()))
+                .andExpect(status().isOk());
+
+        assertEquals(4, itemRepo.findById(itemId).orElseThrow().getQtyOnHand());
+    }
+
+    @Test
+    void jsonCatalogIsGzippedForClientsThatAcceptIt() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            itemRepo.save(new Item(null, "Gzip Item " + i, 100.0 + i, 10, 0L, 0L, null));
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/items/page?description=Gzip"))
+                .header("Accept", "application/json").header("Accept-Encoding", "gzip").build();
+
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.springbootposbackend.filter;
+
+import com.example.springbootposbackend.config.ConcurrencyProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimitFilterTest {
+
+    @Test
+    void rejectsWith503OnceAllPermitsAreTaken() throws Exception {
+        ConcurrencyProperties properties = new ConcurrencyProperties();
+        properties.setMaxInFlight(1);
+        properties.setQueueTimeoutMs(50);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties, new JsonMapper(), new SimpleMeterRegistry());
+
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/items"), new MockHttpServletResponse(),
+                        (request, response) -> {
+                            inside.countDown();
+                            try {
+                                release.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertTrue(inside.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse busy = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/items"), busy, (request, response) -> { });
+        assertEquals(503, busy.getStatus());
+        assertEquals("1", busy.getHeader("Retry-After"));
+
+        // Paths outside /api are never limited
+        MockHttpServletResponse health = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), health, (request, response) -> { });
+        assertEquals(200, health.getStatus());
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        MockHttpServletResponse after = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/items"), after, (request, response) -> { });
+        assertEquals(200, after.getStatus());
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.springbootposbackend.ledger;
+
+import com.example.springbootposbackend.cache.CatalogChangeSequence;
+import com.example.springbootposbackend.cache.ItemCatalogCache;
+import com.example.springbootposbackend.config.OrderProperties;
+import com.example.springbootposbackend.config.StockLedgerProperties;
+import com.example.springbootposbackend.dto.ItemDTO;
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.ledger.StockLedger.Reservation;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.repository.OrderRepo;
+import com.example.springbootposbackend.repository.StockLedgerCheckpointRepo;
+import com.example.springbootposbackend.service.ItemService;
+import com.example.springbootposbackend.service.OrderService;
+import com.example.springbootposbackend.stream.StockStream;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// The flusher never runs on its own here, so everything after the last explicit flush exists only in memory and the WAL
+@SpringBootTest(properties = {"pos.order.stock-strategy=ledger",
+        "pos.stock-ledger.wal-dir=${java.io.tmpdir}/pos-stock-wal-${random.uuid}",
+        "pos.stock-ledger.flush-interval-ms=3600000"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class StockLedgerRecoveryTest {
+
+    @Autowired
+    private StockLedger stockLedger;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private CustomerRepo customerRepo;
+    @Autowired
+    private OrderRepo orderRepo;
+    @Autowired
+    private StockLedgerCheckpointRepo checkpointRepo;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private StockLedgerProperties properties;
+    @Autowired
+    private OrderProperties orderProperties;
+    @Autowired
+    private CatalogChangeSequence catalogChangeSequence;
+    @Autowired
+    private ItemCatalogCache itemCatalogCache;
+    @Autowired
+    private StockStream stockStream;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private long customerId;
+    private long itemA;
+    private long itemB;
+
+    @BeforeEach
+    void seed() {
+        customerId = customerRepo.save(new Customer(null, "Ledger Till", "No 9, Flash Sale Road", null)).getId();
+        itemA = itemRepo.save(new Item(null, "Flash item A", 50.0, 10, 0L, 0L, null)).getId();
+        itemB = itemRepo.save(new Item(null, "Flash item B", 80.0, 5, 0L, 0L, null)).getId();
+    }
+
+    @Test
+    void committedDecrementsSurviveACrashBeforeTheFlush() throws Exception {
+        orderService.placeOrder(order(line(itemA, 2), line(itemB, 1)));
+        orderService.placeOrder(order(line(itemA, 3)));
+        orderService.placeOrder(order(line(itemB, 4)));
+        assertThrows(RuntimeException.class, () -> orderService.placeOrder(order(line(itemB, 1))));
+
+        // Reservation logged but the transaction never commits, like a crash between the fsync and the commit
+        transactionTemplate.executeWithoutResult(status -> {
+            Reservation reservation = stockLedger.reserve(new TreeMap<>(Map.of(itemA, 1)));
+            stockLedger.logInTransaction(reservation, Long.MAX_VALUE);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(5, stockLedger.available(itemA));
+        assertEquals(0, stockLedger.available(itemB));
+        assertEquals(10, qtyInTable(itemA), "nothing should be flushed yet");
+
+        stockLedger.halt();
+        // Half-written record at the tail, as left by a crash in the middle of an append
+        Files.write(newestSegment(), new byte[]{0, 0, 0, 40, 7, 7, 7}, StandardOpenOption.APPEND);
+
+        StockLedger restarted = restart();
+        try {
+            assertEquals(5, qtyInTable(itemA));
+            assertEquals(0, qtyInTable(itemB));
+            assertEquals(5, restarted.available(itemA));
+            assertEquals(0, restarted.available(itemB));
+            assertEquals(1, restarted.walSegments());
+        } finally {
+            restarted.halt();
+        }
+
+        // Replayed records are behind the checkpoint now, so another restart must not apply them twice
+        StockLedger again = restart();
+        try {
+            assertEquals(5, qtyInTable(itemA));
+            assertEquals(5, again.available(itemA));
+            assertEquals(3, orderRepo.count());
+        } finally {
+            again.halt();
+        }
+    }
+
+    @Test
+    void itemEditKeepsDecrementsThatAreNotFlushedYet() throws Exception {
+        orderService.placeOrder(order(line(itemA, 3)));
+        itemService.updateItem(new ItemDTO(itemA, "Flash item A (restocked)", 55.0, 20));
+        orderService.placeOrder(order(line(itemA, 2)));
+        assertEquals(18, stockLedger.available(itemA));
+
+        stockLedger.flush();
+        assertEquals(18, qtyInTable(itemA));
+        assertEquals("Flash item A (restocked)", itemRepo.findById(itemA).orElseThrow().getDescription());
+        long checkpoint = checkpointRepo.findWalSeq();
+
+        stockLedger.halt();
+        StockLedger restarted = restart();
+        try {
+            assertEquals(18, restarted.available(itemA));
+            assertEquals(checkpoint, checkpointRepo.findWalSeq(), "flushed records must not be replayed");
+        } finally {
+            restarted.halt();
+        }
+    }
+
+    private StockLedger restart() throws Exception {
+        StockLedger ledger = new StockLedger(properties, orderProperties, itemRepo, orderRepo, checkpointRepo,
+                transactionTemplate, catalogChangeSequence, itemCatalogCache, stockStream, meterRegistry);
+        ledger.start();
+        return ledger;
+    }
+
+    private int qtyInTable(long itemId) {
+        return itemRepo.findById(itemId).orElseThrow().getQtyOnHand();
+    }
+
+    private Path newestSegment() throws Exception {
+        try (Stream<Path> files = Files.list(Path.of(properties.getWalDir()))) {
+            return files.max(Path::compareTo).orElseThrow();
+        }
+    }
+
+    private OrderDTO order(OrderDetailDTO... lines) {
+        return new OrderDTO(null, LocalDate.now(), String.valueOf(customerId), List.of(lines));
+    }
+
+    private static OrderDetailDTO line(long itemId, int qty) {
+        return new OrderDetailDTO(itemId, qty, 10.0);
+    }
+}
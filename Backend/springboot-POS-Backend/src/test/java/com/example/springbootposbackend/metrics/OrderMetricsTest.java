@@ -0,0 +1,51 @@
+package com.example.springbootposbackend.metrics;
+
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=health,metrics,prometheus",
+        "management.metrics.distribution.percentiles-histogram.hikaricp.connections.acquire=true"
+})
+@AutoConfigureMockMvc
+class OrderMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Test
+    void checkoutPhasesAreScrapedByPrometheus() throws Exception {
+        long customerId = customerRepo.save(new Customer(null, "Metrics Till", "No 5, Gauge Road", null)).getId();
+        long itemId = itemRepo.save(new Item(null, "Sugar", 300.0, 10, 0L, 0L, null)).getId();
+        String body = "{\"date\":\"2026-01-15\",\"customerId\":\"" + customerId + "\","
+                + "\"orderDetails\":[{\"itemId\":" + itemId + ",\"qty\":1,\"unitPrice\":300.0}]}";
+        mockMvc.perform(post("/api/v1/orders").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("pos_order_phase_seconds_count{phase=\"customer_lookup\"")))
+                .andExpect(content().string(containsString("pos_order_phase_seconds_count{phase=\"commit\"")))
+                .andExpect(content().string(containsString("pos_order_basket_lines_count")))
+                .andExpect(content().string(containsString("pos_order_sql_statements_count")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds_bucket")));
+    }
+}
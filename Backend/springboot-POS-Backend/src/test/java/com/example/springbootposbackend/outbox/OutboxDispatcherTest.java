@@ -0,0 +1,198 @@
+package com.example.springbootposbackend.outbox;
+
+import com.example.springbootposbackend.config.OutboxProperties;
+import com.example.springbootposbackend.dto.DailyCustomerSalesDTO;
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.entity.OutboxEvent;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.repository.OutboxEventRepo;
+import com.example.springbootposbackend.service.OrderService;
+import com.example.springbootposbackend.service.SalesRollupService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The poller is off so the test drives every batch itself
+@SpringBootTest(properties = {"pos.rollup.async=true", "pos.outbox.dispatcher-enabled=false",
+        "pos.outbox.retry-backoff-ms=300"})
+class OutboxDispatcherTest {
+
+    @TestConfiguration
+    static class RecordingHandlerConfig {
+        @Bean
+        RecordingHandler recordingHandler() {
+            return new RecordingHandler();
+        }
+    }
+
+    // Records delivery order per partition key and fails the first attempt of chosen events
+    static class RecordingHandler implements OutboxHandler {
+        final Map<String, List<Long>> delivered = new ConcurrentHashMap<>();
+        final Set<Long> failOnce = ConcurrentHashMap.newKeySet();
+        volatile CountDownLatch entered;
+        volatile CountDownLatch hold;
+
+        @Override
+        public String eventType() {
+            return OutboxEvent.ORDER_PLACED;
+        }
+
+        @Override
+        public void handle(OutboxEvent event) {
+            if (failOnce.remove(event.getId())) {
+                throw new IllegalStateException("receipt printer offline");
+            }
+            if (hold != null) {
+                entered.countDown();
+                try {
+                    hold.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            delivered.computeIfAbsent(event.getPartitionKey(), key -> new ArrayList<>()).add(event.getId());
+        }
+    }
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private SalesRollupService salesRollupService;
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+    @Autowired
+    private OutboxEventRepo outboxEventRepo;
+    @Autowired
+    private RecordingHandler recordingHandler;
+    @Autowired
+    private CustomerRepo customerRepo;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private OutboxProperties outboxProperties;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ObjectProvider<OutboxHandler> handlers;
+
+    @Test
+    void failedEventHoldsBackItsCustomerAndIsRolledUpOnce() throws Exception {
+        LocalDate day = LocalDate.of(2026, 5, 4);
+        long alice = customerRepo.save(new Customer(null, "Alice", "No 1, Outbox Lane", null)).getId();
+        long bob = customerRepo.save(new Customer(null, "Bob", "No 2, Outbox Lane", null)).getId();
+        long tea = itemRepo.save(new Item(null, "Tea", 10.0, 100, 0L, 0L, null)).getId();
+
+        orderService.placeOrder(order(day, alice, tea, 1));
+        orderService.placeOrder(order(day, bob, tea, 2));
+        orderService.placeOrder(order(day, alice, tea, 3));
+        orderService.placeOrders(List.of(order(day, alice, tea, 4), order(day, bob, tea, 5)).iterator());
+
+        assertTrue(salesRollupService.getCustomerSales(day).isEmpty(), "rollups wait for the outbox");
+        List<OutboxEvent> events = outboxEventRepo.findAll();
+        assertEquals(5, events.size());
+        long aliceFirst = events.stream().filter(e -> e.getPartitionKey().equals("customer:" + alice))
+                .mapToLong(OutboxEvent::getId).min().orElseThrow();
+        recordingHandler.failOnce.add(aliceFirst);
+
+        assertEquals(2, outboxDispatcher.dispatchOnce());
+        // Alice's first event is in backoff, so her later events are not even polled
+        assertEquals(0, outboxDispatcher.dispatchOnce());
+        OutboxEvent failed = outboxEventRepo.findById(aliceFirst).orElseThrow();
+        assertEquals(1, failed.getAttempts());
+        assertEquals("receipt printer offline", failed.getLastError());
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (outboxEventRepo.count() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            outboxDispatcher.dispatchOnce();
+        }
+        assertEquals(0, outboxEventRepo.count());
+
+        List<Long> aliceIds = recordingHandler.delivered.get("customer:" + alice);
+        assertEquals(3, aliceIds.size());
+        assertEquals(aliceIds.stream().sorted().toList(), aliceIds);
+        assertEquals(aliceFirst, aliceIds.get(0));
+        // The rollup from the failed attempt rolled back with it
+        assertEquals(List.of(
+                new DailyCustomerSalesDTO(day, alice, 8, 80.0, 3),
+                new DailyCustomerSalesDTO(day, bob, 7, 70.0, 2)), salesRollupService.getCustomerSales(day));
+    }
+
+    @Test
+    void secondDispatcherDoesNotHandleAnEventTwice() throws Exception {
+        LocalDate day = LocalDate.of(2026, 5, 5);
+        long carol = customerRepo.save(new Customer(null, "Carol", "No 3, Outbox Lane", null)).getId();
+        long tea = itemRepo.save(new Item(null, "Tea", 10.0, 100, 0L, 0L, null)).getId();
+        orderService.placeOrder(order(day, carol, tea, 2));
+
+        // A second node polling the same table
+        OutboxDispatcher other = new OutboxDispatcher(outboxProperties, outboxEventRepo, transactionTemplate, handlers,
+                new SimpleMeterRegistry());
+        other.start();
+        recordingHandler.entered = new CountDownLatch(1);
+        recordingHandler.hold = new CountDownLatch(1);
+        try {
+            CompletableFuture<Integer> first = CompletableFuture.supplyAsync(outboxDispatcher::dispatchOnce);
+            assertTrue(recordingHandler.entered.await(10, TimeUnit.SECONDS));
+            // The other node polled the row before the first commit and queues on its lock
+            CompletableFuture<Integer> second = CompletableFuture.supplyAsync(other::dispatchOnce);
+            Thread.sleep(300);
+            recordingHandler.hold.countDown();
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            recordingHandler.hold = null;
+            other.stop();
+        }
+
+        assertEquals(1, recordingHandler.delivered.get("customer:" + carol).size());
+        assertEquals(List.of(new DailyCustomerSalesDTO(day, carol, 2, 20.0, 1)), salesRollupService.getCustomerSales(day));
+    }
+
+    @Test
+    void rebuildBeforeDispatchCountsPendingOrdersOnce() {
+        LocalDate day = LocalDate.of(2026, 5, 6);
+        long dave = customerRepo.save(new Customer(null, "Dave", "No 4, Outbox Lane", null)).getId();
+        long tea = itemRepo.save(new Item(null, "Tea", 10.0, 100, 0L, 0L, null)).getId();
+        orderService.placeOrder(order(day, dave, tea, 2));
+
+        // The order.placed event is still in the outbox, so the handler owns this order's totals
+        assertEquals(1, salesRollupService.rebuildRollups(day, day));
+        assertTrue(salesRollupService.getCustomerSales(day).isEmpty());
+
+        orderService.placeOrder(order(day, dave, tea, 3));
+        assertEquals(2, outboxDispatcher.dispatchOnce());
+        List<DailyCustomerSalesDTO> expected = List.of(new DailyCustomerSalesDTO(day, dave, 5, 50.0, 2));
+        assertEquals(expected, salesRollupService.getCustomerSales(day));
+
+        // Once delivered, a rebuild counts them from the orders and lands on the same totals
+        salesRollupService.rebuildRollups(day, day);
+        assertEquals(expected, salesRollupService.getCustomerSales(day));
+    }
+
+    private OrderDTO order(LocalDate date, long customerId, long itemId, int qty) {
+        return new OrderDTO(null, date, String.valueOf(customerId), List.of(new OrderDetailDTO(itemId, qty, 10.0)));
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.springbootposbackend.pricing;
+
+import com.example.springbootposbackend.config.PricingProperties;
+import com.example.springbootposbackend.dto.ItemDTO;
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.dto.OrderReceiptDTO;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.entity.ItemTombstone;
+import com.example.springbootposbackend.entity.Promotion;
+import com.example.springbootposbackend.metrics.OrderMetrics;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.repository.ItemTombstoneRepo;
+import com.example.springbootposbackend.repository.PromotionRepo;
+import com.example.springbootposbackend.service.ItemService;
+import com.example.springbootposbackend.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest
+class ServerPricingTest {
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private PricingEngine pricingEngine;
+    @Autowired
+    private CustomerRepo customerRepo;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private PromotionRepo promotionRepo;
+    @Autowired
+    private ItemTombstoneRepo itemTombstoneRepo;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private OrderMetrics orderMetrics;
+
+    private long customerId;
+    private long itemId;
+
+    @BeforeEach
+    void seed() {
+        customerId = customerRepo.save(new Customer(null, "Pricing Buyer", "No 7, Till Road", null)).getId();
+        itemId = itemRepo.save(new Item(null, "Priced item", 19.99, 100, 0L, 0L, null)).getId();
+    }
+
+    @Test
+    void tillPricesAreReplacedByTheServerPrice() {
+        OrderReceiptDTO receipt = place(line(itemId, 3, 0.01));
+
+        assertEquals(19.99, receipt.getLines().get(0).getUnitPrice());
+        assertEquals(59.97, receipt.getTotal());
+
+        itemService.updateItem(new ItemDTO(itemId, "Priced item", 25.5, 97));
+        assertEquals(25.5, place(line(itemId, 1, 19.99)).getTotal());
+    }
+
+    @Test
+    void promotionTierIsChosenByTheMergedQuantity() {
+        promotionRepo.save(new Promotion(null, itemId, 10, 1_000));
+        pricingEngine.reload();
+
+        // 6 + 4 reaches the 10-unit tier even though neither line does: 19.99 less 10%, rounded half-up
+        OrderReceiptDTO receipt = place(line(itemId, 6, 19.99), line(itemId, 4, 19.99));
+        assertEquals(17.99, receipt.getLines().get(0).getUnitPrice());
+        assertEquals(179.9, receipt.getTotal());
+
+        assertEquals(1999, pricingEngine.current().unitMinor(itemId, 9));
+    }
+
+    @Test
+    void editsThatBypassTheServiceArePickedUpByRefresh() {
+        place(line(itemId, 1, 19.99));
+
+        // Another node's edit: the row and its changeSeq move, no reprice hook runs here
+        transactionTemplate.executeWithoutResult(status -> {
+            Item item = itemRepo.findById(itemId).orElseThrow();
+            item.setUnitPrice(21.5);
+            item.setChangeSeq(otherNodeSeq());
+        });
+        pricingEngine.refresh();
+        assertEquals(21.5, place(line(itemId, 1, 19.99)).getTotal());
+
+        Item seeded = itemRepo.save(new Item(null, "Removed elsewhere", 5.0, 1, 0L, 0L, null));
+        pricingEngine.load(List.of(seeded.getId()));
+        transactionTemplate.executeWithoutResult(status -> {
+            itemRepo.deleteById(seeded.getId());
+            itemTombstoneRepo.save(new ItemTombstone(seeded.getId(), otherNodeSeq()));
+        });
+        pricingEngine.refresh();
+        assertFalse(pricingEngine.current().contains(seeded.getId()));
+    }
+
+    @Test
+    void promotionEditsArriveWithTheFullReload() {
+        PricingProperties stale = new PricingProperties();
+        stale.setMaxStalenessMs(0);
+        PricingEngine engine = new PricingEngine(itemRepo, itemTombstoneRepo, transactionTemplate, orderMetrics, stale);
+        engine.reload();
+        assertEquals(1999, engine.current().unitMinor(itemId, 10));
+
+        promotionRepo.save(new Promotion(null, itemId, 10, 1_000));
+        engine.refresh();
+        assertEquals(1799, engine.current().unitMinor(itemId, 10));
+    }
+
+    @Test
+    void patchedTableMatchesARebuild() {
+        Random random = new Random(24);
+        PriceTable.Builder expected = new PriceTable.Builder();
+        PriceTable table = PriceTable.EMPTY;
+        for (int round = 0; round < 200; round++) {
+            PriceTable.Patch patch = table.patch();
+            for (int change = 0; change < 5; change++) {
+                long id = 1 + random.nextInt(300);
+                long unit = random.nextInt(5_000);
+                switch (random.nextInt(3)) {
+                    case 0 -> {
+                        patch.remove(id);
+                        expected.remove(id);
+                    }
+                    case 1 -> {
+                        patch.replace(id, unit).promotion(id, 5, 500);
+                        expected.remove(id).price(id, unit).promotion(id, 5, 500);
+                    }
+                    default -> {
+                        patch.price(id, unit);
+                        expected.price(id, unit);
+                    }
+                }
+            }
+            table = patch.apply();
+        }
+
+        PriceTable rebuilt = expected.build();
+        assertEquals(rebuilt.size(), table.size());
+        for (long id = 1; id <= 300; id++) {
+            assertEquals(rebuilt.unitMinor(id, 1), table.unitMinor(id, 1), "item " + id);
+            assertEquals(rebuilt.unitMinor(id, 5), table.unitMinor(id, 5), "item " + id);
+        }
+    }
+
+    @Test
+    void cumulativeTotalsAreExactInCents() {
+        PriceTable table = new PriceTable.Builder().price(1, PriceTable.toMinor(0.1)).price(2, PriceTable.toMinor(0.2)).build();
+        List<OrderDetailDTO> lines = List.of(line(1, 1, 0), line(2, 1, 0));
+        long[] unitMinor = new long[2];
+
+        assertEquals(30, table.price(lines, Map.of(1L, 1, 2L, 1), unitMinor));
+        assertEquals(0.3, PriceTable.toMajor(30));
+        assertEquals(-1, table.price(List.of(line(3, 1, 0)), Map.of(3L, 1), unitMinor));
+    }
+
+    // Another node's sequence ahead of everything written so far
+    private long otherNodeSeq() {
+        return Math.max(itemRepo.findMaxChangeSeq(), itemTombstoneRepo.findMaxChangeSeq()) + 1;
+    }
+
+    private OrderReceiptDTO place(OrderDetailDTO... lines) {
+        long orderId = orderService.placeOrder(new OrderDTO(null, LocalDate.now(), String.valueOf(customerId), List.of(lines)));
+        return orderService.getOrder(orderId);
+    }
+
+    private static OrderDetailDTO line(long itemId, int qty, double tillPrice) {
+        return new OrderDetailDTO(itemId, qty, tillPrice);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.springbootposbackend.routing;
+
+import com.example.springbootposbackend.config.ReplicaProperties;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The replica is a second H2 database; "replication" is an H2 SCRIPT of the primary loaded into it, and heartbeats are driven by hand
+@SpringBootTest(properties = {"pos.replica.enabled=true",
+        "pos.replica.datasources[0].url=jdbc:h2:mem:replica_${random.uuid};MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "pos.replica.datasources[0].username=sa",
+        "pos.replica.heartbeat-interval-ms=3600000",
+        "pos.replica.max-lag-ms=1000",
+        "pos.replica.clock-skew-ms=0"})
+@AutoConfigureMockMvc
+class ReplicaRoutingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CustomerRepo customerRepo;
+    @Autowired
+    private ReplicaRouter replicas;
+    @Autowired
+    private ReplicaProperties replicaProperties;
+
+    @Test
+    void readsGoToTheReplicaExceptForClientsThatJustWrote() throws Exception {
+        customerRepo.save(new Customer(null, "Alpha", "No 1, Replica Road", null));
+        replicate();
+        customerRepo.save(new Customer(null, "Bravo", "No 2, Replica Road", null));
+
+        customers("till-1").andExpect(jsonPath("$.data[*].name", hasItem("Alpha")))
+                .andExpect(jsonPath("$.data[*].name", not(hasItem("Bravo"))));
+
+        mockMvc.perform(post("/api/v1/customers").header("X-Client-Id", "till-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Charlie\",\"address\":\"No 3, Replica Road\"}"))
+                .andExpect(status().isCreated());
+        customers("till-2").andExpect(jsonPath("$.data[*].name", hasItems("Alpha", "Bravo", "Charlie")));
+        customers("till-1").andExpect(jsonPath("$.data[*].name", not(hasItem("Charlie"))));
+
+        // Once the replica has a heartbeat newer than till-2's write, till-2 can read from it again
+        replicate();
+        customers("till-2").andExpect(jsonPath("$.data[*].name", hasItems("Alpha", "Bravo", "Charlie")));
+        customerRepo.save(new Customer(null, "Delta", "No 4, Replica Road", null));
+        customers("till-2").andExpect(jsonPath("$.data[*].name", not(hasItem("Delta"))));
+    }
+
+    @Test
+    void echoedFloorKeepsTheTillOnThePrimaryWhereverItReads() throws Exception {
+        customerRepo.save(new Customer(null, "Golf", "No 7, Replica Road", null));
+        replicate();
+
+        String floor = mockMvc.perform(post("/api/v1/customers").header("X-Client-Id", "till-4")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Hotel\",\"address\":\"No 8, Replica Road\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader("X-Read-After");
+        assertNotNull(floor);
+
+        // A client id this instance never saw stands in for the till reading through another instance
+        customers("till-4-elsewhere").andExpect(jsonPath("$.data[*].name", not(hasItem("Hotel"))));
+        mockMvc.perform(get("/api/v1/customers").header("X-Client-Id", "till-4-elsewhere").header("X-Read-After", floor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].name", hasItems("Golf", "Hotel")));
+    }
+
+    @Test
+    void laggingOrBrokenReplicaFallsBackToThePrimary() throws Exception {
+        customerRepo.save(new Customer(null, "Echo", "No 5, Replica Road", null));
+        replicate();
+        customerRepo.save(new Customer(null, "Foxtrot", "No 6, Replica Road", null));
+        customers("till-3").andExpect(jsonPath("$.data[*].name", not(hasItem("Foxtrot"))));
+
+        onReplica("update replica_heartbeat set beat_at_ms = beat_at_ms - 5000");
+        replicas.beat();
+        assertEquals(0, replicas.healthyReplicas());
+        customers("till-3").andExpect(jsonPath("$.data[*].name", hasItems("Echo", "Foxtrot")));
+
+        replicate();
+        onReplica("drop all objects");
+        replicas.beat();
+        assertEquals(0, replicas.healthyReplicas());
+        customers("till-3").andExpect(jsonPath("$.data[*].name", hasItems("Echo", "Foxtrot")));
+    }
+
+    private ResultActions customers(String client) throws Exception {
+        return mockMvc.perform(get("/api/v1/customers").header("X-Client-Id", client)).andExpect(status().isOk());
+    }
+
+    // Copies the primary, heartbeat row included, into the replica and lets the router see the fresh heartbeat
+    private void replicate() throws Exception {
+        replicas.beat();
+        Path script = Files.createTempFile("pos-replica", ".sql");
+        try {
+            try (Connection connection = replicas.primary().getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("script to '" + script + "'");
+            }
+            onReplica("drop all objects");
+            onReplica("runscript from '" + script + "'");
+        } finally {
+            Files.deleteIfExists(script);
+        }
+        replicas.beat();
+        assertEquals(1, replicas.healthyReplicas());
+    }
+
+    private void onReplica(String sql) throws Exception {
+        try (Connection connection = DriverManager.getConnection(replicaProperties.getDatasources().get(0).getUrl(), "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.springbootposbackend.service;
+
+import com.example.springbootposbackend.dto.CustomerDTO;
+import com.example.springbootposbackend.dto.ImportResultDTO;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.support.SqlBudgetFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "pos.import.chunk-size=3")
+@AutoConfigureMockMvc
+class CsvImportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ImportService importService;
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Test
+    void itemImportUpsertsValidRowsAndReportsBadOnesByLine() throws Exception {
+        Item existing = itemRepo.save(new Item(null, "Old sugar", 100.0, 40, 0L, 0L, null));
+        String csv = "qtyOnHand,unitPrice,description,id\n"
+                + "25,180.5,Sugar 1kg," + existing.getId() + "\n"
+                + "10,90,\"Tea, \"\"Ceylon\"\" 100g\",\n"
+                + "5,-1,Broken price,\n"
+                + "abc,50,Bad qty,\n"
+                + "7,60,,\n"
+                + "12,75,\"Coconut\noil\",\n";
+
+        mockMvc.perform(post("/api/v1/items/import").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.rows").value(6))
+                .andExpect(jsonPath("$.data.applied").value(3))
+                .andExpect(jsonPath("$.data.failed").value(3))
+                .andExpect(jsonPath("$.data.errors[0].line").value(4))
+                .andExpect(jsonPath("$.data.errors[0].error").value("unitPrice must be zero or more"))
+                .andExpect(jsonPath("$.data.errors[1].line").value(5))
+                .andExpect(jsonPath("$.data.errors[2].line").value(6));
+        // Two chunks, each one upsert batch and one stock read, however many rows they hold
+        assertTrue(SqlBudgetFilter.lastRequestCount() <= 4, SqlBudgetFilter.lastRequestCount() + " statements");
+
+        Item updated = itemRepo.findById(existing.getId()).orElseThrow();
+        assertEquals("Sugar 1kg", updated.getDescription());
+        assertEquals(25, updated.getQtyOnHand());
+        assertEquals(existing.getVersion() + 1, updated.getVersion());
+        assertTrue(updated.getChangeSeq() > 0);
+        List<String> descriptions = itemRepo.findAll().stream().map(Item::getDescription).toList();
+        assertTrue(descriptions.contains("Tea, \"Ceylon\" 100g"));
+        assertTrue(descriptions.contains("Coconut\noil"));
+    }
+
+    @Test
+    void priceListWithoutStockColumnLeavesStockAlone() throws Exception {
+        Item existing = itemRepo.save(new Item(null, "Flour", 210.0, 33, 0L, 0L, null));
+        String csv = "id,description,unitPrice\r\n" + existing.getId() + ",Flour 1kg,230\r\n";
+
+        ImportResultDTO result = importService.importItems(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, result.getApplied());
+        Item updated = itemRepo.findById(existing.getId()).orElseThrow();
+        assertEquals(230.0, updated.getUnitPrice());
+        assertEquals(33, updated.getQtyOnHand());
+    }
+
+    @Test
+    void customerImportKeepsTheSearchIndexInSync() throws Exception {
+        long id = customerRepo.save(new Customer(null, "Wendell Old", "No 1, Import Road", null)).getId();
+        String csv = "id,name,address\n"
+                + id + ",Wendell Updated,\"No 1, Import Road\"\n"
+                + ",Zarvosk Import,\"No 2, Import Road\"\n"
+                + ",No Address,short\n";
+
+        ImportResultDTO result = importService.importCustomers(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, result.getApplied());
+        assertEquals(1, result.getFailed());
+        assertEquals(4, result.getErrors().get(0).getLine());
+        assertEquals("Wendell Updated", customerRepo.findById(id).orElseThrow().getName());
+        List<CustomerDTO> found = customerService.searchCustomers("zarvosk", 10);
+        assertEquals(1, found.size());
+        assertEquals("Wendell Updated", customerService.searchCustomers("wendell", 10).get(0).getName());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.springbootposbackend.service;
+
+import com.example.springbootposbackend.dto.CursorPageDTO;
+import com.example.springbootposbackend.dto.CustomerDTO;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+class CursorPagingTest {
+
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Test
+    void walksAllPagesWithNameFilter() {
+        List<Customer> seed = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            seed.add(new Customer(null, "Paging_" + i, "No " + i + ", Keyset Road", null));
+        }
+        seed.add(new Customer(null, "PagingX100%", "No 0, Wildcard Road", null));
+        customerRepo.saveAll(seed);
+
+        Set<Long> seen = new HashSet<>();
+        Long cursor = null;
+        int pages = 0;
+        do {
+            CursorPageDTO<CustomerDTO> page = customerService.getCustomerPage(cursor, 100, "Paging_");
+            page.getContent().forEach(customer -> seen.add(customer.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // "_" is matched literally, so PagingX100% is not part of the result
+        assertEquals(250, seen.size());
+        assertEquals(3, pages);
+
+        CursorPageDTO<CustomerDTO> wildcard = customerService.getCustomerPage(null, 10, "PagingX100%");
+        assertEquals(1, wildcard.getContent().size());
+        assertNull(wildcard.getNextCursor());
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.springbootposbackend.service;
+
+import com.example.springbootposbackend.cache.CustomerSearchIndex;
+import com.example.springbootposbackend.config.CustomerSearchProperties;
+import com.example.springbootposbackend.dto.CustomerDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class CustomerSearchTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Test
+    void nameWordPrefixRanksAboveAddressAndSubstringMatches() {
+        customerService.saveCustomer(new CustomerDTO(null, "Quillon Perera", "No 12, Temple Road"));
+        customerService.saveCustomer(new CustomerDTO(null, "Nimal Silva", "No 3, Quillon Lane"));
+        customerService.saveCustomer(new CustomerDTO(null, "Aquillona Fernando", "No 8, Lake Road"));
+
+        List<String> names = customerService.searchCustomers("quill", 10).stream().map(CustomerDTO::getName).toList();
+        assertEquals(List.of("Quillon Perera", "Aquillona Fernando", "Nimal Silva"), names);
+
+        // Every term has to match, in either field
+        List<CustomerDTO> both = customerService.searchCustomers("quillon temple", 10);
+        assertEquals(1, both.size());
+        assertEquals("Quillon Perera", both.get(0).getName());
+    }
+
+    @Test
+    void shortQueriesOnlyMatchWordStarts() {
+        customerService.saveCustomer(new CustomerDTO(null, "Xavorin Dias", "No 5, Hill Street"));
+        customerService.saveCustomer(new CustomerDTO(null, "Maxavo Bandara", "No 6, Hill Street"));
+
+        List<String> names = customerService.searchCustomers("xa", 50).stream().map(CustomerDTO::getName).toList();
+        assertTrue(names.contains("Xavorin Dias"));
+        assertTrue(!names.contains("Maxavo Bandara"));
+    }
+
+    @Test
+    void updatesAndDeletesAreVisibleToTheNextSearch() {
+        customerService.saveCustomer(new CustomerDTO(null, "Yorvak Jayasuriya", "No 9, Station Road"));
+        CustomerDTO saved = customerService.searchCustomers("yorvak", 10).get(0);
+
+        customerService.updateCustomer(new CustomerDTO(saved.getId(), "Yorvak Wickrama", "No 9, Station Road"));
+        assertEquals("Yorvak Wickrama", customerService.searchCustomers("yorvak", 10).get(0).getName());
+        assertTrue(customerService.searchCustomers("jayasuriya", 10).isEmpty());
+
+        customerService.deleteCustomer(saved.getId());
+        assertTrue(customerService.searchCustomers("yorvak", 10).isEmpty());
+    }
+
+    @Test
+    void slotsStayFindableAcrossCompaction() {
+        CustomerSearchIndex index = new CustomerSearchIndex(new CustomerSearchProperties());
+        for (long id = 1; id <= 3000; id++) {
+            index.put(id, "Zelkor " + id, "No " + id + ", Compact Road");
+        }
+        // Two rewrites per customer leave 6000 tombstones, so compaction moves every live slot
+        for (int round = 0; round < 2; round++) {
+            for (long id = 1; id <= 3000; id++) {
+                index.put(id, "Zelkor " + id + " r" + round, "No " + id + ", Compact Road");
+            }
+        }
+        for (long id = 1; id <= 3000; id += 2) {
+            index.remove(id);
+        }
+
+        assertEquals(1500, index.size());
+        assertTrue(index.search("zelkor 2999", 5).isEmpty());
+        List<CustomerDTO> hits = index.search("zelkor 3000", 5);
+        assertEquals(1, hits.size());
+        assertEquals("Zelkor 3000 r1", hits.get(0).getName());
+    }
+}
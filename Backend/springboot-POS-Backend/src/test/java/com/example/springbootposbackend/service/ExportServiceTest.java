@@ -0,0 +1,105 @@
+package com.example.springbootposbackend.service;
+
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ExportServiceTest {
+
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private CustomerRepo customerRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void csvExportQuotesFieldsThatNeedIt() throws Exception {
+        long id = customerRepo.save(new Customer(null, "Perera, \"Nimal\"", "No 4, Temple Road", null)).getId();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportCustomers(ExportService.Format.CSV, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("id,name,address\n"));
+        assertTrue(csv.contains(id + ",\"Perera, \"\"Nimal\"\"\",\"No 4, Temple Road\"\n"));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void exportsOneMillionRowsWithBoundedHeap() throws Exception {
+        int rows = 1_000_000;
+        // Rows saved by other tests in the same context are exported too
+        long existing = customerRepo.count();
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{"Customer " + i, "No " + i + ", Export Avenue, Kandy"});
+            if (batch.size() == 10_000) {
+                jdbcTemplate.batchUpdate("INSERT INTO customer (name, address) VALUES (?, ?)", batch);
+                batch.clear();
+            }
+        }
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+
+        // Sample retained heap (after a GC) every ~8 MB written
+        HeapSamplingStream out = new HeapSamplingStream(memory);
+        exportService.exportCustomers(ExportService.Format.JSONL, out);
+
+        long growth = out.maxUsed - baseline;
+        System.out.printf("exported %d rows (%d MB), max retained heap growth %d MB%n",
+                out.lines + 1, out.bytes >> 20, growth >> 20);
+        // JSON lines are separated (not terminated) by '\n'
+        assertEquals(existing + rows, out.lines + 1);
+        assertTrue(growth < 64L << 20, "Heap grew by " + (growth >> 20) + " MB during export");
+    }
+
+    private static class HeapSamplingStream extends OutputStream {
+        private final MemoryMXBean memory;
+        private long bytes;
+        private long lines;
+        private long maxUsed;
+
+        HeapSamplingStream(MemoryMXBean memory) {
+            this.memory = memory;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n') {
+                    lines++;
+                }
+            }
+            long before = bytes;
+            bytes += length;
+            if (before >> 23 != bytes >> 23) {
+                System.gc();
+                maxUsed = Math.max(maxUsed, memory.getHeapMemoryUsage().getUsed());
+            }
+        }
+    }
+}
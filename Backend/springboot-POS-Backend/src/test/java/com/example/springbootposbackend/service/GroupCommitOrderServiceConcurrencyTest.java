@@ -0,0 +1,64 @@
+package com.example.springbootposbackend.service;
+
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Same scenarios as OrderServiceConcurrencyTest, with checkouts coalesced by the group commit writer
+@SpringBootTest(properties = {"pos.order.group-commit=true", "pos.order.group-commit-window-ms=50"})
+class GroupCommitOrderServiceConcurrencyTest extends OrderServiceConcurrencyTest {
+
+    @Autowired
+    private OrderService groupOrderService;
+    @Autowired
+    private ItemRepo groupItemRepo;
+    @Autowired
+    private CustomerRepo groupCustomerRepo;
+
+    @Test
+    void rejectedOrderDoesNotFailItsNeighbours() throws Exception {
+        long customerId = groupCustomerRepo.save(new Customer(null, "Group Till", "No 3, Batch Road", null)).getId();
+        long itemId = groupItemRepo.save(new Item(null, "Limited item", 100.0, 5, 0L, 0L, null)).getId();
+
+        CountDownLatch start = new CountDownLatch(1);
+        CompletableFuture<Void> small = place(start, customerId, itemId, 2);
+        CompletableFuture<Void> tooBig = place(start, customerId, itemId, 50);
+        CompletableFuture<Void> other = place(start, customerId, itemId, 3);
+        start.countDown();
+
+        small.get();
+        other.get();
+        ExecutionException rejected = assertThrows(ExecutionException.class, tooBig::get);
+        assertTrue(rejected.getCause().getMessage().startsWith("Insufficient stock"), rejected.getCause().getMessage());
+        assertEquals(0, groupItemRepo.findById(itemId).orElseThrow().getQtyOnHand());
+    }
+
+    private CompletableFuture<Void> place(CountDownLatch start, long customerId, long itemId, int qty) {
+        OrderDTO order = new OrderDTO(null, LocalDate.now(), String.valueOf(customerId),
+                List.of(new OrderDetailDTO(itemId, qty, 100.0)));
+        return CompletableFuture.runAsync(() -> {
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            groupOrderService.placeOrder(order);
+        });
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.springbootposbackend.service;
+
+import com.example.springbootposbackend.config.IdempotencyProperties;
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.IdempotencyRecord;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.IdempotencyRecordRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.repository.OrderRepo;
+import com.example.springbootposbackend.support.SqlBudgetFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class IdempotentOrderTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private IdempotencyService idempotencyService;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private CustomerRepo customerRepo;
+    @Autowired
+    private OrderRepo orderRepo;
+    @Autowired
+    private IdempotencyRecordRepo idempotencyRecordRepo;
+    @Autowired
+    private IdempotencyProperties idempotencyProperties;
+
+    private long customerId;
+    private long itemId;
+
+    @BeforeEach
+    void seed() {
+        customerId = customerRepo.save(new Customer(null, "Retrying Till", "No 4, Timeout Road", null)).getId();
+        itemId = itemRepo.save(new Item(null, "Rice", 200.0, 100, 0L, 0L, null)).getId();
+    }
+
+    @Test
+    void retriedRequestIsAnsweredWithoutTouchingTheDatabase() throws Exception {
+        String body = "{\"date\":\"2026-01-15\",\"customerId\":\"" + customerId + "\","
+                + "\"orderDetails\":[{\"itemId\":" + itemId + ",\"qty\":2,\"unitPrice\":200.0}]}";
+        long ordersBefore = orderRepo.count();
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            mockMvc.perform(post("/api/v1/orders").contentType(MediaType.APPLICATION_JSON)
+                            .header("Idempotency-Key", "till-7-receipt-1001").content(body))
+                    .andExpect(status().isOk());
+            if (attempt > 0) {
+                assertEquals(0, SqlBudgetFilter.lastRequestCount());
+            }
+        }
+
+        assertEquals(ordersBefore + 1, orderRepo.count());
+        assertEquals(98, itemRepo.findById(itemId).orElseThrow().getQtyOnHand());
+    }
+
+    @Test
+    void concurrentRequestsWithTheSameKeyPlaceOneOrder() throws Exception {
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return idempotencyService.placeOrder("till-8-receipt-2002", order(1));
+            }));
+        }
+        start.countDown();
+        Set<Long> orderIds = new HashSet<>();
+        for (Future<Long> result : results) {
+            orderIds.add(result.get());
+        }
+        pool.shutdown();
+
+        assertEquals(1, orderIds.size());
+        assertEquals(99, itemRepo.findById(itemId).orElseThrow().getQtyOnHand());
+    }
+
+    @Test
+    void keyPersistedBeforeARestartStillDeduplicates() {
+        long orderId = idempotencyService.placeOrder(null, order(1));
+        // A key the in-memory cache has never seen, e.g. after a restart
+        idempotencyRecordRepo.save(new IdempotencyRecord("till-9-receipt-3003", orderId, Instant.now()));
+
+        assertEquals(orderId, idempotencyService.placeOrder("till-9-receipt-3003", order(5)));
+        assertEquals(99, itemRepo.findById(itemId).orElseThrow().getQtyOnHand());
+    }
+
+    @Test
+    void overlongKeyIsRejectedAsABadRequest() throws Exception {
+        String body = "{\"date\":\"2026-01-15\",\"customerId\":\"" + customerId + "\","
+                + "\"orderDetails\":[{\"itemId\":" + itemId + ",\"qty\":1,\"unitPrice\":200.0}]}";
+
+        mockMvc.perform(post("/api/v1/orders").contentType(MediaType.APPLICATION_JSON)
+                        .header("Idempotency-Key", "k".repeat(101)).content(body))
+                .andExpect(status().isBadRequest());
+        assertEquals(100, itemRepo.findById(itemId).orElseThrow().getQtyOnHand());
+    }
+
+    @Test
+    void purgeDropsKeysOlderThanTheTtl() {
+        long orderId = idempotencyService.placeOrder(null, order(1));
+        Instant expired = Instant.now().minusMillis(idempotencyProperties.getTtlMs()).minusSeconds(60);
+        idempotencyRecordRepo.save(new IdempotencyRecord("till-10-receipt-4004", orderId, expired));
+        idempotencyRecordRepo.save(new IdempotencyRecord("till-10-receipt-4005", orderId, Instant.now()));
+
+        assertTrue(idempotencyService.purgeExpired() >= 1);
+        assertFalse(idempotencyRecordRepo.existsById("till-10-receipt-4004"));
+        assertTrue(idempotencyRecordRepo.existsById("till-10-receipt-4005"));
+    }
+
+    private OrderDTO order(int qty) {
+        return new OrderDTO(null, LocalDate.now(), String.valueOf(customerId), List.of(new OrderDetailDTO(itemId, qty, 200.0)));
+    }
+}
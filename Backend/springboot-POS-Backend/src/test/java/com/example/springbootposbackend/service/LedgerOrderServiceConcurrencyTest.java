@@ -0,0 +1,19 @@
+package com.example.springbootposbackend.service;
+
+import com.example.springbootposbackend.ledger.StockLedger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+// Same scenarios as OrderServiceConcurrencyTest, with CAS reservations in memory and a batched flush to the item table
+@SpringBootTest(properties = {"pos.order.stock-strategy=ledger",
+        "pos.stock-ledger.wal-dir=${java.io.tmpdir}/pos-stock-wal-${random.uuid}"})
+class LedgerOrderServiceConcurrencyTest extends OrderServiceConcurrencyTest {
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Override
+    protected void awaitStockWritten() {
+        stockLedger.flush();
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.springbootposbackend.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+// Same scenarios as OrderServiceConcurrencyTest, but with version checks + retry instead of row locks
+@SpringBootTest(properties = {"pos.order.stock-strategy=optimistic", "pos.order.max-retries=20"})
+class OptimisticOrderServiceConcurrencyTest extends OrderServiceConcurrencyTest {
+}
@@ -0,0 +1,118 @@
+package com.example.springbootposbackend.service;
+
+import com.example.springbootposbackend.dto.BulkOrderResultDTO;
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderBulkIngestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Test
+    void badOrderDoesNotRollBackTheRestOfTheBatch() throws Exception {
+        long customerId = customerRepo.save(new Customer(null, "Offline Till", "No 2, Station Road", null)).getId();
+        long itemId = itemRepo.save(new Item(null, "Bread", 150.0, 5, 0L, 0L, null)).getId();
+
+        String ndjson = order(customerId, itemId, 2) + "\n"
+                + order(customerId, itemId, 10) + "\n"   // more than is in stock
+                + order(999_999L, itemId, 1) + "\n"      // unknown customer
+                + order(customerId, itemId, 3) + "\n";
+
+        mockMvc.perform(post("/api/v1/orders/bulk").contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(4))
+                .andExpect(jsonPath("$.data[0].success").value(true))
+                .andExpect(jsonPath("$.data[1].success").value(false))
+                .andExpect(jsonPath("$.data[2].success").value(false))
+                .andExpect(jsonPath("$.data[3].success").value(true));
+
+        assertEquals(0, itemRepo.findById(itemId).orElseThrow().getQtyOnHand());
+
+        String jsonArray = "[" + order(customerId, itemId, 1) + "]";
+        mockMvc.perform(post("/api/v1/orders/bulk").contentType(MediaType.APPLICATION_JSON).content(jsonArray))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].success").value(false));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void ingest100kOrders() {
+        int customers = 100;
+        int items = 1_000;
+        int orders = 100_000;
+        long[] customerIds = new long[customers];
+        long[] itemIds = new long[items];
+        for (int i = 0; i < customers; i++) {
+            customerIds[i] = customerRepo.save(new Customer(null, "Customer " + i, "No " + i + ", Bulk Street", null)).getId();
+        }
+        for (int i = 0; i < items; i++) {
+            itemIds[i] = itemRepo.save(new Item(null, "Item " + i, 10.0 + i, 1_000_000, 0L, 0L, null)).getId();
+        }
+
+        Random random = new Random(42);
+        Iterator<OrderDTO> generator = new Iterator<>() {
+            private int produced;
+
+            @Override
+            public boolean hasNext() {
+                return produced < orders;
+            }
+
+            @Override
+            public OrderDTO next() {
+                produced++;
+                int lines = 1 + random.nextInt(5);
+                OrderDetailDTO[] details = new OrderDetailDTO[lines];
+                for (int l = 0; l < lines; l++) {
+                    details[l] = new OrderDetailDTO(itemIds[random.nextInt(items)], 1 + random.nextInt(3), 10.0);
+                }
+                return new OrderDTO(null, LocalDate.now(),
+                        String.valueOf(customerIds[random.nextInt(customers)]), List.of(details));
+            }
+        };
+
+        long start = System.nanoTime();
+        List<BulkOrderResultDTO> results = orderService.placeOrders(generator);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(orders, results.size());
+        assertTrue(results.stream().allMatch(BulkOrderResultDTO::isSuccess));
+        System.out.printf("bulk ingest: %d orders in %.1f s (%.0f orders/s)%n", orders, seconds, orders / seconds);
+    }
+
+    private String order(long customerId, long itemId, int qty) {
+        return "{\"date\":\"2026-01-15\",\"customerId\":\"" + customerId + "\","
+                + "\"orderDetails\":[{\"itemId\":" + itemId + ",\"qty\":" + qty + ",\"unitPrice\":150.0}]}";
+    }
+}
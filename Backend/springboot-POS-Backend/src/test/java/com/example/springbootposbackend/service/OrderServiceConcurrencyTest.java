@@ -0,0 +1,116 @@
+package com.example.springbootposbackend.service;
+
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.exception.InsufficientStockException;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class OrderServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ORDERS_PER_THREAD = 25;
+    private static final int INITIAL_STOCK = 200;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    private Long customerId;
+    private List<Long> itemIds;
+
+    @BeforeEach
+    void seed() {
+        customerId = customerRepo.save(new Customer(null, "Till Customer", "No 1, Main Street", null)).getId();
+        itemIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            itemIds.add(itemRepo.save(new Item(null, "Promo item " + i, 100.0, INITIAL_STOCK, 0L, 0L, null)).getId());
+        }
+    }
+
+    @Test
+    void stockNeverGoesNegativeUnderConcurrentCheckouts() throws Exception {
+        List<Long> reversed = new ArrayList<>(itemIds);
+        Collections.reverse(reversed);
+        AtomicInteger placed = new AtomicInteger();
+        runConcurrently(thread -> {
+            try {
+                // Lines are deliberately listed in a different order per thread to exercise lock ordering
+                orderService.placeOrder(basket(thread % 2 == 0 ? itemIds : reversed, 1));
+                placed.incrementAndGet();
+            } catch (InsufficientStockException expected) {
+                // The only expected rejection, once the items sell out
+            }
+        });
+        awaitStockWritten();
+
+        // There are more baskets than units, so every unit sells and nothing else fails
+        assertEquals(INITIAL_STOCK, placed.get());
+        for (Long itemId : itemIds) {
+            assertEquals(0, itemRepo.findById(itemId).orElseThrow().getQtyOnHand(), "Stock left or lost for item " + itemId);
+        }
+    }
+
+    // Hook for strategies that write qty_on_hand after the checkout returns
+    protected void awaitStockWritten() {
+    }
+
+    private OrderDTO basket(List<Long> ids, int qty) {
+        List<OrderDetailDTO> lines = new ArrayList<>();
+        for (Long id : ids) {
+            lines.add(new OrderDetailDTO(id, qty, 100.0));
+        }
+        return new OrderDTO(null, LocalDate.now(), String.valueOf(customerId), lines);
+    }
+
+    private void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            threads.add(pool.submit(() -> {
+                start.await();
+                for (int n = 0; n < ORDERS_PER_THREAD; n++) {
+                    task.run(thread);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES));
+        // Rethrows anything other than insufficient stock
+        for (Future<?> thread : threads) {
+            thread.get();
+        }
+    }
+
+    private interface ThreadTask {
+        void run(int thread);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.springbootposbackend.service;
+
+import com.example.springbootposbackend.dto.DailyCustomerSalesDTO;
+import com.example.springbootposbackend.dto.DailyItemSalesDTO;
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.DailyCustomerSalesRepo;
+import com.example.springbootposbackend.repository.DailyItemSalesRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class SalesRollupTest {
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private SalesRollupService salesRollupService;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private CustomerRepo customerRepo;
+    @Autowired
+    private DailyItemSalesRepo dailyItemSalesRepo;
+    @Autowired
+    private DailyCustomerSalesRepo dailyCustomerSalesRepo;
+
+    @Test
+    void checkoutsMaintainRollupsAndRebuildReproducesThem() {
+        LocalDate day = LocalDate.of(2026, 3, 1);
+        long alice = customerRepo.save(new Customer(null, "Alice", "No 1, Rollup Lane", null)).getId();
+        long bob = customerRepo.save(new Customer(null, "Bob", "No 2, Rollup Lane", null)).getId();
+        long tea = itemRepo.save(new Item(null, "Tea", 10.0, 100, 0L, 0L, null)).getId();
+        long milk = itemRepo.save(new Item(null, "Milk", 20.0, 100, 0L, 0L, null)).getId();
+
+        // Tea appears on two lines of the same order: still one order for the item
+        orderService.placeOrder(order(day, alice, line(tea, 2, 10.0), line(tea, 1, 10.0), line(milk, 1, 20.0)));
+        orderService.placeOrder(order(day, bob, line(tea, 4, 10.0)));
+        orderService.placeOrders(List.of(order(day, alice, line(milk, 3, 20.0))).iterator());
+
+        List<DailyItemSalesDTO> items = salesRollupService.getItemSales(day);
+        List<DailyCustomerSalesDTO> customers = salesRollupService.getCustomerSales(day);
+        assertEquals(List.of(
+                new DailyItemSalesDTO(day, milk, 4, 80.0, 2),
+                new DailyItemSalesDTO(day, tea, 7, 70.0, 2)), items);
+        assertEquals(List.of(
+                new DailyCustomerSalesDTO(day, alice, 7, 110.0, 2),
+                new DailyCustomerSalesDTO(day, bob, 4, 40.0, 1)), customers);
+
+        dailyItemSalesRepo.deleteAllInBatch();
+        dailyCustomerSalesRepo.deleteAllInBatch();
+        assertEquals(3, salesRollupService.rebuildRollups(day.minusDays(1), day.plusDays(1)));
+
+        assertEquals(items, salesRollupService.getItemSales(day));
+        assertEquals(customers, salesRollupService.getCustomerSales(day));
+    }
+
+    @Test
+    void rebuildRunningAlongsideCheckoutsCountsEveryOrderOnce() throws Exception {
+        // A back-dated day, as an offline till would send it
+        LocalDate day = LocalDate.of(2026, 3, 2);
+        long carol = customerRepo.save(new Customer(null, "Carol", "No 3, Rollup Lane", null)).getId();
+        long sweet = itemRepo.save(new Item(null, "Sweet", 0.1, 1_000, 0L, 0L, null)).getId();
+        int threads = 4;
+        int ordersPerThread = 15;
+
+        AtomicBoolean checkoutsDone = new AtomicBoolean();
+        ExecutorService pool = Executors.newFixedThreadPool(threads + 1);
+        try {
+            List<Future<?>> checkouts = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                checkouts.add(pool.submit(() -> {
+                    for (int n = 0; n < ordersPerThread; n++) {
+                        orderService.placeOrder(order(day, carol, line(sweet, 3, 0.1)));
+                    }
+                }));
+            }
+            Future<?> rebuilds = pool.submit(() -> {
+                while (!checkoutsDone.get()) {
+                    salesRollupService.rebuildRollups(day, day);
+                }
+            });
+            for (Future<?> checkout : checkouts) {
+                checkout.get(2, TimeUnit.MINUTES);
+            }
+            checkoutsDone.set(true);
+            rebuilds.get(2, TimeUnit.MINUTES);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int orders = threads * ordersPerThread;
+        // 3 x 0.1 per order, summed in cents: exactly 18.0, not 18.000000000000004
+        assertEquals(List.of(new DailyCustomerSalesDTO(day, carol, 3L * orders, 18.0, orders)),
+                salesRollupService.getCustomerSales(day));
+    }
+
+    private OrderDTO order(LocalDate date, long customerId, OrderDetailDTO... lines) {
+        return new OrderDTO(null, date, String.valueOf(customerId), List.of(lines));
+    }
+
+    private OrderDetailDTO line(long itemId, int qty, double unitPrice) {
+        return new OrderDetailDTO(itemId, qty, unitPrice);
+    }
+}
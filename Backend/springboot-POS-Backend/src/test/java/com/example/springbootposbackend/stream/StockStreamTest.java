@@ -0,0 +1,142 @@
+package com.example.springbootposbackend.stream;
+
+import com.example.springbootposbackend.cache.ItemCatalogCache.StockChange;
+import com.example.springbootposbackend.config.StockStreamProperties;
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.service.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "pos.stock-stream.coalesce-window-ms=50",
+        "pos.stock-stream.subscriber-queue-size=2",
+        "pos.stock-stream.send-timeout-ms=200"})
+class StockStreamTest {
+
+    @Autowired
+    private StockStream stockStream;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private CustomerRepo customerRepo;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private StockStreamProperties streamProperties;
+
+    @Test
+    void committedCheckoutIsPushedToSubscribedTills() throws Exception {
+        long customerId = customerRepo.save(new Customer(null, "Stream Till", "No 6, Push Road", null)).getId();
+        long itemId = itemRepo.save(new Item(null, "Stream Bread", 150.0, 10, 0L, 0L, null)).getId();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/items/stock-stream")).build();
+        HttpResponse<Stream<String>> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofLines());
+        Iterator<String> lines = response.body().iterator();
+
+        assertEquals("event:sync", nextLineStartingWith(lines, "event:"));
+
+        // Two checkouts inside one window reach the till as one event carrying the latest level
+        for (int qty : new int[]{2, 3}) {
+            orderService.placeOrder(new OrderDTO(null, LocalDate.now(), String.valueOf(customerId),
+                    List.of(new OrderDetailDTO(itemId, qty, 150.0))));
+        }
+        String data = "";
+        while (!data.contains("\"itemId\":" + itemId + ",\"qtyOnHand\":5")) {
+            assertEquals("event:stock", nextLineStartingWith(lines, "event:"));
+            data = nextLineStartingWith(lines, "data:");
+        }
+        response.body().close();
+    }
+
+    @Test
+    void slowSubscriberIsDroppedInsteadOfBuffered() throws Exception {
+        CountDownLatch unblock = new CountDownLatch(1);
+        SseEmitter stuck = new SseEmitter() {
+            @Override
+            public void send(Set<DataWithMediaType> items) {
+                try {
+                    unblock.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        double droppedBefore = meterRegistry.counter("pos.stock.stream.dropped").count();
+        assertTrue(stockStream.register(stuck));
+
+        // The scheduled flush may pick up a batch first, so wait for the events rather than counting our own flushes
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        for (int i = 0; meterRegistry.counter("pos.stock.stream.dropped").count() == droppedBefore; i++) {
+            assertTrue(System.nanoTime() < deadline, "Stuck subscriber was never dropped");
+            stockStream.publish(List.of(new StockChange(1_000_000L + i, i, 1)));
+            stockStream.flush();
+            Thread.sleep(10);
+        }
+        unblock.countDown();
+    }
+
+    @Test
+    void tillsThatStopReadingDoNotHoldUpTheOthers() throws Exception {
+        CountDownLatch unblock = new CountDownLatch(1);
+        // One blocked write per sender thread: without eviction nobody else would get an event
+        for (int i = 0; i < streamProperties.getSenderThreads(); i++) {
+            assertTrue(stockStream.register(new SseEmitter() {
+                @Override
+                public void send(Set<DataWithMediaType> items) {
+                    try {
+                        unblock.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }));
+        }
+        CountDownLatch received = new CountDownLatch(1);
+        assertTrue(stockStream.register(new SseEmitter() {
+            @Override
+            public void send(Set<DataWithMediaType> items) {
+                received.countDown();
+            }
+        }));
+
+        assertTrue(received.await(5, TimeUnit.SECONDS), "Healthy till starved behind stalled sends");
+        unblock.countDown();
+    }
+
+    private static String nextLineStartingWith(Iterator<String> lines, String prefix) {
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.startsWith(prefix)) {
+                return line;
+            }
+        }
+        throw new AssertionError("Stream ended before a " + prefix + " line");
+    }
+}
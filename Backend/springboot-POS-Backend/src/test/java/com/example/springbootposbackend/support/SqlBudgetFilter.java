@@ -0,0 +1,45 @@
+package com.example.springbootposbackend.support;
+
+import com.example.springbootposbackend.metrics.SqlStatementCounter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Fails the calling test when one HTTP request runs more SQL statements than
+ * pos.test.max-sql-per-request. Catches N+1 loading on any endpoint that a
+ * MockMvc test touches.
+ */
+@Component
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static volatile int lastRequestCount;
+
+    private final int maxStatements;
+
+    public SqlBudgetFilter(@Value("${pos.test.max-sql-per-request}") int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    public static int lastRequestCount() {
+        return lastRequestCount;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementCounter.reset();
+        chain.doFilter(request, response);
+        lastRequestCount = SqlStatementCounter.count();
+        if (lastRequestCount > maxStatements) {
+            throw new AssertionError(request.getMethod() + " " + request.getRequestURI() + " ran " + lastRequestCount
+                    + " SQL statements, budget is " + maxStatements);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.springbootposbackend.support;
+
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.repository.CustomerRepo;
+import com.example.springbootposbackend.repository.ItemRepo;
+import com.example.springbootposbackend.repository.OrderRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SqlStatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CustomerRepo customerRepo;
+    @Autowired
+    private ItemRepo itemRepo;
+    @Autowired
+    private OrderRepo orderRepo;
+
+    @Test
+    void customerPageIsOneQuery() throws Exception {
+        for (int i = 0; i < 30; i++) {
+            customerRepo.save(new Customer(null, "Budget " + i, "No " + i + ", Budget Road", null));
+        }
+
+        mockMvc.perform(get("/api/v1/customers/page").param("size", "20")).andExpect(status().isOk());
+
+        assertEquals(1, SqlBudgetFilter.lastRequestCount());
+    }
+
+    @Test
+    void checkoutStatementCountDoesNotGrowWithBasketSize() throws Exception {
+        long customerId = customerRepo.save(new Customer(null, "Budget Buyer", "No 9, Budget Road", null)).getId();
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            itemIds.add(itemRepo.save(new Item(null, "Budget item " + i, 50.0, 1_000, 0L, 0L, null)).getId());
+        }
+
+        placeOrder(customerId, itemIds.subList(0, 1)); // warm up the id sequences
+        int oneLine = placeOrder(customerId, itemIds.subList(0, 1));
+        int twentyLines = placeOrder(customerId, itemIds);
+
+        // At most one extra statement when the pooled order_detail sequence hands out a new block
+        assertTrue(twentyLines <= oneLine + 1, "1 line: " + oneLine + " statements, 20 lines: " + twentyLines);
+    }
+
+    @Test
+    void orderReceiptIsOneQuery() throws Exception {
+        long customerId = customerRepo.save(new Customer(null, "Receipt Buyer", "No 10, Budget Road", null)).getId();
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            itemIds.add(itemRepo.save(new Item(null, "Receipt item " + i, 25.0, 100, 0L, 0L, null)).getId());
+        }
+        placeOrder(customerId, itemIds);
+        long orderId = orderRepo.findAll(Sort.by(Sort.Direction.DESC, "id")).get(0).getId();
+
+        mockMvc.perform(get("/api/v1/orders/" + orderId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.lines.length()").value(5))
+                // Priced from the items (25.0), not from the 50.0 the till sent
+                .andExpect(jsonPath("$.data.total").value(125.0));
+        assertEquals(1, SqlBudgetFilter.lastRequestCount());
+
+        mockMvc.perform(get("/api/v1/orders/customer/" + customerId)).andExpect(status().isOk());
+        assertEquals(1, SqlBudgetFilter.lastRequestCount());
+    }
+
+    private int placeOrder(long customerId, List<Long> itemIds) throws Exception {
+        StringJoiner lines = new StringJoiner(",");
+        for (Long itemId : itemIds) {
+            lines.add("{\"itemId\":" + itemId + ",\"qty\":1,\"unitPrice\":50.0}");
+        }
+        String body = "{\"date\":\"2026-01-15\",\"customerId\":\"" + customerId + "\",\"orderDetails\":[" + lines + "]}";
+        mockMvc.perform(post("/api/v1/orders").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+        return SqlBudgetFilter.lastRequestCount();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.springbootposbackend.benchmark;
+
+import com.example.springbootposbackend.dto.ItemDTO;
+import com.example.springbootposbackend.util.APIResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing the APIResponse envelope the controllers return, for a catalog
+ * page of the given size. A reused ObjectWriter is what Spring MVC does per
+ * response type after the first request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private APIResponse<List<ItemDTO>> response;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<ItemDTO> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new ItemDTO((long) i + 1, "Item " + i, 10 + random.nextInt(10_000) / 100.0, random.nextInt(500)));
+        }
+        response = new APIResponse<>(200, "Items retrieved successfully", items);
+        ObjectMapper objectMapper = JsonMapper.builder().build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructParametricType(APIResponse.class, objectMapper.getTypeFactory()
+                        .constructCollectionType(List.class, ItemDTO.class)));
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return writer.writeValueAsBytes(response);
+    }
+}
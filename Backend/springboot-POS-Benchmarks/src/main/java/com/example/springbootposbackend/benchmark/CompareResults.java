@@ -0,0 +1,67 @@
+package com.example.springbootposbackend.benchmark;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Diffs two result files (JMH JSON or load-results.json) by benchmark name and
+ * params. Throughput units ("ops/...") are better when higher, time units when
+ * lower. Exits with 1 if anything got worse by more than the threshold, so a CI
+ * job can fail on a regression.
+ *
+ * <pre>
+ * CompareResults baseline.json candidate.json [thresholdPercent, default 10]
+ * </pre>
+ */
+public class CompareResults {
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <candidate.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        ObjectMapper mapper = JsonMapper.builder().build();
+        Map<String, JsonNode> baseline = index(mapper.readTree(new File(args[0])));
+        Map<String, JsonNode> candidate = index(mapper.readTree(new File(args[1])));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %12s%n", entry.getKey(), "new");
+                continue;
+            }
+            double oldScore = before.path("primaryMetric").path("score").asDouble();
+            double newScore = entry.getValue().path("primaryMetric").path("score").asDouble();
+            String unit = entry.getValue().path("primaryMetric").path("scoreUnit").asString();
+            // Positive change eka hamawelema "hondai" kiyana eka
+            double change = (newScore - oldScore) / oldScore * 100 * (unit.startsWith("ops/") ? 1 : -1);
+            boolean regressed = change < -threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-70s %12.3f -> %12.3f %-10s %+7.1f%%%s%n", entry.getKey(), oldScore, newScore, unit,
+                    change, regressed ? "  REGRESSION" : "");
+        }
+        System.out.printf("%d regression(s) beyond %.1f%%%n", regressions, threshold);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            // Params sort karala key eka hadanawa, file eke order eka wenas unath match wenna
+            Map<String, String> params = new TreeMap<>();
+            result.path("params").properties().forEach(p -> params.put(p.getKey(), p.getValue().asString()));
+            byKey.put(result.path("benchmark").asString() + (params.isEmpty() ? "" : " " + params), result);
+        }
+        return byKey;
+    }
+}
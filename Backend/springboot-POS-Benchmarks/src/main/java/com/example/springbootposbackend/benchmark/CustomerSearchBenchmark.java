@@ -0,0 +1,97 @@
+package com.example.springbootposbackend.benchmark;
+
+import com.example.springbootposbackend.cache.CustomerSearchIndex;
+import com.example.springbootposbackend.config.CustomerSearchProperties;
+import com.example.springbootposbackend.dto.CustomerDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-20 search over CustomerSearchIndex with -p customers (default 1M)
+ * generated names and addresses. Setup prints the heap the index holds per
+ * customer, measured as used heap after a GC with and without it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class CustomerSearchBenchmark {
+
+    private static final String[] FIRST = {"John", "Nimal", "Kamal", "Sunil", "Amara", "Kasun", "Dilani", "Ruwan",
+            "Chamari", "Saman", "Tharindu", "Nadeesha", "Pradeep", "Ishara", "Mahesh", "Sanduni", "Lahiru", "Anusha",
+            "Johnathan", "Malsha"};
+    private static final String[] LAST = {"Perera", "Silva", "Fernando", "Jayasuriya", "Bandara", "Dias", "Wickrama",
+            "Rajapaksha", "Gunawardena", "Herath", "Senanayake", "Colombage", "Wijesinghe", "Ekanayake", "Karunaratne"};
+    private static final String[] STREET = {"Temple Road", "Galle Road", "Station Road", "Lake Drive", "Hill Street",
+            "Main Street", "Kandy Road", "Flower Road", "Church Lane", "Park Avenue", "Baseline Road", "Market Street"};
+    private static final String[] TOWN = {"Colombo", "Kandy", "Galle", "Matara", "Negombo", "Kurunegala", "Jaffna",
+            "Anuradhapura", "Badulla", "Ratnapura", "Gampaha", "Kalutara"};
+
+    @Param({"1000000"})
+    private int customers;
+
+    @Param({"jo", "john", "john col", "ando", "temple kandy", "rajapaksha"})
+    private String query;
+
+    private CustomerSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        long before = usedHeap();
+        index = new CustomerSearchIndex(new CustomerSearchProperties());
+        index.rebuild(() -> generate(customers));
+        long after = usedHeap();
+        System.out.printf("%n%d customers indexed, ~%d bytes/customer%n", index.size(), (after - before) / customers);
+    }
+
+    @Benchmark
+    public List<CustomerDTO> search() {
+        return index.search(query, 20);
+    }
+
+    // Fixed seed, so every run indexes the same customers
+    private static Iterator<CustomerDTO> generate(int count) {
+        Random random = new Random(42);
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public CustomerDTO next() {
+                next++;
+                String name = FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)];
+                String address = "No " + (1 + random.nextInt(400)) + ", " + STREET[random.nextInt(STREET.length)]
+                        + ", " + TOWN[random.nextInt(TOWN.length)];
+                return new CustomerDTO((long) next, name, address);
+            }
+        };
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
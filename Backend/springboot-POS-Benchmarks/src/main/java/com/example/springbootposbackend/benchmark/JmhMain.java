@@ -0,0 +1,21 @@
+package com.example.springbootposbackend.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * benchmarks.jar entry point: plain JMH, but results also go to
+ * target/jmh-results.json unless -rf/-rff are given, so every run leaves a
+ * file that CompareResults can diff against another commit.
+ */
+public class JmhMain {
+
+    public static void main(String[] args) throws Exception {
+        List<String> jmhArgs = new ArrayList<>(Arrays.asList(args));
+        if (!jmhArgs.contains("-rf") && !jmhArgs.contains("-rff")) {
+            jmhArgs.addAll(List.of("-rf", "json", "-rff", "target/jmh-results.json"));
+        }
+        org.openjdk.jmh.Main.main(jmhArgs.toArray(new String[0]));
+    }
+}
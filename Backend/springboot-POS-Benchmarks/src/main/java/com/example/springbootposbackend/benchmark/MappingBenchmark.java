@@ -0,0 +1,122 @@
+package com.example.springbootposbackend.benchmark;
+
+import com.example.springbootposbackend.dto.CustomerDTO;
+import com.example.springbootposbackend.dto.ItemDTO;
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.entity.Order;
+import com.example.springbootposbackend.entity.OrderDetail;
+import com.example.springbootposbackend.mapper.CustomerMapper;
+import com.example.springbootposbackend.mapper.CustomerMapperImpl;
+import com.example.springbootposbackend.mapper.ItemMapper;
+import com.example.springbootposbackend.mapper.ItemMapperImpl;
+import com.example.springbootposbackend.mapper.OrderMapper;
+import com.example.springbootposbackend.mapper.OrderMapperImpl;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeToken;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity -> DTO list mapping: the old reflective ModelMapper (STRICT, TypeToken)
+ * against the MapStruct mappers the services use now. Run with -prof gc to see
+ * allocation per list as well as time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    private List<Customer> customers;
+    private List<Item> items;
+    private List<Order> orders;
+
+    private ModelMapper modelMapper;
+    private final CustomerMapper customerMapper = new CustomerMapperImpl();
+    private final ItemMapper itemMapper = new ItemMapperImpl();
+    private final OrderMapper orderMapper = new OrderMapperImpl();
+
+    @Setup
+    public void setUp() {
+        // SpringbootPosBackendApplication eke thibba bean eka wagema
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+        modelMapper.typeMap(Order.class, OrderDTO.class).addMappings(mapper -> {
+            mapper.map(Order::getId, OrderDTO::setOrderId);
+            mapper.map(source -> source.getCustomer().getId(), OrderDTO::setCustomerId);
+        });
+        modelMapper.typeMap(OrderDetail.class, OrderDetailDTO.class)
+                .addMappings(mapper -> mapper.map(source -> source.getItem().getId(), OrderDetailDTO::setItemId));
+
+        customers = new ArrayList<>(size);
+        items = new ArrayList<>(size);
+        orders = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Customer customer = new Customer((long) i, "Customer " + i, "No " + i + ", Galle Road, Colombo", null);
+            Item item = new Item((long) i, "Item " + i, 100.0 + i, i % 500, 0L, 0L, null);
+            customers.add(customer);
+            items.add(item);
+
+            Order order = new Order((long) i, LocalDate.of(2026, 1, 1).plusDays(i % 365), customer, null);
+            List<OrderDetail> details = new ArrayList<>(3);
+            for (int line = 0; line < 3; line++) {
+                details.add(new OrderDetail(i * 3 + line, 1 + line, item.getUnitPrice(), order, item));
+            }
+            order.setOrderDetails(details);
+            orders.add(order);
+        }
+    }
+
+    @Benchmark
+    public List<CustomerDTO> customersModelMapper() {
+        return modelMapper.map(customers, new TypeToken<List<CustomerDTO>>() {}.getType());
+    }
+
+    @Benchmark
+    public List<CustomerDTO> customersMapStruct() {
+        return customerMapper.toDTOs(customers);
+    }
+
+    @Benchmark
+    public List<ItemDTO> itemsModelMapper() {
+        return modelMapper.map(items, new TypeToken<List<ItemDTO>>() {}.getType());
+    }
+
+    @Benchmark
+    public List<ItemDTO> itemsMapStruct() {
+        return itemMapper.toDTOs(items);
+    }
+
+    @Benchmark
+    public List<OrderDTO> ordersModelMapper() {
+        return modelMapper.map(orders, new TypeToken<List<OrderDTO>>() {}.getType());
+    }
+
+    @Benchmark
+    public List<OrderDTO> ordersMapStruct() {
+        return orderMapper.toDTOs(orders);
+    }
+}
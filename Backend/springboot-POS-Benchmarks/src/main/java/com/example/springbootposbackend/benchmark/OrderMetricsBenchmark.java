@@ -0,0 +1,68 @@
+package com.example.springbootposbackend.benchmark;
+
+import com.example.springbootposbackend.metrics.OrderMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the checkout instrumentation costs per order: the six phase timers,
+ * basket size and SQL count that OrderServiceIMPL records, against a baseline
+ * that only reads the clock the same number of times. The difference should
+ * stay within a few microseconds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderMetricsBenchmark {
+
+    @Param({"simple", "prometheus"})
+    private String registry;
+
+    private OrderMetrics metrics;
+
+    @Setup
+    public void setUp() {
+        MeterRegistry meterRegistry = registry.equals("prometheus")
+                ? new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)
+                : new SimpleMeterRegistry();
+        metrics = new OrderMetrics(meterRegistry);
+    }
+
+    @Benchmark
+    public long clockOnly() {
+        long t = System.nanoTime();
+        for (int i = 0; i < OrderMetrics.Phase.values().length; i++) {
+            t += System.nanoTime();
+        }
+        return t;
+    }
+
+    @Benchmark
+    public long instrumentedCheckout() {
+        long t = System.nanoTime();
+        for (OrderMetrics.Phase phase : OrderMetrics.Phase.values()) {
+            t = metrics.phase(phase, t);
+        }
+        metrics.basket(3);
+        metrics.sqlStatements(9);
+        return t;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.springbootposbackend.benchmark;
+
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.entity.Customer;
+import com.example.springbootposbackend.entity.Item;
+import com.example.springbootposbackend.service.impl.StockReservation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory validation of one bulk chunk (500 orders) with StockReservation:
+ * customer and item checks, line merging and the running stock count. Every
+ * tenth order asks for more than is in stock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderValidationBenchmark {
+
+    private static final int CHUNK = 500;
+    private static final int CUSTOMERS = 200;
+    private static final int ITEMS = 2_000;
+
+    @Param({"1", "10", "50"})
+    private int basketLines;
+
+    private Map<Long, Customer> customers;
+    private Map<Long, Item> items;
+    private List<OrderDTO> chunk;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        customers = new HashMap<>();
+        for (long c = 1; c <= CUSTOMERS; c++) {
+            customers.put(c, new Customer(c, "Customer " + c, "No " + c, null));
+        }
+        items = new HashMap<>();
+        for (long i = 1; i <= ITEMS; i++) {
+            items.put(i, new Item(i, "Item " + i, 10.0, 1_000_000, 0L, 0L, null));
+        }
+        chunk = new ArrayList<>(CHUNK);
+        for (int o = 0; o < CHUNK; o++) {
+            List<OrderDetailDTO> lines = new ArrayList<>(basketLines);
+            for (int l = 0; l < basketLines; l++) {
+                int qty = o % 10 == 9 && l == 0 ? 2_000_000 : 1 + random.nextInt(3);
+                lines.add(new OrderDetailDTO(1L + random.nextInt(ITEMS), qty, 10.0));
+            }
+            chunk.add(new OrderDTO(null, LocalDate.of(2026, 1, 15), String.valueOf(1 + random.nextInt(CUSTOMERS)), lines));
+        }
+    }
+
+    @Benchmark
+    public int validateChunk() {
+        StockReservation reservation = new StockReservation(customers, items);
+        int accepted = 0;
+        for (OrderDTO order : chunk) {
+            if (reservation.reserve(order) == null) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.springbootposbackend.benchmark;
+
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.pricing.PriceTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-side pricing of one basket against a 20,000 item PriceTable, the
+ * way checkout does it after validation has merged the quantities. Every
+ * item carries promotionTiers quantity tiers. Run with -prof gc to check the
+ * allocation per basket (gc.alloc.rate.norm), which should be close to zero.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PricingBenchmark {
+
+    private static final int ITEMS = 20_000;
+    private static final int BASKETS = 64;
+    private static final int[] TIER_MIN_QTY = {3, 6, 10, 20};
+
+    @Param({"1", "10", "50"})
+    private int basketLines;
+
+    @Param({"0", "1", "4"})
+    private int promotionTiers;
+
+    private PriceTable table;
+    private List<List<OrderDetailDTO>> baskets;
+    private List<SortedMap<Long, Integer>> mergedQty;
+    private long[] unitMinor;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        PriceTable.Builder builder = new PriceTable.Builder();
+        for (long id = 1; id <= ITEMS; id++) {
+            builder.price(id, 50 + random.nextInt(100_000));
+            for (int t = 0; t < promotionTiers; t++) {
+                builder.promotion(id, TIER_MIN_QTY[t], 250 * (t + 1));
+            }
+        }
+        table = builder.build();
+
+        baskets = new ArrayList<>(BASKETS);
+        mergedQty = new ArrayList<>(BASKETS);
+        for (int b = 0; b < BASKETS; b++) {
+            List<OrderDetailDTO> lines = new ArrayList<>(basketLines);
+            SortedMap<Long, Integer> qty = new TreeMap<>();
+            for (int l = 0; l < basketLines; l++) {
+                OrderDetailDTO line = new OrderDetailDTO(1L + random.nextInt(ITEMS), 1 + random.nextInt(12), 0);
+                lines.add(line);
+                qty.merge(line.getItemId(), line.getQty(), Integer::sum);
+            }
+            baskets.add(lines);
+            mergedQty.add(qty);
+        }
+        unitMinor = new long[basketLines];
+    }
+
+    @Benchmark
+    public long priceBasket() {
+        int b = next++ & (BASKETS - 1);
+        return table.price(baskets.get(b), mergedQty.get(b), unitMinor);
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.springbootposbackend.benchmark;
+
+import com.example.springbootposbackend.dto.CustomerDTO;
+import com.example.springbootposbackend.dto.ItemDTO;
+import com.example.springbootposbackend.dto.OrderDTO;
+import com.example.springbootposbackend.dto.OrderDetailDTO;
+import com.example.springbootposbackend.util.APIResponse;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encode/decode time and payload size per wire format for what tills move
+ * most: a catalog page of items, a 50 line order and a page of customers,
+ * each in the APIResponse envelope. The bytes and gzipBytes counters are the
+ * size of one encoded payload, so the JSON result file carries size as well
+ * as time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"items", "order", "customers"})
+    private String payload;
+
+    private Object value;
+    private byte[] encoded;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = switch (format) {
+            case "cbor" -> CBORMapper.builder().build();
+            case "smile" -> SmileMapper.builder().build();
+            default -> JsonMapper.builder().build();
+        };
+        Random random = new Random(42);
+        Class<?> dataType;
+        switch (payload) {
+            case "order" -> {
+                List<OrderDetailDTO> lines = new ArrayList<>();
+                for (int l = 0; l < 50; l++) {
+                    lines.add(new OrderDetailDTO(1L + random.nextInt(5000), 1 + random.nextInt(5), 50 + random.nextInt(200_000) / 100.0));
+                }
+                value = new APIResponse<>(200, "Order retrieved successfully", new OrderDTO(1001L, LocalDate.of(2026, 1, 15), "17", lines));
+                dataType = OrderDTO.class;
+            }
+            case "customers" -> {
+                List<CustomerDTO> customers = new ArrayList<>();
+                for (int c = 0; c < 100; c++) {
+                    customers.add(new CustomerDTO((long) c + 1, "Customer " + c, "No " + random.nextInt(500) + ", Temple Road"));
+                }
+                value = new APIResponse<>(200, "Customers retrieved successfully", customers);
+                dataType = CustomerDTO.class;
+            }
+            default -> {
+                List<ItemDTO> items = new ArrayList<>();
+                for (int i = 0; i < 100; i++) {
+                    items.add(new ItemDTO((long) i + 1, "Item " + i, 10 + random.nextInt(10_000) / 100.0, random.nextInt(500)));
+                }
+                value = new APIResponse<>(200, "Items retrieved successfully", items);
+                dataType = ItemDTO.class;
+            }
+        }
+        JavaType data = "order".equals(payload) ? mapper.getTypeFactory().constructType(dataType)
+                : mapper.getTypeFactory().constructCollectionType(List.class, dataType);
+        JavaType type = mapper.getTypeFactory().constructParametricType(APIResponse.class, data);
+        writer = mapper.writerFor(type);
+        reader = mapper.readerFor(type);
+        encoded = writer.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public byte[] encode(Size size) {
+        size.record(encoded);
+        return writer.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return reader.readValue(encoded);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        public long bytes;
+        public long gzipBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            gzipBytes = 0;
+        }
+
+        void record(byte[] encoded) {
+            if (bytes == 0) {
+                bytes = encoded.length;
+                gzipBytes = gzip(encoded);
+            }
+        }
+
+        private static long gzip(byte[] encoded) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(encoded);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return out.size();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.springbootposbackend.benchmark.load;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds customers and items from a fixed seed, so two runs (and two commits)
+ * load exactly the same data. Rows go in without ids so the identity columns
+ * keep counting from where the seed stopped, and ids come out as 1..n.
+ */
+class DataGenerator {
+
+    private static final String[] STREETS = {"Main Street", "Temple Road", "Station Road", "Lake Drive", "Hill Street"};
+    private static final String[] PRODUCTS = {"Rice", "Sugar", "Tea", "Milk Powder", "Dhal", "Flour", "Soap", "Biscuits"};
+
+    private final Random random;
+
+    DataGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    void seed(JdbcTemplate jdbcTemplate, int customers, int items) {
+        List<Object[]> rows = new ArrayList<>(customers);
+        for (int c = 1; c <= customers; c++) {
+            rows.add(new Object[]{"Customer " + c, "No " + (1 + random.nextInt(500)) + ", " + STREETS[random.nextInt(STREETS.length)]});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO customer (name, address) VALUES (?, ?)", rows);
+
+        rows = new ArrayList<>(items);
+        for (int i = 1; i <= items; i++) {
+            String description = PRODUCTS[random.nextInt(PRODUCTS.length)] + " " + (100 + random.nextInt(900)) + "g #" + i;
+            double unitPrice = 50 + random.nextInt(200_000) / 100.0;
+            // Load run eka athara sell out wenne nathi wenna stock eka loku karala
+            rows.add(new Object[]{description, unitPrice, 10_000_000, 0, 0});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO item (description, unit_price, qty_on_hand, version, change_seq) VALUES (?, ?, ?, ?, ?)", rows);
+    }
+}
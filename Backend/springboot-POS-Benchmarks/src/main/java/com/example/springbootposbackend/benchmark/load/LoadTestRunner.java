@@ -0,0 +1,232 @@
+package com.example.springbootposbackend.benchmark.load;
+
+import com.example.springbootposbackend.SpringbootPosBackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * End-to-end HTTP load against the real backend on an embedded H2 database:
+ * catalog browsing, checkout with 1, 10 and 50 line baskets, and a customer
+ * create/read/update/delete cycle. Every thread draws from its own seeded
+ * Random, so the request mix is the same on every run.
+ *
+ * <pre>
+ * mvn exec:java -Dexec.args="threads=16 ops=2000 seed=42 out=target/load-results.json"
+ * </pre>
+ */
+public class LoadTestRunner {
+
+    private static final ObjectMapper JSON = JsonMapper.builder().build();
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final String baseUrl;
+    private final int threads;
+    private final int ops;
+    private final long seed;
+    private final int customers;
+    private final int items;
+
+    private LoadTestRunner(String baseUrl, Map<String, String> options) {
+        this.baseUrl = baseUrl;
+        this.threads = Integer.parseInt(options.getOrDefault("threads", "16"));
+        this.ops = Integer.parseInt(options.getOrDefault("ops", "2000"));
+        this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        this.customers = Integer.parseInt(options.getOrDefault("customers", "1000"));
+        this.items = Integer.parseInt(options.getOrDefault("items", "5000"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringbootPosBackendApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:pos_load;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+        try {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            LoadTestRunner runner = new LoadTestRunner("http://localhost:" + port, options);
+            new DataGenerator(runner.seed).seed(context.getBean(JdbcTemplate.class), runner.customers, runner.items);
+
+            List<ScenarioResult> results = runner.runAll();
+            File out = new File(options.getOrDefault("out", "target/load-results.json"));
+            out.getParentFile().mkdirs();
+            List<Map<String, Object>> json = new ArrayList<>();
+            for (ScenarioResult result : results) {
+                json.add(result.toJson());
+                System.out.printf("%-16s %-18s %8.0f ops/s  p50 %7.2f ms  p99 %7.2f ms  errors %d%n", result.benchmark(),
+                        result.params(), result.opsPerSecond(), result.p50Ms(), result.p99Ms(), result.errors());
+            }
+            JSON.writerWithDefaultPrettyPrinter().writeValue(out, json);
+            System.out.println("Results written to " + out.getPath());
+        } finally {
+            context.close();
+        }
+    }
+
+    private List<ScenarioResult> runAll() throws Exception {
+        List<ScenarioResult> results = new ArrayList<>();
+        results.add(run("load.catalog", Map.of(), (random, thread) -> {
+            HttpRequest request = random.nextBoolean()
+                    ? get("/api/v1/items")
+                    : get("/api/v1/items/page?size=50&after=" + random.nextInt(items));
+            return List.of(request);
+        }));
+        for (int basketLines : new int[]{1, 10, 50}) {
+            results.add(run("load.checkout", Map.of("basketLines", String.valueOf(basketLines)),
+                    (random, thread) -> List.of(checkout(random, basketLines))));
+        }
+        results.add(run("load.customerCrud", Map.of(), this::customerCrud));
+        return results;
+    }
+
+    // Create -> name eken hoyala id eka ganna -> update -> delete; hama request ekakma latency eka wenama
+    private List<HttpRequest> customerCrud(Random random, int thread) throws Exception {
+        String name = "Load customer " + thread + "-" + random.nextInt(Integer.MAX_VALUE);
+        send(post("/api/v1/customers", customerJson(null, name)));
+        HttpResponse<String> page = send(get("/api/v1/customers/page?size=1&name=" + URLEncoder.encode(name, StandardCharsets.UTF_8)));
+        JsonNode content = JSON.readTree(page.body()).path("data").path("content");
+        if (content.isEmpty()) {
+            throw new IllegalStateException("Created customer not found: " + name);
+        }
+        long id = content.get(0).path("id").asLong();
+        return List.of(put("/api/v1/customers", customerJson(id, name + " (updated)")),
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/customers/" + id)).DELETE().build());
+    }
+
+    private ScenarioResult run(String name, Map<String, String> params, Scenario scenario) throws Exception {
+        // Warm up eka measure karanne na (JIT, caches, connection pool)
+        execute(scenario, Math.max(ops / 5, threads), new long[Math.max(ops / 5, threads) * 4], new AtomicInteger());
+
+        long[] latencies = new long[ops * 4];
+        AtomicInteger recorded = new AtomicInteger();
+        long begin = System.nanoTime();
+        int errors = execute(scenario, ops, latencies, recorded);
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        int count = recorded.get();
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return new ScenarioResult(name, threads, params, count / seconds,
+                sorted[count / 2] / 1e6, sorted[Math.min(count - 1, (int) (count * 0.99))] / 1e6, errors);
+    }
+
+    private int execute(Scenario scenario, int iterations, long[] latencies, AtomicInteger recorded) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            Random random = new Random(seed * 31 + thread);
+            pool.submit(() -> {
+                start.await();
+                while (next.getAndIncrement() < iterations) {
+                    try {
+                        for (HttpRequest request : scenario.requests(random, thread)) {
+                            long begin = System.nanoTime();
+                            HttpResponse<String> response = send(request);
+                            int slot = recorded.getAndIncrement();
+                            if (slot < latencies.length) {
+                                latencies[slot] = System.nanoTime() - begin;
+                            }
+                            if (response.statusCode() >= 300) {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        if (!pool.awaitTermination(30, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Scenario did not finish");
+        }
+        recorded.set(Math.min(recorded.get(), latencies.length));
+        return errors.get();
+    }
+
+    private HttpRequest checkout(Random random, int basketLines) {
+        StringBuilder lines = new StringBuilder();
+        for (int l = 0; l < basketLines; l++) {
+            if (l > 0) {
+                lines.append(',');
+            }
+            lines.append("{\"itemId\":").append(1 + random.nextInt(items)).append(",\"qty\":").append(1 + random.nextInt(3))
+                    .append(",\"unitPrice\":100.0}");
+        }
+        String body = "{\"date\":\"2026-01-15\",\"customerId\":\"" + (1 + random.nextInt(customers)) + "\","
+                + "\"orderDetails\":[" + lines + "]}";
+        return post("/api/v1/orders", body);
+    }
+
+    private String customerJson(Long id, String name) {
+        return "{" + (id == null ? "" : "\"id\":" + id + ",") + "\"name\":\"" + name + "\",\"address\":\"No 12, Load Test Road\"}";
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest put(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            // "threads=16" wage; "--threads=16" unath hari
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            if (option.contains("=")) {
+                options.put(option.substring(0, option.indexOf('=')), option.substring(option.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    private interface Scenario {
+        // Me iteration eke timed requests (setup requests, e.g. CRUD eke create/find, scenario eka athule yawanawa)
+        List<HttpRequest> requests(Random random, int thread) throws Exception;
+    }
+}
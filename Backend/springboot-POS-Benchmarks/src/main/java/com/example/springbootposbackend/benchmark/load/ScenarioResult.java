@@ -0,0 +1,35 @@
+package com.example.springbootposbackend.benchmark.load;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One load scenario run, written in the same shape as a JMH JSON result
+ * (benchmark, mode, params, primaryMetric, secondaryMetrics) so one tool can
+ * compare both kinds of result file.
+ */
+record ScenarioResult(String benchmark, int threads, Map<String, String> params,
+                      double opsPerSecond, double p50Ms, double p99Ms, int errors) {
+
+    Map<String, Object> toJson() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("benchmark", benchmark);
+        json.put("mode", "thrpt");
+        json.put("threads", threads);
+        json.put("params", params);
+        json.put("primaryMetric", metric(opsPerSecond, "ops/s"));
+        Map<String, Object> secondary = new LinkedHashMap<>();
+        secondary.put("p50", metric(p50Ms, "ms"));
+        secondary.put("p99", metric(p99Ms, "ms"));
+        secondary.put("errors", metric(errors, "count"));
+        json.put("secondaryMetrics", secondary);
+        return json;
+    }
+
+    private static Map<String, Object> metric(double score, String unit) {
+        Map<String, Object> metric = new LinkedHashMap<>();
+        metric.put("score", score);
+        metric.put("scoreUnit", unit);
+        return metric;
+    }
+}